@@ -0,0 +1,24 @@
+#!/usr/bin/env bash
+# Starts the backend with the given java arguments and prints the time until the
+# first request is answered. Run from Backend/, e.g.
+#   scripts/time-to-first-request.sh -jar target/file-dedup-0.0.1-SNAPSHOT.jar
+#   scripts/time-to-first-request.sh -XX:SharedArchiveFile=target/file-dedup.jsa -Dspring.aot.enabled=true -jar target/file-dedup-0.0.1-SNAPSHOT.jar
+# The probed endpoint needs no database. Arguments after the jar are passed to the application.
+set -euo pipefail
+
+PORT=${PORT:-18080}
+URL=${URL:-http://localhost:$PORT/api/scans/throttle}
+
+start=$(date +%s%N)
+java "$@" --server.port="$PORT" > "${LOG_FILE:-/dev/null}" 2>&1 &
+pid=$!
+trap 'kill $pid 2>/dev/null; wait $pid 2>/dev/null || true' EXIT
+
+until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+        echo "backend exited before answering" >&2
+        exit 1
+    fi
+    sleep 0.02
+done
+echo "$(( ($(date +%s%N) - start) / 1000000 )) ms to first request"
@@ -0,0 +1,68 @@
+package com.yourname.filededup.benchmark;
+
+import com.yourname.filededup.cache.FileRecordCache;
+import com.yourname.filededup.events.LiveEventHub;
+import com.yourname.filededup.hash.Blake3FileHasher;
+import com.yourname.filededup.hash.FileHasherRegistry;
+import com.yourname.filededup.hash.Sha256FileHasher;
+import com.yourname.filededup.hash.Xxh3FileHasher;
+import com.yourname.filededup.metrics.ScanMetrics;
+import com.yourname.filededup.repository.FileRepository;
+import com.yourname.filededup.repository.HashRegistryRepository;
+import com.yourname.filededup.repository.LogRepository;
+import com.yourname.filededup.scan.ArchiveScanner;
+import com.yourname.filededup.scan.DeviceScheduler;
+import com.yourname.filededup.scan.DirectoryWalker;
+import com.yourname.filededup.scan.IoThrottle;
+import com.yourname.filededup.service.FileService;
+import com.yourname.filededup.service.HashRegistryService;
+import com.yourname.filededup.service.LogRetentionPolicy;
+import com.yourname.filededup.service.LoggingService;
+import com.yourname.filededup.service.RuleEngineService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Wires the real services against in-memory repositories, without Mongo,
+// the web layer or Boot auto-configuration.
+public class BenchmarkContext implements AutoCloseable {
+
+    private final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+    private final AtomicLong logWrites = new AtomicLong();
+
+    public BenchmarkContext() {
+        context.registerBean(FileRepository.class, InMemoryRepositories::fileRepository);
+        context.registerBean(HashRegistryRepository.class, InMemoryRepositories::hashRegistryRepository);
+        context.registerBean(LogRepository.class, () -> InMemoryRepositories.logRepository(logWrites));
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.register(
+            ScanMetrics.class, LiveEventHub.class, FileRecordCache.class,
+            Sha256FileHasher.class, Xxh3FileHasher.class, Blake3FileHasher.class, FileHasherRegistry.class,
+            LogRetentionPolicy.class, LoggingService.class, RuleEngineService.class, DirectoryWalker.class,
+            IoThrottle.class, DeviceScheduler.class, ArchiveScanner.class, HashRegistryService.class, FileService.class);
+        context.refresh();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public FileRepository fileRepository() {
+        return context.getBean(FileRepository.class);
+    }
+
+    public HashRegistryRepository hashRegistryRepository() {
+        return context.getBean(HashRegistryRepository.class);
+    }
+
+    public long getLogWrites() {
+        return logWrites.get();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,67 @@
+package com.yourname.filededup.benchmark;
+
+import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.service.RuleEngineService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// categorizeFile throughput over a fixed mix that exercises each fallback:
+// extension hit, MIME fallback and size fallback.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CategorizationBenchmark {
+
+    private BenchmarkContext context;
+    private RuleEngineService ruleEngineService;
+    private FileRecord[] records;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new BenchmarkContext();
+        ruleEngineService = context.getBean(RuleEngineService.class);
+        records = new FileRecord[] {
+            record("photo.JPG", null, 2_000_000),
+            record("report.pdf", "application/pdf", 300_000),
+            record("Main.java", "text/x-java", 8_000),
+            record("blob", "video/mp4", 50_000_000),
+            record("noext", null, 200),
+            record("huge.unknown", null, 200L * 1024 * 1024),
+            record("data.weird", "application/octet-stream", 40_000),
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String categorizeFile() {
+        FileRecord record = records[next];
+        next = (next + 1) % records.length;
+        return ruleEngineService.categorizeFile(record);
+    }
+
+    private static FileRecord record(String fileName, String mimeType, long size) {
+        FileRecord record = new FileRecord(fileName, "/bench/" + fileName, "0", size);
+        record.setMimeType(mimeType);
+        return record;
+    }
+}
@@ -0,0 +1,55 @@
+package com.yourname.filededup.benchmark;
+
+import com.yourname.filededup.model.FileRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Record construction as createFileRecord does it. Run with "-prof gc" to get
+// the allocation rate (gc.alloc.rate.norm is bytes per record).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileRecordBenchmark {
+
+    private final String fileName = "holiday-photo-0042.jpeg";
+    private final String filePath = "/data/photos/2024/holiday/holiday-photo-0042.jpeg";
+    private final String fileHash = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+    private final long lastModified = 1_700_000_000_000L;
+
+    @Benchmark
+    public FileRecord createWithSetters() {
+        FileRecord fileRecord = new FileRecord();
+        fileRecord.setFileName(fileName);
+        fileRecord.setFilePath(filePath);
+        fileRecord.setFileSize(4_194_304L);
+        fileRecord.setCreatedDate(LocalDateTime.ofInstant(
+            new Date(lastModified).toInstant(), ZoneId.systemDefault()));
+        fileRecord.setModifiedDate(LocalDateTime.ofInstant(
+            new Date(lastModified).toInstant(), ZoneId.systemDefault()));
+        fileRecord.setScannedDate(LocalDateTime.now());
+        fileRecord.setFileHash(fileHash);
+        fileRecord.setHashAlgorithm("SHA-256");
+        fileRecord.setMimeType("image/jpeg");
+        return fileRecord;
+    }
+
+    @Benchmark
+    public FileRecord createWithConstructor() {
+        return new FileRecord(fileName, filePath, fileHash, 4_194_304L);
+    }
+}
@@ -0,0 +1,66 @@
+package com.yourname.filededup.benchmark;
+
+import com.yourname.filededup.hash.FileHasher;
+import com.yourname.filededup.hash.FileHasherRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Measures the per-file hashing step of createFileRecord. The file stays in the
+// page cache after the first iteration, so this isolates CPU cost from disk.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashingBenchmark {
+
+    @Param({"4096", "1048576", "67108864"})
+    private int fileSize;
+
+    @Param({"SHA-256", "XXH3-128", "BLAKE3"})
+    private String algorithm;
+
+    private BenchmarkContext context;
+    private FileHasher hasher;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = new BenchmarkContext();
+        hasher = context.getBean(FileHasherRegistry.class).get(algorithm);
+
+        byte[] content = new byte[fileSize];
+        new SplittableRandom(42).nextBytes(content);
+        file = Files.createTempFile("hash-bench-", ".bin");
+        Files.write(file, content);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        context.close();
+    }
+
+    @Benchmark
+    public String hashFile() throws IOException {
+        return hasher.hash(file);
+    }
+}
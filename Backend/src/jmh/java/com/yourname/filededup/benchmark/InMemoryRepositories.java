@@ -0,0 +1,201 @@
+package com.yourname.filededup.benchmark;
+
+import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.model.HashRegistryEntry;
+import com.yourname.filededup.model.LogEntry;
+import com.yourname.filededup.repository.FileRepository;
+import com.yourname.filededup.repository.HashRegistryRepository;
+import com.yourname.filededup.repository.LogRepository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Heap-backed stand-ins for the Mongo repositories, so benchmarks measure the
+// pipeline rather than network round-trips. Only the calls the scan and upload
+// paths make are implemented; anything else fails loudly.
+public final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    public static FileRepository fileRepository() {
+        FileStore store = new FileStore();
+        return proxy(FileRepository.class, (method, args) -> {
+            switch (method) {
+                case "save":
+                    return store.save((FileRecord) args[0]);
+                case "saveAll":
+                    List<FileRecord> saved = new ArrayList<>();
+                    for (Object record : (Iterable<?>) args[0]) {
+                        saved.add(store.save((FileRecord) record));
+                    }
+                    return saved;
+                case "findById":
+                    return Optional.ofNullable(store.byId.get((String) args[0]));
+                case "existsById":
+                    return store.byId.containsKey((String) args[0]);
+                case "findAll":
+                    return new ArrayList<>(store.byId.values());
+                case "count":
+                    return (long) store.byId.size();
+                case "deleteById":
+                    store.delete((String) args[0]);
+                    return null;
+                case "deleteAll":
+                    store.clear();
+                    return null;
+                case "existsByFilePath":
+                    return store.byPath.containsKey((String) args[0]);
+                case "findByFileHash":
+                    return new ArrayList<>(store.byHash.getOrDefault((String) args[0], List.of()));
+                case "findByFileHashAndHashAlgorithmIn":
+                    Collection<?> algorithms = (Collection<?>) args[1];
+                    return store.byHash.getOrDefault((String) args[0], List.of()).stream()
+                        .filter(r -> algorithms.contains(r.getHashAlgorithm()))
+                        .toList();
+                default:
+                    return UNSUPPORTED;
+            }
+        });
+    }
+
+    public static HashRegistryRepository hashRegistryRepository() {
+        Map<String, HashRegistryEntry> entries = new ConcurrentHashMap<>();
+        return proxy(HashRegistryRepository.class, (method, args) -> {
+            switch (method) {
+                case "register":
+                    return entries.compute((String) args[0], (id, entry) -> {
+                        HashRegistryEntry updated = entry != null ? entry
+                            : new HashRegistryEntry(id, (String) args[1], (String) args[2], (String) args[3]);
+                        updated.setRefCount(updated.getRefCount() + 1);
+                        return updated;
+                    });
+                case "release":
+                    HashRegistryEntry[] released = new HashRegistryEntry[1];
+                    entries.computeIfPresent((String) args[0], (id, entry) -> {
+                        entry.setRefCount(entry.getRefCount() - 1);
+                        released[0] = entry;
+                        return entry.getRefCount() > 0 ? entry : null;
+                    });
+                    return released[0];
+                case "replaceKeeper":
+                    boolean[] replaced = new boolean[1];
+                    entries.computeIfPresent((String) args[0], (id, entry) -> {
+                        if (args[1].equals(entry.getKeeperId())) {
+                            entry.setKeeperId((String) args[2]);
+                            replaced[0] = true;
+                        }
+                        return entry;
+                    });
+                    return replaced[0];
+                case "count":
+                    return (long) entries.size();
+                case "deleteAll":
+                    entries.clear();
+                    return null;
+                default:
+                    return UNSUPPORTED;
+            }
+        });
+    }
+
+    public static LogRepository logRepository(AtomicLong writeCounter) {
+        return proxy(LogRepository.class, (method, args) -> {
+            switch (method) {
+                case "save":
+                    writeCounter.incrementAndGet();
+                    return args[0];
+                case "saveAll":
+                    List<LogEntry> saved = new ArrayList<>();
+                    for (Object entry : (Iterable<?>) args[0]) {
+                        writeCounter.incrementAndGet();
+                        saved.add((LogEntry) entry);
+                    }
+                    return saved;
+                default:
+                    return UNSUPPORTED;
+            }
+        });
+    }
+
+    private static final class FileStore {
+
+        private final Map<String, FileRecord> byId = new ConcurrentHashMap<>();
+        private final Map<String, FileRecord> byPath = new ConcurrentHashMap<>();
+        private final Map<String, List<FileRecord>> byHash = new ConcurrentHashMap<>();
+
+        synchronized FileRecord save(FileRecord record) {
+            if (record.getId() == null) {
+                record.setId(UUID.randomUUID().toString());
+            } else {
+                delete(record.getId());
+            }
+            byId.put(record.getId(), record);
+            if (record.getFilePath() != null) {
+                byPath.put(record.getFilePath(), record);
+            }
+            if (record.getFileHash() != null) {
+                byHash.computeIfAbsent(record.getFileHash(), h -> new CopyOnWriteArrayList<>()).add(record);
+            }
+            return record;
+        }
+
+        synchronized void delete(String id) {
+            FileRecord removed = byId.remove(id);
+            if (removed == null) {
+                return;
+            }
+            if (removed.getFilePath() != null) {
+                byPath.remove(removed.getFilePath());
+            }
+            List<FileRecord> sameHash = removed.getFileHash() != null ? byHash.get(removed.getFileHash()) : null;
+            if (sameHash != null) {
+                sameHash.remove(removed);
+            }
+        }
+
+        synchronized void clear() {
+            byId.clear();
+            byPath.clear();
+            byHash.clear();
+        }
+    }
+
+    private static final Object UNSUPPORTED = new Object();
+
+    private interface Handler {
+        Object handle(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        InvocationHandler invocationHandler = (Object proxy, Method method, Object[] args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return "InMemory" + type.getSimpleName();
+                }
+            }
+            Object result = handler.handle(method.getName(), args);
+            if (result == UNSUPPORTED) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, invocationHandler);
+    }
+}
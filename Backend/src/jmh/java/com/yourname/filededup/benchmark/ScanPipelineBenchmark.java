@@ -0,0 +1,73 @@
+package com.yourname.filededup.benchmark;
+
+import com.yourname.filededup.service.FileService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end scanDirectory over a generated tree. The repository is emptied
+// before every invocation so each scan persists every file, as a first scan would.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ScanPipelineBenchmark {
+
+    @Param({"2000"})
+    private int fileCount;
+
+    @Param({"0.2"})
+    private double duplicateRatio;
+
+    private BenchmarkContext context;
+    private FileService fileService;
+    private Path root;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = new BenchmarkContext();
+        fileService = context.getBean(FileService.class);
+        root = Files.createTempDirectory("scan-bench-");
+        new SyntheticTree(42)
+            .fileCount(fileCount)
+            .duplicateRatio(duplicateRatio)
+            .sizeRange(256, 512 * 1024)
+            .generate(root);
+    }
+
+    // Every invocation stores the whole tree again, with fresh reference counts and keepers
+    @Setup(Level.Invocation)
+    public void resetRepository() {
+        context.fileRepository().deleteAll();
+        context.hashRegistryRepository().deleteAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SyntheticTree.delete(root);
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> scanDirectory() throws IOException {
+        return fileService.scanDirectory(root.toString());
+    }
+}
@@ -0,0 +1,110 @@
+package com.yourname.filededup.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic directory tree generator: the same seed always produces the same
+// layout, sizes and duplicate groups, so runs are comparable across commits.
+public class SyntheticTree {
+
+    private static final String[] EXTENSIONS = {
+        "jpg", "png", "mp4", "mp3", "pdf", "txt", "docx", "zip", "java", "json", "csv", "bin"
+    };
+
+    private final long seed;
+    private int fileCount = 1000;
+    private int filesPerDirectory = 50;
+    private double duplicateRatio = 0.2;
+    private int minSize = 512;
+    private int maxSize = 256 * 1024;
+
+    public SyntheticTree(long seed) {
+        this.seed = seed;
+    }
+
+    public SyntheticTree fileCount(int fileCount) {
+        this.fileCount = fileCount;
+        return this;
+    }
+
+    public SyntheticTree filesPerDirectory(int filesPerDirectory) {
+        this.filesPerDirectory = filesPerDirectory;
+        return this;
+    }
+
+    public SyntheticTree duplicateRatio(double duplicateRatio) {
+        this.duplicateRatio = duplicateRatio;
+        return this;
+    }
+
+    // Sizes are drawn log-uniformly between the bounds, so small files dominate
+    // the way they do on real trees.
+    public SyntheticTree sizeRange(int minSize, int maxSize) {
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    public List<Path> generate(Path root) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<byte[]> originals = new ArrayList<>();
+        List<Path> files = new ArrayList<>(fileCount);
+
+        for (int i = 0; i < fileCount; i++) {
+            Path directory = root.resolve("dir" + (i / filesPerDirectory));
+            Files.createDirectories(directory);
+
+            byte[] content;
+            if (!originals.isEmpty() && random.nextDouble() < duplicateRatio) {
+                content = originals.get(random.nextInt(originals.size()));
+            } else {
+                content = new byte[logUniformSize(random)];
+                random.nextBytes(content);
+                originals.add(content);
+            }
+
+            String extension = EXTENSIONS[random.nextInt(EXTENSIONS.length)];
+            Path file = directory.resolve("file" + i + "." + extension);
+            Files.write(file, content);
+            files.add(file);
+        }
+        return files;
+    }
+
+    private int logUniformSize(SplittableRandom random) {
+        double logMin = Math.log(Math.max(1, minSize));
+        double logMax = Math.log(Math.max(minSize, maxSize));
+        return (int) Math.exp(logMin + random.nextDouble() * (logMax - logMin));
+    }
+
+    public static void delete(Path root) {
+        if (root == null || !Files.exists(root)) {
+            return;
+        }
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.delete(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                    Files.delete(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
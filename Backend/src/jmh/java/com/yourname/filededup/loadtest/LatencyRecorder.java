@@ -0,0 +1,62 @@
+package com.yourname.filededup.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Latencies and outcomes of one endpoint's requests; shared by the load threads
+public class LatencyRecorder {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final String endpoint;
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    public LatencyRecorder(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public synchronized void record(long latencyNanos, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public synchronized Map<String, Object> summarize(long elapsedNanos) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoint", endpoint);
+        summary.put("requests", count);
+        summary.put("errors", errors);
+        summary.put("throughput", count / (elapsedNanos / 1e9));
+        for (double percentile : PERCENTILES) {
+            summary.put("p" + formatPercentile(percentile) + "Ms", millis(percentile(sorted, percentile)));
+        }
+        summary.put("maxMs", millis(count > 0 ? sorted[count - 1] : 0));
+        return summary;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile);
+    }
+}
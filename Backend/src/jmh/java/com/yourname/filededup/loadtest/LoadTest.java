@@ -0,0 +1,255 @@
+package com.yourname.filededup.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.yourname.filededup.FileDedupApplication;
+import com.yourname.filededup.benchmark.SyntheticTree;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+// HTTP load test of the REST API over a generated directory tree. Without --target the
+// backend is started in this JVM with the local profile and an in-memory store, so a
+// run needs neither MongoDB nor the network. Each endpoint is driven on its own for
+// --duration by --concurrency threads, after --warmup; uploads and scans run first so
+// the read endpoints see a populated index.
+//   mvn -Pbenchmarks compile exec:exec@load-test -Dload-test.args="--concurrency=16 --duration=30s"
+public class LoadTest {
+
+    private static final List<String> ALL_ENDPOINTS = List.of("upload", "scan", "search", "stats", "logs");
+    private static final String[] CATEGORIES = {"Images", "Videos", "Audio", "Documents", "Archives", "Code", "Other"};
+
+    private final Map<String, String> options;
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    private String baseUrl;
+    private List<Path> files;
+    private List<Path> directories;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("files", "2000");
+        options.put("files-per-directory", "50");
+        options.put("duplicate-ratio", "0.2");
+        options.put("min-size", "512");
+        options.put("max-size", String.valueOf(256 * 1024));
+        options.put("seed", "42");
+        options.put("concurrency", "8");
+        options.put("warmup", "5s");
+        options.put("duration", "20s");
+        options.put("endpoints", String.join(",", ALL_ENDPOINTS));
+        options.put("result", "target/load-test-result.json");
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        ConfigurableApplicationContext context = null;
+        Path root = Files.createTempDirectory("load-test-");
+        try {
+            if (options.containsKey("target")) {
+                baseUrl = options.get("target");
+            } else {
+                context = startBackend();
+                baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            }
+
+            files = new SyntheticTree(Long.parseLong(options.get("seed")))
+                .fileCount(intOption("files"))
+                .filesPerDirectory(intOption("files-per-directory"))
+                .duplicateRatio(Double.parseDouble(options.get("duplicate-ratio")))
+                .sizeRange(intOption("min-size"), intOption("max-size"))
+                .generate(root);
+            directories = files.stream().map(Path::getParent).distinct().toList();
+            System.out.printf("Target %s, %d files in %d directories, concurrency %s%n",
+                baseUrl, files.size(), directories.size(), options.get("concurrency"));
+
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (String endpoint : options.get("endpoints").split(",")) {
+                results.add(drive(endpoint.trim()));
+            }
+            report(results);
+        } finally {
+            SyntheticTree.delete(root);
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext startBackend() {
+        // As arguments, so they override application.properties
+        return new SpringApplicationBuilder(FileDedupApplication.class)
+            .profiles("local")
+            .run("--server.port=0",
+                "--app.storage.local.path=",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.data.mongodb=WARN",
+                "--logging.level.com.mongodb=WARN",
+                "--logging.level.org.apache.catalina.loader=ERROR");
+    }
+
+    private Map<String, Object> drive(String endpoint) throws Exception {
+        LongFunction<HttpRequest> requests = requestsFor(endpoint);
+        int concurrency = intOption("concurrency");
+        System.out.printf("%s: warmup %s, measuring %s%n", endpoint, options.get("warmup"), options.get("duration"));
+
+        load(requests, concurrency, duration("warmup"), new LatencyRecorder(endpoint));
+        LatencyRecorder recorder = new LatencyRecorder(endpoint);
+        long elapsed = load(requests, concurrency, duration("duration"), recorder);
+        return recorder.summarize(elapsed);
+    }
+
+    // Each thread sends its next request as soon as the previous one is answered
+    private long load(LongFunction<HttpRequest> requests, int concurrency, Duration duration, LatencyRecorder recorder)
+            throws Exception {
+        AtomicLong sequence = new AtomicLong();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        ExecutorService threads = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                running.add(threads.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = requests.apply(sequence.getAndIncrement());
+                        long sent = System.nanoTime();
+                        boolean success;
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            success = response.statusCode() < 400;
+                        } catch (IOException e) {
+                            success = false;
+                        }
+                        recorder.record(System.nanoTime() - sent, success);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private LongFunction<HttpRequest> requestsFor(String endpoint) {
+        if ("upload".equals(endpoint)) {
+            return n -> upload(files.get((int) (n % files.size())));
+        }
+        if ("scan".equals(endpoint)) {
+            return n -> post("/api/files/scan?directoryPath="
+                + encode(directories.get((int) (n % directories.size())).toString()));
+        }
+        if ("search".equals(endpoint)) {
+            return n -> get("/api/files/search?category=" + CATEGORIES[(int) (n % CATEGORIES.length)]
+                + "&minSize=" + (n % 64) * 1024);
+        }
+        if ("stats".equals(endpoint)) {
+            return n -> get("/api/files/stats");
+        }
+        if ("logs".equals(endpoint)) {
+            return n -> get("/api/logs?limit=100");
+        }
+        throw new IllegalArgumentException("Unknown endpoint " + endpoint + ", expected one of " + ALL_ENDPOINTS);
+    }
+
+    private HttpRequest upload(Path file) {
+        String boundary = "----load-test-" + UUID.randomUUID();
+        try {
+            byte[] content = Files.readAllBytes(file);
+            String head = field(boundary, "email", "load-test@example.com")
+                + field(boundary, "password", "load-test")
+                + "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + file.getFileName() + "\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n";
+            String tail = "\r\n--" + boundary + "--\r\n";
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/files/upload"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.concat(
+                    HttpRequest.BodyPublishers.ofString(head),
+                    HttpRequest.BodyPublishers.ofByteArray(content),
+                    HttpRequest.BodyPublishers.ofString(tail)))
+                .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String field(String boundary, String name, String value) {
+        return "--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value + "\r\n";
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest post(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).POST(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private void report(List<Map<String, Object>> results) throws IOException {
+        System.out.printf("%n%-8s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map<String, Object> result : results) {
+            System.out.printf("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                result.get("endpoint"), result.get("requests"), result.get("errors"), result.get("throughput"),
+                result.get("p50Ms"), result.get("p90Ms"), result.get("p99Ms"), result.get("p99.9Ms"), result.get("maxMs"));
+        }
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("options", options);
+        document.put("results", results);
+        Path resultFile = Paths.get(options.get("result"));
+        Files.createDirectories(resultFile.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile.toFile(), document);
+        System.out.println("Result is saved to " + resultFile.toAbsolutePath());
+    }
+
+    private int intOption(String name) {
+        return Integer.parseInt(options.get(name));
+    }
+
+    private Duration duration(String name) {
+        return DurationStyle.detectAndParse(options.get(name));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,110 @@
+package com.yourname.filededup.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yourname.filededup.model.FileRecord;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Read-through caches for the dashboard lookups. Entries are evicted by size and
+// age, and writers invalidate exactly the entries a change can affect: the record
+// itself, the category lists it leaves and joins, and the category counts.
+@Component
+public class FileRecordCache {
+
+    private static final String COUNTS_KEY = "all";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.cache.files.max-size:10000}")
+    private long maxRecords;
+
+    // Category lists are weighed by their length, so one huge category cannot pin the heap
+    @Value("${app.cache.categories.max-records:100000}")
+    private long maxCategoryRecords;
+
+    @Value("${app.cache.ttl:10m}")
+    private String ttl;
+
+    private Cache<String, Optional<FileRecord>> byId;
+    private Cache<String, List<FileRecord>> byCategory;
+    private Cache<String, Map<String, Long>> categoryCounts;
+
+    @PostConstruct
+    public void init() {
+        Duration expireAfterWrite = DurationStyle.detectAndParse(ttl);
+        byId = Caffeine.newBuilder()
+            .maximumSize(maxRecords)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+        byCategory = Caffeine.newBuilder()
+            .maximumWeight(maxCategoryRecords)
+            .weigher((String category, List<FileRecord> records) -> Math.max(1, records.size()))
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+        categoryCounts = Caffeine.newBuilder()
+            .maximumSize(1)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "files.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, byCategory, "files.byCategory");
+        CaffeineCacheMetrics.monitor(meterRegistry, categoryCounts, "files.categoryCounts");
+    }
+
+    public FileRecord getById(String id, Function<String, Optional<FileRecord>> loader) {
+        return byId.get(id, loader).orElse(null);
+    }
+
+    public List<FileRecord> getByCategory(String category, Function<String, List<FileRecord>> loader) {
+        return byCategory.get(category, key -> List.copyOf(loader.apply(key)));
+    }
+
+    public Map<String, Long> getCategoryCounts(Supplier<Map<String, Long>> loader) {
+        return categoryCounts.get(COUNTS_KEY, key -> Map.copyOf(loader.get()));
+    }
+
+    // A record was inserted or replaced; previousCategory is its stored category before the write, if any
+    public void recordSaved(FileRecord saved, String previousCategory) {
+        if (saved.getId() != null) {
+            byId.invalidate(saved.getId());
+        }
+        invalidateCategory(saved.getCategory());
+        invalidateCategory(previousCategory);
+        categoryCounts.invalidateAll();
+    }
+
+    public void recordDeleted(FileRecord deleted) {
+        byId.invalidate(deleted.getId());
+        invalidateCategory(deleted.getCategory());
+        categoryCounts.invalidateAll();
+    }
+
+    // For multi-document writes whose affected ids are not known (bulk updates, imports)
+    public void invalidateAll() {
+        byId.invalidateAll();
+        byCategory.invalidateAll();
+        categoryCounts.invalidateAll();
+    }
+
+    private void invalidateCategory(String category) {
+        if (category != null) {
+            byCategory.invalidate(category);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.yourname.filededup.config;
+
+import com.yourname.filededup.metrics.ScanMetrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Adds the scan job to Boot's spring.data.repository.invocations timers so
+    // Mongo time can be attributed to a single scan.
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        DefaultRepositoryTagsProvider defaults = new DefaultRepositoryTagsProvider();
+        return invocation -> Tags.of(defaults.repositoryTags(invocation))
+            .and(Tag.of(ScanMetrics.SCAN_JOB_TAG, ScanMetrics.currentScanJob()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.yourname.filededup.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+@Configuration
+public class StartupConfig {
+
+    // Set for the class-data-sharing training run of the fast-start build: the JVM
+    // records the classes a full startup loads and exits before any startup work
+    // that needs the database
+    @Value("${app.startup.exit-when-ready:false}")
+    private boolean exitWhenReady;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void exitIfTrainingRun(ApplicationReadyEvent event) {
+        if (exitWhenReady) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+}
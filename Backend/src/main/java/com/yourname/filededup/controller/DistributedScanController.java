@@ -0,0 +1,50 @@
+package com.yourname.filededup.controller;
+
+import com.yourname.filededup.service.DistributedScanService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/scans/distributed")
+@CrossOrigin(origins = "*")
+@Profile("!local")
+public class DistributedScanController {
+
+    @Autowired
+    private DistributedScanService distributedScanService;
+
+    // Splits the scan into work units; every instance sharing the database helps process them
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> startScan(@RequestParam String directoryPath) {
+        try {
+            return ResponseEntity.accepted().body(distributedScanService.start(directoryPath));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to start distributed scan: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Map<String, Object>>> getScans() {
+        return ResponseEntity.ok(distributedScanService.getRecentScans());
+    }
+
+    @GetMapping("/{scanId}")
+    public ResponseEntity<Map<String, Object>> getScan(@PathVariable String scanId) {
+        try {
+            return ResponseEntity.ok(distributedScanService.getScan(scanId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/worker")
+    public ResponseEntity<Map<String, Object>> getWorker() {
+        return ResponseEntity.ok(distributedScanService.getWorkerStatus());
+    }
+}
@@ -0,0 +1,86 @@
+package com.yourname.filededup.controller;
+
+import com.yourname.filededup.events.LiveEventHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*")
+public class EventController {
+
+    // Streams stay open until the client leaves; spring.mvc.async.request-timeout does not apply
+    private static final long NO_TIMEOUT = 0L;
+
+    @Autowired
+    private LiveEventHub liveEventHub;
+
+    // Server-Sent Events: "log" events carry a LogEntry, "scan" events carry scan progress.
+    // A client reconnecting with Last-Event-ID first receives the retained events it missed.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestParam(required = false) List<String> types,
+                                   @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Set<String> eventTypes = types != null ? new HashSet<>(types) : Set.of();
+        SseEmitter emitter = new SseEmitter(NO_TIMEOUT);
+        // Sent one at a time off the publishing thread, so a slow client only fills its own buffer
+        Disposable.Swap subscription = Disposables.swap();
+        subscription.update(liveEventHub.subscribe(eventTypes, parseEventId(lastEventId))
+            .publishOn(Schedulers.boundedElastic(), 1)
+            .subscribe(event -> send(emitter, event, subscription), emitter::completeWithError, emitter::complete));
+        emitter.onCompletion(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+        return emitter;
+    }
+
+    @GetMapping("/subscribers")
+    public ResponseEntity<Map<String, Object>> getSubscriberCount() {
+        return ResponseEntity.ok(Map.of("subscribers", liveEventHub.getSubscriberCount()));
+    }
+
+    private static void send(SseEmitter emitter, ServerSentEvent<Object> event, Disposable subscription) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event();
+        if (event.comment() != null) {
+            builder.comment(event.comment());
+        }
+        if (event.id() != null) {
+            builder.id(event.id());
+        }
+        if (event.event() != null) {
+            builder.name(event.event());
+        }
+        if (event.data() != null) {
+            builder.data(event.data(), MediaType.APPLICATION_JSON);
+        }
+        try {
+            emitter.send(builder);
+        } catch (IOException e) {
+            // The client went away; the container completes the request on its own
+            subscription.dispose();
+        }
+    }
+
+    // A malformed id counts as none; one from before a restart matches no retained event
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.yourname.filededup.controller;
 
+import com.yourname.filededup.model.FileQuery;
 import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.model.FileView;
+import com.yourname.filededup.scan.ArchiveScanner;
 import com.yourname.filededup.service.FileService;
+import com.yourname.filededup.service.HashRegistryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -9,6 +13,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/files")
@@ -18,6 +23,12 @@ public class FileController {
     @Autowired
     private FileService fileService;
 
+    @Autowired
+    private HashRegistryService hashRegistryService;
+
+    @Autowired
+    private ArchiveScanner archiveScanner;
+
     @PostMapping("/upload")
     public ResponseEntity<Map<String, Object>> uploadFile(
             @RequestParam("email") String email,
@@ -69,15 +80,21 @@ public class FileController {
         }
     }
 
+    // includeArchives overrides app.scan.archives.enabled for this scan
     @PostMapping("/scan")
-    public ResponseEntity<Map<String, Object>> scanDirectory(@RequestParam String directoryPath) {
+    public ResponseEntity<Map<String, Object>> scanDirectory(
+            @RequestParam String directoryPath,
+            @RequestParam(required = false) Boolean includeArchives,
+            @RequestParam(required = false) Boolean memoryBounded) {
         try {
             if (directoryPath == null || directoryPath.trim().isEmpty()) {
                 return ResponseEntity.badRequest()
                     .body(Map.of("error", "Directory path is required"));
             }
             
-            Map<String, Object> result = fileService.scanDirectory(directoryPath);
+            Map<String, Object> result = fileService.scanDirectory(directoryPath,
+                includeArchives != null ? includeArchives : archiveScanner.isEnabledByDefault(),
+                memoryBounded != null ? memoryBounded : fileService.isMemoryBoundedByDefault());
             return ResponseEntity.ok(result);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -85,9 +102,16 @@ public class FileController {
         }
     }
 
+    // The list endpoints take fields=name,... (or fields=summary) to return lean views
+    // instead of full records; send Accept: application/cbor or application/x-jackson-smile
+    // for a binary encoding
     @GetMapping("/duplicates")
-    public ResponseEntity<List<FileRecord>> getDuplicates() {
+    public ResponseEntity<List<?>> getDuplicates(@RequestParam(required = false) String fields) {
         try {
+            Set<String> properties = FileView.parseFields(fields);
+            if (properties != null) {
+                return ResponseEntity.ok(fileService.findFileViews(new FileQuery(null, null, null, null, true), properties));
+            }
             List<FileRecord> duplicates = fileService.findDuplicates();
             return ResponseEntity.ok(duplicates);
         } catch (Exception e) {
@@ -149,9 +173,24 @@ public class FileController {
         }
     }
 
+    // Recomputes reference counts and duplicate flags from the stored records
+    @PostMapping("/hash-registry/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildHashRegistry() {
+        try {
+            return ResponseEntity.ok(hashRegistryService.rebuild());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to rebuild hash registry: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/all")
-    public ResponseEntity<List<FileRecord>> getAllFiles() {
+    public ResponseEntity<List<?>> getAllFiles(@RequestParam(required = false) String fields) {
         try {
+            Set<String> properties = FileView.parseFields(fields);
+            if (properties != null) {
+                return ResponseEntity.ok(fileService.findFileViews(new FileQuery(), properties));
+            }
             List<FileRecord> files = fileService.getAllFiles();
             return ResponseEntity.ok(files);
         } catch (Exception e) {
@@ -255,12 +294,18 @@ public class FileController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<FileRecord>> searchFiles(
+    public ResponseEntity<List<?>> searchFiles(
             @RequestParam(required = false) String fileName,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) Long minSize,
-            @RequestParam(required = false) Long maxSize) {
+            @RequestParam(required = false) Long maxSize,
+            @RequestParam(required = false) String fields) {
         try {
+            Set<String> properties = FileView.parseFields(fields);
+            if (properties != null) {
+                return ResponseEntity.ok(fileService.findFileViews(
+                    new FileQuery(fileName, category, minSize, maxSize, null), properties));
+            }
             List<FileRecord> files = fileService.searchFiles(fileName, category, minSize, maxSize);
             return ResponseEntity.ok(files);
         } catch (Exception e) {
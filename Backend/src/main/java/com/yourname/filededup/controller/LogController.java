@@ -1,12 +1,16 @@
 package com.yourname.filededup.controller;
 
 import com.yourname.filededup.model.LogEntry;
+import com.yourname.filededup.model.LogQuery;
 import com.yourname.filededup.service.LoggingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/logs")
@@ -16,10 +20,45 @@ public class LogController {
     @Autowired
     private LoggingService loggingService;
 
+    // Keyset-paginated: pass the returned nextCursor to fetch the next (older) page
     @GetMapping
-    public ResponseEntity<List<LogEntry>> getAllLogs() {
-        List<LogEntry> logs = loggingService.getAllLogs();
-        return ResponseEntity.ok(logs);
+    public ResponseEntity<Map<String, Object>> getLogs(
+            @RequestParam(required = false) String level,
+            @RequestParam(required = false) String operation,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            LogQuery query = new LogQuery(null, level, operation, from, to);
+            return ResponseEntity.ok(loggingService.getLogPage(query, cursor, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to get logs: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchLogs(
+            @RequestParam String q,
+            @RequestParam(required = false) String level,
+            @RequestParam(required = false) String operation,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            if (q.trim().isEmpty()) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Search text is required"));
+            }
+            
+            LogQuery query = new LogQuery(q, level, operation, from, to);
+            return ResponseEntity.ok(loggingService.getLogPage(query, cursor, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to search logs: " + e.getMessage()));
+        }
     }
 
     @GetMapping("/level/{level}")
@@ -0,0 +1,36 @@
+package com.yourname.filededup.controller;
+
+import com.yourname.filededup.profiling.RecordingAnalyzer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Paths;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/profiling")
+@CrossOrigin(origins = "*")
+public class ProfilingController {
+
+    @Autowired
+    private RecordingAnalyzer recordingAnalyzer;
+
+    @GetMapping("/recordings/summary")
+    public ResponseEntity<Map<String, Object>> summarizeRecording(
+            @RequestParam String path,
+            @RequestParam(defaultValue = "20") int top) {
+        try {
+            if (path == null || path.trim().isEmpty()) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Recording path is required"));
+            }
+            
+            Map<String, Object> summary = recordingAnalyzer.summarize(Paths.get(path), top);
+            return ResponseEntity.ok(summary);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to analyze recording: " + e.getMessage()));
+        }
+    }
+}
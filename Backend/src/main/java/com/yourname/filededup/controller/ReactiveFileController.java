@@ -0,0 +1,56 @@
+package com.yourname.filededup.controller;
+
+import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.service.ReactiveFileService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+// Streaming counterparts of the FileController read endpoints. Each record is
+// written as soon as it arrives and the next one is only requested from Mongo once
+// the previous write completes. Only application/x-ndjson is produced: for
+// application/json MVC would collect the whole Flux into a list first.
+@RestController
+@RequestMapping("/api/reactive/files")
+@CrossOrigin(origins = "*")
+@Profile("!local")
+public class ReactiveFileController {
+
+    @Autowired
+    private ReactiveFileService reactiveFileService;
+
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<FileRecord> getAllFiles(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "1000") int limit) {
+        return reactiveFileService.getAllFiles(after, limit);
+    }
+
+    @GetMapping(value = "/duplicates", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<FileRecord> getDuplicates(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "1000") int limit) {
+        return reactiveFileService.findDuplicates(after, limit);
+    }
+
+    @GetMapping(value = "/category/{category}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<FileRecord> getFilesByCategory(
+            @PathVariable String category,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "1000") int limit) {
+        return reactiveFileService.getFilesByCategory(category, after, limit);
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<FileRecord> searchFiles(
+            @RequestParam(required = false) String fileName,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Long minSize,
+            @RequestParam(required = false) Long maxSize,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "1000") int limit) {
+        return reactiveFileService.searchFiles(fileName, category, minSize, maxSize, after, limit);
+    }
+}
@@ -0,0 +1,53 @@
+package com.yourname.filededup.controller;
+
+import com.yourname.filededup.model.LogEntry;
+import com.yourname.filededup.service.ReactiveLogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/reactive/logs")
+@CrossOrigin(origins = "*")
+@Profile("!local")
+public class ReactiveLogController {
+
+    @Autowired
+    private ReactiveLogService reactiveLogService;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<LogEntry> getAllLogs(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(required = false) String beforeId,
+            @RequestParam(defaultValue = "1000") int limit) {
+        return reactiveLogService.getLogs(null, null, before, beforeId, limit);
+    }
+
+    @GetMapping(value = "/level/{level}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<LogEntry> getLogsByLevel(
+            @PathVariable String level,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(required = false) String beforeId,
+            @RequestParam(defaultValue = "1000") int limit) {
+        return reactiveLogService.getLogs(level, null, before, beforeId, limit);
+    }
+
+    @GetMapping(value = "/operation/{operation}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<LogEntry> getLogsByOperation(
+            @PathVariable String operation,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(required = false) String beforeId,
+            @RequestParam(defaultValue = "1000") int limit) {
+        return reactiveLogService.getLogs(null, operation, before, beforeId, limit);
+    }
+
+    @GetMapping(value = "/recent/{count}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<LogEntry> getRecentLogs(@PathVariable int count) {
+        return reactiveLogService.getRecentLogs(count);
+    }
+}
@@ -0,0 +1,79 @@
+package com.yourname.filededup.controller;
+
+import com.yourname.filededup.service.RecategorizationService;
+import com.yourname.filededup.service.RuleEngineService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/rules")
+@CrossOrigin(origins = "*")
+public class RuleController {
+
+    @Autowired
+    private RuleEngineService ruleEngineService;
+
+    @Autowired
+    private RecategorizationService recategorizationService;
+
+    @GetMapping("/categories")
+    public ResponseEntity<Map<String, String>> getCategoryRules() {
+        return ResponseEntity.ok(ruleEngineService.getAllCategoryRules());
+    }
+
+    // Changing a rule recategorizes the stored records for that extension in the background
+    @PutMapping("/categories/{extension}")
+    public ResponseEntity<Map<String, Object>> updateCategoryRule(
+            @PathVariable String extension,
+            @RequestParam String category,
+            @RequestParam(defaultValue = "true") boolean recategorize) {
+        try {
+            if (category.trim().isEmpty()) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Category is required"));
+            }
+            
+            ruleEngineService.updateCategoryRule(extension, category);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("extension", extension.toLowerCase());
+            response.put("category", category);
+            if (recategorize) {
+                response.put("job", recategorizationService.start(List.of(extension)));
+            }
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to update rule: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/recategorize")
+    public ResponseEntity<Map<String, Object>> recategorize(@RequestBody(required = false) List<String> extensions) {
+        try {
+            return ResponseEntity.accepted().body(recategorizationService.start(extensions));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to start recategorization: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/recategorize/jobs")
+    public ResponseEntity<List<Map<String, Object>>> getRecategorizeJobs() {
+        return ResponseEntity.ok(recategorizationService.getJobs());
+    }
+
+    @GetMapping("/recategorize/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getRecategorizeJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(recategorizationService.getJob(jobId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
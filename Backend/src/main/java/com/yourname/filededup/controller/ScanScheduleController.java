@@ -0,0 +1,84 @@
+package com.yourname.filededup.controller;
+
+import com.yourname.filededup.scan.DeviceScheduler;
+import com.yourname.filededup.scan.IoThrottle;
+import com.yourname.filededup.service.ScanScheduleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/scans")
+@CrossOrigin(origins = "*")
+public class ScanScheduleController {
+
+    @Autowired
+    private ScanScheduleService scanScheduleService;
+
+    @Autowired
+    private IoThrottle ioThrottle;
+
+    @Autowired
+    private DeviceScheduler deviceScheduler;
+
+    @GetMapping("/throttle")
+    public ResponseEntity<Map<String, Object>> getThrottle() {
+        return ResponseEntity.ok(ioThrottle.getStatus());
+    }
+
+    // Takes effect immediately, including for scans that are already running; 0 means unlimited
+    @PutMapping("/throttle")
+    public ResponseEntity<Map<String, Object>> updateThrottle(
+            @RequestParam(required = false) Long bytesPerSecond,
+            @RequestParam(required = false) Long filesPerSecond,
+            @RequestParam(required = false) Double latencyTargetMs) {
+        ioThrottle.setLimits(bytesPerSecond, filesPerSecond, latencyTargetMs);
+        return ResponseEntity.ok(ioThrottle.getStatus());
+    }
+
+    // Devices seen by scans so far, with their detected type and reader count
+    @GetMapping("/devices")
+    public ResponseEntity<List<Map<String, Object>>> getDevices() {
+        return ResponseEntity.ok(deviceScheduler.getDevices());
+    }
+
+    @GetMapping("/schedules")
+    public ResponseEntity<List<Map<String, Object>>> getSchedules() {
+        return ResponseEntity.ok(scanScheduleService.getSchedules());
+    }
+
+    @PostMapping("/schedules")
+    public ResponseEntity<Map<String, Object>> addSchedule(
+            @RequestParam String directoryPath,
+            @RequestParam String cron,
+            @RequestParam(defaultValue = "false") boolean includeArchives) {
+        try {
+            return ResponseEntity.ok(scanScheduleService.add(directoryPath, cron, includeArchives));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to add scan schedule: " + e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/schedules/{scheduleId}")
+    public ResponseEntity<Map<String, Object>> removeSchedule(@PathVariable String scheduleId) {
+        try {
+            scanScheduleService.remove(scheduleId);
+            return ResponseEntity.ok(Map.of("message", "Scan schedule removed"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/schedules/{scheduleId}/run")
+    public ResponseEntity<Map<String, Object>> runSchedule(@PathVariable String scheduleId) {
+        try {
+            return ResponseEntity.accepted().body(scanScheduleService.runNow(scheduleId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
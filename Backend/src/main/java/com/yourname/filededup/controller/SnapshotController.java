@@ -0,0 +1,74 @@
+package com.yourname.filededup.controller;
+
+import com.yourname.filededup.service.SnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/snapshots")
+@CrossOrigin(origins = "*")
+public class SnapshotController {
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @PostMapping("/export")
+    public ResponseEntity<Map<String, Object>> exportSnapshot(@RequestParam(required = false) String path) {
+        try {
+            return ResponseEntity.ok(snapshotService.exportSnapshot(path));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to export snapshot: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<Map<String, Object>> importSnapshot(@RequestParam(required = false) String path) {
+        try {
+            return ResponseEntity.ok(snapshotService.importSnapshot(path));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to import snapshot: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/load")
+    public ResponseEntity<Map<String, Object>> loadSnapshot(@RequestParam(required = false) String path) {
+        try {
+            return ResponseEntity.ok(snapshotService.loadSnapshot(path));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to load snapshot: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStatistics() {
+        try {
+            return ResponseEntity.ok(snapshotService.getStatistics());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to get snapshot statistics: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/duplicates")
+    public ResponseEntity<Map<String, Object>> getDuplicateGroups(@RequestParam(defaultValue = "100") int limit) {
+        try {
+            List<Map<String, Object>> groups = snapshotService.getDuplicateGroups(Math.max(limit, 0));
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("groups", groups);
+            response.put("count", groups.size());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to get snapshot duplicates: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.yourname.filededup.events;
+
+import com.yourname.filededup.model.LogEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process broadcast of log entries and scan progress to connected dashboards.
+// Publishers never block: every subscriber has its own bounded buffer, and a
+// client that falls behind loses its oldest pending events instead of slowing
+// down scans or log writes. The most recent events are kept so that a client
+// reconnecting with Last-Event-ID receives what it missed.
+@Component
+public class LiveEventHub {
+
+    public static final String LOG_EVENT = "log";
+    public static final String SCAN_EVENT = "scan";
+    public static final String JOB_EVENT = "job";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.events.client-buffer-size:256}")
+    private int clientBufferSize;
+
+    @Value("${app.events.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${app.events.replay-size:256}")
+    private int replaySize;
+
+    private final Sinks.Many<ServerSentEvent<Object>> sink = Sinks.many().multicast().directBestEffort();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Deque<ServerSentEvent<Object>> recent = new ArrayDeque<>();
+    private Counter droppedEvents;
+
+    @PostConstruct
+    public void registerMeters() {
+        droppedEvents = Counter.builder("filededup.events.dropped")
+            .description("Live events discarded because a client's buffer was full")
+            .register(meterRegistry);
+        Gauge.builder("filededup.events.subscribers", subscribers, AtomicInteger::get)
+            .description("Connected live event clients")
+            .register(meterRegistry);
+    }
+
+    public void publishLog(LogEntry logEntry) {
+        publish(LOG_EVENT, logEntry);
+    }
+
+    public void publishScanProgress(Map<String, Object> progress) {
+        publish(SCAN_EVENT, progress);
+    }
+
+    public void publishJobProgress(Map<String, Object> progress) {
+        publish(JOB_EVENT, progress);
+    }
+
+    // With lastEventId, the retained events after it are sent before the live ones
+    public Flux<ServerSentEvent<Object>> subscribe(Set<String> eventTypes, Long lastEventId) {
+        Flux<ServerSentEvent<Object>> live = lastEventId == null ? sink.asFlux() : Flux.from(subscriber -> {
+            // Under the publish lock, so no event falls between the replayed ones and the live ones
+            synchronized (this) {
+                List<ServerSentEvent<Object>> missed = recent.stream()
+                    .filter(event -> Long.parseLong(event.id()) > lastEventId)
+                    .toList();
+                Flux.mergeSequential(Flux.fromIterable(missed), sink.asFlux()).subscribe(subscriber);
+            }
+        });
+        Flux<ServerSentEvent<Object>> events = live
+            .filter(event -> eventTypes.isEmpty() || eventTypes.contains(event.event()))
+            .onBackpressureBuffer(clientBufferSize, dropped -> droppedEvents.increment(),
+                BufferOverflowStrategy.DROP_OLDEST);
+        // Comment-only heartbeats keep idle connections open through proxies
+        Flux<ServerSentEvent<Object>> heartbeats = Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+            .map(tick -> ServerSentEvent.<Object>builder().comment("heartbeat").build())
+            .onBackpressureDrop();
+        return Flux.merge(events, heartbeats)
+            .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+            .doFinally(signal -> subscribers.decrementAndGet());
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    // Sinks reject concurrent emission, so publishers are serialized here
+    private synchronized void publish(String eventType, Object data) {
+        ServerSentEvent<Object> event = ServerSentEvent.builder(data)
+            .id(Long.toString(sequence.incrementAndGet()))
+            .event(eventType)
+            .build();
+        recent.addLast(event);
+        if (recent.size() > replaySize) {
+            recent.removeFirst();
+        }
+        if (sink.currentSubscriberCount() > 0) {
+            sink.tryEmitNext(event);
+        }
+    }
+}
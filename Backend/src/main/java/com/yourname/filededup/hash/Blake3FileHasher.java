@@ -0,0 +1,35 @@
+package com.yourname.filededup.hash;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.Blake3;
+import org.springframework.stereotype.Component;
+
+@Component
+public class Blake3FileHasher implements FileHasher {
+
+    public static final String ALGORITHM = "BLAKE3";
+
+    private static final int HASH_LENGTH = 32;
+
+    @Override
+    public String getAlgorithm() {
+        return ALGORITHM;
+    }
+
+    @Override
+    public Digest newDigest() {
+        Blake3 blake3 = Blake3.initHash();
+
+        return new Digest() {
+            @Override
+            public void update(byte[] bytes, int offset, int length) {
+                blake3.update(bytes, offset, length);
+            }
+
+            @Override
+            public String finish() {
+                return Hex.encodeHexString(blake3.doFinalize(HASH_LENGTH));
+            }
+        };
+    }
+}
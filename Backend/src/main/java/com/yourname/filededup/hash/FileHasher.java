@@ -0,0 +1,40 @@
+package com.yourname.filededup.hash;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public interface FileHasher {
+
+    int BUFFER_SIZE = 64 * 1024;
+
+    // Algorithm id stored alongside each hash, e.g. "SHA-256"
+    String getAlgorithm();
+
+    Digest newDigest();
+
+    default String hash(Path filePath) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(filePath)) {
+            return hash(inputStream);
+        }
+    }
+
+    default String hash(InputStream inputStream) throws IOException {
+        Digest digest = newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return digest.finish();
+    }
+
+    interface Digest {
+
+        void update(byte[] bytes, int offset, int length);
+
+        // Returns the lowercase hex encoding of the hash
+        String finish();
+    }
+}
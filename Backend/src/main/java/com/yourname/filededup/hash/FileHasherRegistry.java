@@ -0,0 +1,50 @@
+package com.yourname.filededup.hash;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Component
+public class FileHasherRegistry {
+
+    public static final String DEFAULT_ALGORITHM = Sha256FileHasher.ALGORITHM;
+
+    private final Map<String, FileHasher> hashers = new HashMap<>();
+
+    @Autowired
+    public FileHasherRegistry(List<FileHasher> fileHashers) {
+        for (FileHasher hasher : fileHashers) {
+            hashers.put(normalize(hasher.getAlgorithm()), hasher);
+        }
+    }
+
+    public boolean supports(String algorithm) {
+        return algorithm != null && hashers.containsKey(normalize(algorithm));
+    }
+
+    public FileHasher get(String algorithm) {
+        FileHasher hasher = algorithm != null ? hashers.get(normalize(algorithm)) : null;
+        if (hasher == null) {
+            throw new IllegalArgumentException("Unsupported hash algorithm: " + algorithm);
+        }
+        return hasher;
+    }
+
+    public Set<String> getAvailableAlgorithms() {
+        Set<String> algorithms = new TreeSet<>();
+        for (FileHasher hasher : hashers.values()) {
+            algorithms.add(hasher.getAlgorithm());
+        }
+        return algorithms;
+    }
+
+    // "SHA-256", "sha256" and "SHA_256" all resolve to the same hasher
+    private static String normalize(String algorithm) {
+        return algorithm.replace("-", "").replace("_", "").trim().toUpperCase();
+    }
+}
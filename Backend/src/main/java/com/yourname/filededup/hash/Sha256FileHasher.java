@@ -0,0 +1,40 @@
+package com.yourname.filededup.hash;
+
+import org.apache.commons.codec.binary.Hex;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+@Component
+public class Sha256FileHasher implements FileHasher {
+
+    public static final String ALGORITHM = "SHA-256";
+
+    @Override
+    public String getAlgorithm() {
+        return ALGORITHM;
+    }
+
+    @Override
+    public Digest newDigest() {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 algorithm not available", e);
+        }
+
+        return new Digest() {
+            @Override
+            public void update(byte[] bytes, int offset, int length) {
+                md.update(bytes, offset, length);
+            }
+
+            @Override
+            public String finish() {
+                return Hex.encodeHexString(md.digest());
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.yourname.filededup.hash;
+
+import com.dynatrace.hash4j.hashing.HashStream128;
+import com.dynatrace.hash4j.hashing.HashValue128;
+import com.dynatrace.hash4j.hashing.Hashing;
+import org.springframework.stereotype.Component;
+
+@Component
+public class Xxh3FileHasher implements FileHasher {
+
+    public static final String ALGORITHM = "XXH3-128";
+
+    @Override
+    public String getAlgorithm() {
+        return ALGORITHM;
+    }
+
+    @Override
+    public Digest newDigest() {
+        HashStream128 stream = Hashing.xxh3_128().hashStream();
+
+        return new Digest() {
+            @Override
+            public void update(byte[] bytes, int offset, int length) {
+                stream.putBytes(bytes, offset, length);
+            }
+
+            @Override
+            public String finish() {
+                // Canonical XXH128 form: high 64 bits first, big-endian
+                HashValue128 value = stream.get();
+                return String.format("%016x%016x", value.getMostSignificantBits(), value.getLeastSignificantBits());
+            }
+        };
+    }
+}
@@ -0,0 +1,221 @@
+package com.yourname.filededup.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.search.Search;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ScanMetrics {
+
+    public static final String SCAN_JOB_TAG = "scan.job";
+    public static final String NO_SCAN_JOB = "none";
+
+    private static final ThreadLocal<String> CURRENT_SCAN_JOB = new ThreadLocal<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Every scan job adds its own tag value; only the most recent jobs keep their meters
+    @Value("${app.metrics.retained-scan-jobs:20}")
+    private int retainedScanJobs;
+
+    private final Deque<String> recentScanJobs = new ArrayDeque<>();
+
+    // Per-file meters of each retained scan job, registered once per tag value
+    // instead of being built and registered again for every file
+    private final Map<String, JobMeters> jobMeters = new ConcurrentHashMap<>();
+
+    public static String currentScanJob() {
+        String scanJob = CURRENT_SCAN_JOB.get();
+        return scanJob != null ? scanJob : NO_SCAN_JOB;
+    }
+
+    // Wraps a task handed to another thread so it runs under the caller's scan job
+    public static <T> Callable<T> inCurrentScanJob(Callable<T> task) {
+        String scanJob = CURRENT_SCAN_JOB.get();
+        return () -> {
+            String previous = enterScanJob(scanJob);
+            try {
+                return task.call();
+            } finally {
+                enterScanJob(previous);
+            }
+        };
+    }
+
+    // Returns the scan job the thread had before
+    private static String enterScanJob(String scanJob) {
+        String previous = CURRENT_SCAN_JOB.get();
+        if (scanJob != null) {
+            CURRENT_SCAN_JOB.set(scanJob);
+        } else {
+            CURRENT_SCAN_JOB.remove();
+        }
+        return previous;
+    }
+
+    public ScanJob startScanJob() {
+        String scanJobId = UUID.randomUUID().toString().substring(0, 8);
+        JobMeters meters = new JobMeters(scanJobId);
+        jobMeters.put(scanJobId, meters);
+        retainScanJob(scanJobId);
+        CURRENT_SCAN_JOB.set(scanJobId);
+        return new ScanJob(meters, System.nanoTime());
+    }
+
+    public void recordHash(String algorithm, long bytes, long nanos) {
+        JobMeters meters = currentJobMeters();
+        meters.timer("filededup.hash", "Time spent hashing file content", "algorithm", algorithm)
+            .record(nanos, TimeUnit.NANOSECONDS);
+        meters.summary("filededup.hash.bytes", "Bytes read by the hasher", "algorithm", algorithm)
+            .record(bytes);
+    }
+
+    public void recordMimeProbe(long nanos) {
+        currentJobMeters().timer("filededup.mime.probe", "Time spent in Files.probeContentType")
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCategorization(String category, long nanos) {
+        currentJobMeters().timer("filededup.categorize", "Time spent in RuleEngineService.categorizeFile", "category", category)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLogWrite(String level, long nanos) {
+        currentJobMeters().timer("filededup.log.write", "Time spent persisting a log entry", "level", level)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordUpload(String outcome, long bytes, long nanos) {
+        Timer.builder("filededup.upload")
+            .description("End-to-end upload processing time")
+            .tags("outcome", outcome)
+            .register(meterRegistry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("filededup.upload.size")
+            .description("Uploaded file size")
+            .baseUnit("bytes")
+            .tags("outcome", outcome)
+            .register(meterRegistry)
+            .record(bytes);
+    }
+
+    // Outside a scan job, or on a thread still working for a job that is no longer
+    // retained, the meters are created on first use
+    private JobMeters currentJobMeters() {
+        return jobMeters.computeIfAbsent(currentScanJob(), JobMeters::new);
+    }
+
+    private synchronized void retainScanJob(String scanJobId) {
+        recentScanJobs.addLast(scanJobId);
+        while (recentScanJobs.size() > Math.max(1, retainedScanJobs)) {
+            String expired = recentScanJobs.removeFirst();
+            jobMeters.remove(expired);
+            for (Meter meter : Search.in(meterRegistry).tag(SCAN_JOB_TAG, expired).meters()) {
+                meterRegistry.remove(meter);
+            }
+        }
+    }
+
+    private class JobMeters {
+
+        private final String scanJob;
+        private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+        private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+        private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+        private JobMeters(String scanJob) {
+            this.scanJob = scanJob;
+        }
+
+        // tags are key/value pairs; the scan job tag is added
+        Timer timer(String name, String description, String... tags) {
+            return timers.computeIfAbsent(key(name, tags), key -> Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .tag(SCAN_JOB_TAG, scanJob)
+                .register(meterRegistry));
+        }
+
+        DistributionSummary summary(String name, String description, String... tags) {
+            return summaries.computeIfAbsent(key(name, tags), key -> DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("bytes")
+                .tags(tags)
+                .tag(SCAN_JOB_TAG, scanJob)
+                .register(meterRegistry));
+        }
+
+        Counter counter(String name, String... tags) {
+            return counters.computeIfAbsent(key(name, tags), key -> Counter.builder(name)
+                .tags(tags)
+                .tag(SCAN_JOB_TAG, scanJob)
+                .register(meterRegistry));
+        }
+
+        private static String key(String name, String... tags) {
+            return tags.length == 0 ? name : name + '|' + String.join("|", tags);
+        }
+    }
+
+    public class ScanJob implements AutoCloseable {
+
+        private final JobMeters meters;
+        private final String id;
+        private final long startNanos;
+        private String outcome = "error";
+
+        private ScanJob(JobMeters meters, long startNanos) {
+            this.meters = meters;
+            this.id = meters.scanJob;
+            this.startNanos = startNanos;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void recordFile(String result) {
+            meters.counter("filededup.scan.files", "result", result).increment();
+        }
+
+        // Runs task on the calling thread as part of this scan, so meters, repository
+        // tags and JFR events recorded on a scan's reader threads carry its id
+        public void runInScope(Runnable task) {
+            String previous = enterScanJob(id);
+            try {
+                task.run();
+            } finally {
+                enterScanJob(previous);
+            }
+        }
+
+        public void completed() {
+            outcome = "success";
+        }
+
+        @Override
+        public void close() {
+            Timer.builder("filededup.scan")
+                .description("End-to-end directory scan time")
+                .tags(SCAN_JOB_TAG, id, "outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            CURRENT_SCAN_JOB.remove();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.yourname.filededup.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// A scan split into scan_work_units. It is completed exactly once, by whichever
+// instance finishes the last unit.
+@Document(collection = "distributed_scans")
+public class DistributedScan {
+
+    @Id
+    private String id;
+
+    private String directory;
+
+    private String state;
+
+    private int totalUnits;
+
+    private String startedBy;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    public DistributedScan() {
+        this.startedAt = LocalDateTime.now();
+        this.state = State.RUNNING;
+    }
+
+    public DistributedScan(String directory, int totalUnits, String startedBy) {
+        this();
+        this.directory = directory;
+        this.totalUnits = totalUnits;
+        this.startedBy = startedBy;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public int getTotalUnits() {
+        return totalUnits;
+    }
+
+    public void setTotalUnits(int totalUnits) {
+        this.totalUnits = totalUnits;
+    }
+
+    public String getStartedBy() {
+        return startedBy;
+    }
+
+    public void setStartedBy(String startedBy) {
+        this.startedBy = startedBy;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public static class State {
+        public static final String RUNNING = "RUNNING";
+        public static final String COMPLETED = "COMPLETED";
+    }
+}
@@ -0,0 +1,67 @@
+package com.yourname.filededup.model;
+
+// Filters for file list reads. Null fields are not applied; fileName matches any
+// part of the name, ignoring case.
+public class FileQuery {
+
+    private String fileName;
+
+    private String category;
+
+    private Long minSize;
+
+    private Long maxSize;
+
+    private Boolean duplicate;
+
+    public FileQuery() {
+    }
+
+    public FileQuery(String fileName, String category, Long minSize, Long maxSize, Boolean duplicate) {
+        this.fileName = fileName;
+        this.category = category;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.duplicate = duplicate;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Long getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(Long minSize) {
+        this.minSize = minSize;
+    }
+
+    public Long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(Long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Boolean getDuplicate() {
+        return duplicate;
+    }
+
+    public void setDuplicate(Boolean duplicate) {
+        this.duplicate = duplicate;
+    }
+}
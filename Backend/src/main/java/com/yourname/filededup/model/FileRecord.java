@@ -15,13 +15,18 @@ public class FileRecord {
     @Indexed
     private String fileName;
     
+    // Unique, so two scans of the same subtree cannot both store a file
+    @Indexed(unique = true)
     private String filePath;
     
     @Indexed
     private String fileHash;
     
+    private String hashAlgorithm;
+    
     private long fileSize;
     
+    @Indexed
     private String fileExtension;
     
     @Indexed
@@ -36,6 +41,10 @@ public class FileRecord {
     private boolean isDuplicate;
     
     private String mimeType;
+    
+    // Set for entries read from inside an archive; filePath is then "<archivePath>!/<entry name>"
+    @Indexed(sparse = true)
+    private String archivePath;
 
     // Default constructor
     public FileRecord() {
@@ -86,6 +95,14 @@ public class FileRecord {
         this.fileHash = fileHash;
     }
 
+    public String getHashAlgorithm() {
+        return hashAlgorithm;
+    }
+
+    public void setHashAlgorithm(String hashAlgorithm) {
+        this.hashAlgorithm = hashAlgorithm;
+    }
+
     public long getFileSize() {
         return fileSize;
     }
@@ -151,6 +168,14 @@ public class FileRecord {
     }
 
     // Utility method to extract file extension
+    public String getArchivePath() {
+        return archivePath;
+    }
+
+    public void setArchivePath(String archivePath) {
+        this.archivePath = archivePath;
+    }
+
     private String getExtensionFromFileName(String fileName) {
         if (fileName == null || fileName.isEmpty()) {
             return "";
@@ -169,6 +194,7 @@ public class FileRecord {
                 ", fileName='" + fileName + '\'' +
                 ", filePath='" + filePath + '\'' +
                 ", fileHash='" + fileHash + '\'' +
+                ", hashAlgorithm='" + hashAlgorithm + '\'' +
                 ", fileSize=" + fileSize +
                 ", category='" + category + '\'' +
                 ", isDuplicate=" + isDuplicate +
@@ -0,0 +1,161 @@
+package com.yourname.filededup.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Lean projection of a FileRecord for list endpoints. Only the requested fields are
+// read from the store; the others stay null and are left out of the response.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FileView {
+
+    // Response field names, as FileRecord serializes them, to stored property names
+    private static final Map<String, String> FIELDS = new LinkedHashMap<>();
+
+    static {
+        for (String field : List.of("id", "fileName", "filePath", "fileHash", "hashAlgorithm", "fileSize",
+                "fileExtension", "category", "createdDate", "modifiedDate", "scannedDate", "mimeType", "archivePath")) {
+            FIELDS.put(field, field);
+        }
+        FIELDS.put("duplicate", "isDuplicate");
+    }
+
+    // What the dashboards list: enough to group copies and show their size
+    private static final List<String> SUMMARY = List.of("id", "fileName", "fileHash", "fileSize", "category", "duplicate");
+
+    private String id;
+
+    private String fileName;
+
+    private String filePath;
+
+    private String fileHash;
+
+    private String hashAlgorithm;
+
+    private Long fileSize;
+
+    private String fileExtension;
+
+    private String category;
+
+    private LocalDateTime createdDate;
+
+    private LocalDateTime modifiedDate;
+
+    private LocalDateTime scannedDate;
+
+    private Boolean isDuplicate;
+
+    private String mimeType;
+
+    private String archivePath;
+
+    public FileView() {
+    }
+
+    // Parses a comma-separated list of response field names, or "summary", into stored
+    // property names. Returns null when no fields were given, meaning full records.
+    public static Set<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> properties = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (name.equals("summary")) {
+                SUMMARY.forEach(summaryField -> properties.add(FIELDS.get(summaryField)));
+            } else if (FIELDS.containsKey(name)) {
+                properties.add(FIELDS.get(name));
+            } else {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+        }
+        return properties;
+    }
+
+    // Copies the given stored properties of a record held in memory
+    public static FileView of(FileRecord record, Set<String> properties) {
+        FileView view = new FileView();
+        view.id = properties.contains("id") ? record.getId() : null;
+        view.fileName = properties.contains("fileName") ? record.getFileName() : null;
+        view.filePath = properties.contains("filePath") ? record.getFilePath() : null;
+        view.fileHash = properties.contains("fileHash") ? record.getFileHash() : null;
+        view.hashAlgorithm = properties.contains("hashAlgorithm") ? record.getHashAlgorithm() : null;
+        view.fileSize = properties.contains("fileSize") ? record.getFileSize() : null;
+        view.fileExtension = properties.contains("fileExtension") ? record.getFileExtension() : null;
+        view.category = properties.contains("category") ? record.getCategory() : null;
+        view.createdDate = properties.contains("createdDate") ? record.getCreatedDate() : null;
+        view.modifiedDate = properties.contains("modifiedDate") ? record.getModifiedDate() : null;
+        view.scannedDate = properties.contains("scannedDate") ? record.getScannedDate() : null;
+        view.isDuplicate = properties.contains("isDuplicate") ? record.isDuplicate() : null;
+        view.mimeType = properties.contains("mimeType") ? record.getMimeType() : null;
+        view.archivePath = properties.contains("archivePath") ? record.getArchivePath() : null;
+        return view;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public String getFileHash() {
+        return fileHash;
+    }
+
+    public String getHashAlgorithm() {
+        return hashAlgorithm;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public LocalDateTime getModifiedDate() {
+        return modifiedDate;
+    }
+
+    public LocalDateTime getScannedDate() {
+        return scannedDate;
+    }
+
+    // Serialized as "duplicate", like FileRecord.isDuplicate()
+    public Boolean getDuplicate() {
+        return isDuplicate;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public String getArchivePath() {
+        return archivePath;
+    }
+}
@@ -0,0 +1,97 @@
+package com.yourname.filededup.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// One document per distinct content hash. The id is "<algorithm>:<hash>", so the
+// primary key index is the unique index on the hash. refCount is the number of
+// stored records with that content and keeperId the one that is not a duplicate.
+@Document(collection = "hash_registry")
+public class HashRegistryEntry {
+
+    @Id
+    private String id;
+
+    private String fileHash;
+
+    private String hashAlgorithm;
+
+    private long refCount;
+
+    private String keeperId;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    public HashRegistryEntry() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    public HashRegistryEntry(String id, String fileHash, String hashAlgorithm, String keeperId) {
+        this();
+        this.id = id;
+        this.fileHash = fileHash;
+        this.hashAlgorithm = hashAlgorithm;
+        this.keeperId = keeperId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFileHash() {
+        return fileHash;
+    }
+
+    public void setFileHash(String fileHash) {
+        this.fileHash = fileHash;
+    }
+
+    public String getHashAlgorithm() {
+        return hashAlgorithm;
+    }
+
+    public void setHashAlgorithm(String hashAlgorithm) {
+        this.hashAlgorithm = hashAlgorithm;
+    }
+
+    public long getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(long refCount) {
+        this.refCount = refCount;
+    }
+
+    public String getKeeperId() {
+        return keeperId;
+    }
+
+    public void setKeeperId(String keeperId) {
+        this.keeperId = keeperId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,32 +1,49 @@
 package com.yourname.filededup.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "log_entries")
+@CompoundIndexes({
+    @CompoundIndex(name = "timestamp_id", def = "{ 'timestamp': -1, '_id': -1 }"),
+    @CompoundIndex(name = "level_timestamp_id", def = "{ 'level': 1, 'timestamp': -1, '_id': -1 }"),
+    @CompoundIndex(name = "operation_timestamp_id", def = "{ 'operation': 1, 'timestamp': -1, '_id': -1 }"),
+    @CompoundIndex(name = "level_operation_timestamp_id", def = "{ 'level': 1, 'operation': 1, 'timestamp': -1, '_id': -1 }")
+})
 public class LogEntry {
     
     @Id
     private String id;
     
-    @Indexed
     private String level;
     
+    @TextIndexed
     private String message;
     
     private String operation;
     
+    @TextIndexed
     private String details;
     
-    @Indexed
     private LocalDateTime timestamp;
     
     private String userId;
     
     private String sessionId;
+    
+    // Number of collapsed events for aggregated summary entries; null for a single event
+    private Integer occurrences;
+    
+    // Set from the per-level retention when the entry is written; Mongo's TTL
+    // monitor removes the document once this time has passed
+    @Indexed(name = "expireAt_ttl", expireAfterSeconds = 0)
+    private LocalDateTime expireAt;
 
     // Default constructor
     public LogEntry() {
@@ -112,6 +129,22 @@ public class LogEntry {
         this.sessionId = sessionId;
     }
 
+    public Integer getOccurrences() {
+        return occurrences;
+    }
+
+    public void setOccurrences(Integer occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    public LocalDateTime getExpireAt() {
+        return expireAt;
+    }
+
+    public void setExpireAt(LocalDateTime expireAt) {
+        this.expireAt = expireAt;
+    }
+
     // Log levels constants
     public static class Level {
         public static final String INFO = "INFO";
@@ -0,0 +1,69 @@
+package com.yourname.filededup.model;
+
+import java.time.LocalDateTime;
+
+// Filters for paged log reads. Null fields are not applied; text matches any
+// word of the message or details.
+public class LogQuery {
+
+    private String text;
+    
+    private String level;
+    
+    private String operation;
+    
+    private LocalDateTime from;
+    
+    private LocalDateTime to;
+
+    public LogQuery() {
+    }
+
+    public LogQuery(String text, String level, String operation, LocalDateTime from, LocalDateTime to) {
+        this.text = text;
+        this.level = level;
+        this.operation = operation;
+        this.from = from;
+        this.to = to;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public void setLevel(String level) {
+        this.level = level;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+}
@@ -0,0 +1,47 @@
+package com.yourname.filededup.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Lets one instance at a time run a maintenance task such as a hash registry
+// rebuild. The id names the task; the holder renews expiresAt while it works, so
+// an instance that died only blocks the task until the lease runs out.
+@Document(collection = "maintenance_leases")
+public class MaintenanceLease {
+
+    @Id
+    private String id;
+
+    private String owner;
+
+    private LocalDateTime expiresAt;
+
+    public MaintenanceLease() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
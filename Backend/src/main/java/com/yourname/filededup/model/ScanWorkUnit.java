@@ -0,0 +1,211 @@
+package com.yourname.filededup.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// One subtree of a distributed scan. Instances claim pending units, or units whose
+// lease has run out, with a single findAndModify and keep the lease alive with
+// heartbeats while they walk it.
+@Document(collection = "scan_work_units")
+@CompoundIndexes({
+    @CompoundIndex(name = "state_leaseExpiresAt", def = "{ 'state': 1, 'leaseExpiresAt': 1 }"),
+    @CompoundIndex(name = "scanId_state", def = "{ 'scanId': 1, 'state': 1 }")
+})
+public class ScanWorkUnit {
+
+    @Id
+    private String id;
+
+    private String scanId;
+
+    private String directory;
+
+    private int depth;
+
+    private String state;
+
+    private String owner;
+
+    private LocalDateTime leaseExpiresAt;
+
+    private int attempts;
+
+    private int processedFiles;
+
+    private int scannedFiles;
+
+    private int duplicateCount;
+
+    private int errorCount;
+
+    private int excludedFiles;
+
+    private int skippedDirectories;
+
+    private String error;
+
+    @Indexed
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    public ScanWorkUnit() {
+        this.createdAt = LocalDateTime.now();
+        this.state = State.PENDING;
+    }
+
+    public ScanWorkUnit(String scanId, String directory, int depth) {
+        this();
+        this.scanId = scanId;
+        this.directory = directory;
+        this.depth = depth;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getScanId() {
+        return scanId;
+    }
+
+    public void setScanId(String scanId) {
+        this.scanId = scanId;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public int getProcessedFiles() {
+        return processedFiles;
+    }
+
+    public void setProcessedFiles(int processedFiles) {
+        this.processedFiles = processedFiles;
+    }
+
+    public int getScannedFiles() {
+        return scannedFiles;
+    }
+
+    public void setScannedFiles(int scannedFiles) {
+        this.scannedFiles = scannedFiles;
+    }
+
+    public int getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    public void setDuplicateCount(int duplicateCount) {
+        this.duplicateCount = duplicateCount;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    public void setErrorCount(int errorCount) {
+        this.errorCount = errorCount;
+    }
+
+    public int getExcludedFiles() {
+        return excludedFiles;
+    }
+
+    public void setExcludedFiles(int excludedFiles) {
+        this.excludedFiles = excludedFiles;
+    }
+
+    public int getSkippedDirectories() {
+        return skippedDirectories;
+    }
+
+    public void setSkippedDirectories(int skippedDirectories) {
+        this.skippedDirectories = skippedDirectories;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public static class State {
+        public static final String PENDING = "PENDING";
+        public static final String LEASED = "LEASED";
+        public static final String DONE = "DONE";
+        public static final String FAILED = "FAILED";
+    }
+}
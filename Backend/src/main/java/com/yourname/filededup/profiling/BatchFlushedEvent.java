@@ -0,0 +1,29 @@
+package com.yourname.filededup.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(BatchFlushedEvent.NAME)
+@Label("Batch Flushed")
+@Category({"File Dedup", "Storage"})
+@Description("Group of FileRecords written in one operation")
+@StackTrace(false)
+public class BatchFlushedEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.yourname.filededup.BatchFlushed";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Records")
+    public int records;
+
+    @Label("Failures")
+    public int failures;
+
+    @Label("Scan Job")
+    public String scanJob;
+}
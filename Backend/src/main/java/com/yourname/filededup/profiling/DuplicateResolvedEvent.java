@@ -0,0 +1,29 @@
+package com.yourname.filededup.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(DuplicateResolvedEvent.NAME)
+@Label("Duplicate Resolved")
+@Category({"File Dedup", "Storage"})
+@Description("Hash registry update that decides whether a record is a duplicate")
+@StackTrace(false)
+public class DuplicateResolvedEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.yourname.filededup.DuplicateResolved";
+
+    @Label("Path")
+    public String path;
+
+    @Label("Hash")
+    public String hash;
+
+    @Label("Matches")
+    public int matches;
+
+    @Label("Scan Job")
+    public String scanJob;
+}
@@ -0,0 +1,31 @@
+package com.yourname.filededup.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(FileHashedEvent.NAME)
+@Label("File Hashed")
+@Category({"File Dedup", "Scan"})
+@Description("Content hash computed for one file")
+@StackTrace(false)
+public class FileHashedEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.yourname.filededup.FileHashed";
+
+    @Label("Path")
+    public String path;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Scan Job")
+    public String scanJob;
+}
@@ -0,0 +1,29 @@
+package com.yourname.filededup.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(RecordPersistedEvent.NAME)
+@Label("Record Persisted")
+@Category({"File Dedup", "Storage"})
+@Description("FileRecord written to the repository")
+@StackTrace(false)
+public class RecordPersistedEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.yourname.filededup.RecordPersisted";
+
+    @Label("Path")
+    public String path;
+
+    @Label("Record Id")
+    public String recordId;
+
+    @Label("Duplicate")
+    public boolean duplicate;
+
+    @Label("Scan Job")
+    public String scanJob;
+}
@@ -0,0 +1,156 @@
+package com.yourname.filededup.profiling;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Summarizes a JFR recording of a scan: latency distribution per pipeline event,
+// the slowest individual file hashes and the built-in I/O and allocation events
+// needed to tell disk-, CPU- and Mongo-bound scans apart.
+@Component
+public class RecordingAnalyzer {
+
+    private static final List<String> SUMMARIZED_EVENTS = List.of(
+        FileHashedEvent.NAME,
+        RecordPersistedEvent.NAME,
+        DuplicateResolvedEvent.NAME,
+        BatchFlushedEvent.NAME,
+        "jdk.FileRead",
+        "jdk.SocketRead",
+        "jdk.SocketWrite",
+        "jdk.GarbageCollection");
+
+    public Map<String, Object> summarize(Path recording, int top) throws IOException {
+        if (!Files.isRegularFile(recording) || !recording.toString().endsWith(".jfr")) {
+            throw new IllegalArgumentException("Not a JFR recording: " + recording);
+        }
+
+        Map<String, List<Long>> durations = new HashMap<>();
+        Map<String, Long> allocationByClass = new HashMap<>();
+        PriorityQueue<RecordedEvent> slowestHashes = new PriorityQueue<>(Comparator.comparing(RecordedEvent::getDuration));
+        long hashedBytes = 0;
+        long hashNanos = 0;
+        Instant first = null;
+        Instant last = null;
+
+        try (RecordingFile recordingFile = new RecordingFile(recording)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                String name = event.getEventType().getName();
+
+                if (first == null || event.getStartTime().isBefore(first)) {
+                    first = event.getStartTime();
+                }
+                if (last == null || event.getEndTime().isAfter(last)) {
+                    last = event.getEndTime();
+                }
+
+                if (SUMMARIZED_EVENTS.contains(name)) {
+                    durations.computeIfAbsent(name, n -> new ArrayList<>()).add(event.getDuration().toNanos());
+                }
+
+                if (FileHashedEvent.NAME.equals(name)) {
+                    hashedBytes += event.getLong("bytes");
+                    hashNanos += event.getDuration().toNanos();
+                    slowestHashes.add(event);
+                    if (slowestHashes.size() > top) {
+                        slowestHashes.poll();
+                    }
+                } else if ("jdk.ObjectAllocationSample".equals(name)) {
+                    RecordedClass objectClass = event.getClass("objectClass");
+                    if (objectClass != null) {
+                        allocationByClass.merge(objectClass.getName(), event.getLong("weight"), Long::sum);
+                    }
+                }
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("recording", recording.toString());
+        summary.put("start", first);
+        summary.put("durationMs", first != null ? Duration.between(first, last).toMillis() : 0);
+
+        Map<String, Object> events = new LinkedHashMap<>();
+        for (String name : SUMMARIZED_EVENTS) {
+            List<Long> values = durations.get(name);
+            if (values != null) {
+                events.put(name, latencySummary(values));
+            }
+        }
+        summary.put("events", events);
+
+        summary.put("hashedBytes", hashedBytes);
+        summary.put("hashThroughputMBps", hashNanos > 0 ? (hashedBytes / 1_048_576.0) / (hashNanos / 1e9) : 0);
+
+        List<Map<String, Object>> slowest = new ArrayList<>();
+        List<RecordedEvent> ordered = new ArrayList<>(slowestHashes);
+        ordered.sort((a, b) -> b.getDuration().compareTo(a.getDuration()));
+        for (RecordedEvent event : ordered) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("path", event.getString("path"));
+            entry.put("bytes", event.getLong("bytes"));
+            entry.put("durationMs", event.getDuration().toNanos() / 1e6);
+            entry.put("scanJob", event.getString("scanJob"));
+            slowest.add(entry);
+        }
+        summary.put("slowestFileHashes", slowest);
+
+        Map<String, Long> topAllocations = new LinkedHashMap<>();
+        allocationByClass.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .limit(top)
+            .forEach(e -> topAllocations.put(e.getKey(), e.getValue()));
+        summary.put("allocationBytesByClass", topAllocations);
+
+        return summary;
+    }
+
+    private Map<String, Object> latencySummary(List<Long> nanos) {
+        nanos.sort(null);
+        long total = 0;
+        for (long value : nanos) {
+            total += value;
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", nanos.size());
+        summary.put("totalMs", total / 1e6);
+        summary.put("p50Ms", percentile(nanos, 0.50) / 1e6);
+        summary.put("p95Ms", percentile(nanos, 0.95) / 1e6);
+        summary.put("p99Ms", percentile(nanos, 0.99) / 1e6);
+        summary.put("maxMs", nanos.get(nanos.size() - 1) / 1e6);
+        return summary;
+    }
+
+    private long percentile(List<Long> sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    // Offline use, no Spring context needed:
+    // java -cp target/classes com.yourname.filededup.profiling.RecordingAnalyzer scan.jfr [top]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: RecordingAnalyzer <recording.jfr> [top]");
+            System.exit(1);
+        }
+        int top = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        Map<String, Object> summary = new RecordingAnalyzer().summarize(Paths.get(args[0]), top);
+        summary.forEach((key, value) -> System.out.println(key + ": " + value));
+    }
+}
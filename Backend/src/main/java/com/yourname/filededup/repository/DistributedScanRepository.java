@@ -0,0 +1,13 @@
+package com.yourname.filededup.repository;
+
+import com.yourname.filededup.model.DistributedScan;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DistributedScanRepository extends MongoRepository<DistributedScan, String>, DistributedScanRepositoryCustom {
+
+    List<DistributedScan> findTop20ByOrderByStartedAtDesc();
+}
@@ -0,0 +1,7 @@
+package com.yourname.filededup.repository;
+
+public interface DistributedScanRepositoryCustom {
+
+    // Moves a running scan to completed; true only for the one caller that made the change
+    boolean markCompleted(String id);
+}
@@ -0,0 +1,25 @@
+package com.yourname.filededup.repository;
+
+import com.yourname.filededup.model.DistributedScan;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+
+class DistributedScanRepositoryImpl implements DistributedScanRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean markCompleted(String id) {
+        Query query = new Query(Criteria.where("id").is(id).and("state").is(DistributedScan.State.RUNNING));
+        Update update = new Update()
+            .set("state", DistributedScan.State.COMPLETED)
+            .set("completedAt", LocalDateTime.now());
+        return mongoTemplate.updateFirst(query, update, DistributedScan.class).getModifiedCount() > 0;
+    }
+}
@@ -0,0 +1,34 @@
+package com.yourname.filededup.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+// The CRUD operations the services use. The signatures match Spring Data's, so the
+// Mongo repositories get them from SimpleMongoRepository, and the local store
+// implements every one of them.
+public interface DocumentRepository<T> {
+
+    <S extends T> S save(S entity);
+
+    <S extends T> List<S> saveAll(Iterable<S> entities);
+
+    Optional<T> findById(String id);
+
+    boolean existsById(String id);
+
+    List<T> findAll();
+
+    List<T> findAllById(Iterable<String> ids);
+
+    long count();
+
+    void deleteById(String id);
+
+    void delete(T entity);
+
+    void deleteAllById(Iterable<? extends String> ids);
+
+    void deleteAll(Iterable<? extends T> entities);
+
+    void deleteAll();
+}
@@ -1,17 +1,19 @@
 package com.yourname.filededup.repository;
 
 import com.yourname.filededup.model.FileRecord;
-import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
-import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
-@Repository
-public interface FileRepository extends MongoRepository<FileRecord, String> {
+// Implemented by MongoFileRepository and, with the local profile, LocalFileRepository
+public interface FileRepository extends DocumentRepository<FileRecord>, FileRepositoryCustom {
     
     List<FileRecord> findByFileHash(String fileHash);
     
+    @Query("{ 'fileHash': ?0, 'hashAlgorithm': { $in: ?1 } }")
+    List<FileRecord> findByFileHashAndHashAlgorithmIn(String fileHash, List<String> hashAlgorithms);
+    
     List<FileRecord> findByCategory(String category);
     
     List<FileRecord> findByIsDuplicate(boolean isDuplicate);
@@ -28,10 +30,19 @@ public interface FileRepository extends MongoRepository<FileRecord, String> {
     @Query("{ 'fileHash': { $in: ?0 } }")
     List<FileRecord> findByFileHashIn(List<String> hashes);
     
+    Stream<FileRecord> streamAllBy();
+    
+    // Records with the same content arrive one after another
+    Stream<FileRecord> streamAllByOrderByFileHashAsc();
+    
+    Stream<FileRecord> streamByFileExtension(String fileExtension);
+    
     boolean existsByFileHash(String fileHash);
     
     boolean existsByFilePath(String filePath);
     
+    boolean existsByArchivePath(String archivePath);
+    
     long countByCategory(String category);
     
     long countByIsDuplicate(boolean isDuplicate);
@@ -0,0 +1,20 @@
+package com.yourname.filededup.repository;
+
+import com.yourname.filededup.model.FileQuery;
+import com.yourname.filededup.model.FileView;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface FileRepositoryCustom {
+
+    // One multi-document update; returns the number of records whose category changed
+    long updateCategoryByExtension(String fileExtension, String category);
+
+    // Unordered bulk write of individually computed categories
+    void updateCategories(Map<String, String> categoriesById);
+
+    // Reads only the given stored properties of the matching records
+    List<FileView> findViews(FileQuery query, Set<String> properties);
+}
@@ -0,0 +1,78 @@
+package com.yourname.filededup.repository;
+
+import com.yourname.filededup.model.FileQuery;
+import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.model.FileView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+class FileRepositoryCustomImpl implements FileRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public long updateCategoryByExtension(String fileExtension, String category) {
+        // Records already in the target category are left alone, so repeated runs write nothing
+        Query query = new Query(Criteria.where("fileExtension").is(fileExtension).and("category").ne(category));
+        return mongoTemplate.updateMulti(query, Update.update("category", category), FileRecord.class)
+            .getModifiedCount();
+    }
+
+    @Override
+    public void updateCategories(Map<String, String> categoriesById) {
+        if (categoriesById.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FileRecord.class);
+        for (Map.Entry<String, String> entry : categoriesById.entrySet()) {
+            bulk.updateOne(new Query(Criteria.where("id").is(entry.getKey())), Update.update("category", entry.getValue()));
+        }
+        bulk.execute();
+    }
+
+    @Override
+    public List<FileView> findViews(FileQuery fileQuery, Set<String> properties) {
+        Query query = new Query();
+        if (fileQuery.getFileName() != null && !fileQuery.getFileName().isEmpty()) {
+            // The name is matched literally, never compiled as a pattern
+            query.addCriteria(Criteria.where("fileName").regex(Pattern.quote(fileQuery.getFileName()), "i"));
+        }
+        if (fileQuery.getCategory() != null && !fileQuery.getCategory().isEmpty()) {
+            query.addCriteria(Criteria.where("category").is(fileQuery.getCategory()));
+        }
+        if (fileQuery.getDuplicate() != null) {
+            query.addCriteria(Criteria.where("isDuplicate").is(fileQuery.getDuplicate()));
+        }
+        
+        Criteria size = Criteria.where("fileSize");
+        boolean sizeBounded = false;
+        if (fileQuery.getMinSize() != null) {
+            size = size.gte(fileQuery.getMinSize());
+            sizeBounded = true;
+        }
+        if (fileQuery.getMaxSize() != null) {
+            size = size.lte(fileQuery.getMaxSize());
+            sizeBounded = true;
+        }
+        if (sizeBounded) {
+            query.addCriteria(size);
+        }
+        
+        // The server sends only these fields, and they are decoded straight into the view
+        properties.forEach(query.fields()::include);
+        if (!properties.contains("id")) {
+            query.fields().exclude("id");
+        }
+        return mongoTemplate.query(FileRecord.class).as(FileView.class).matching(query).all();
+    }
+}
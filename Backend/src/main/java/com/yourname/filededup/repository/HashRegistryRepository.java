@@ -0,0 +1,7 @@
+package com.yourname.filededup.repository;
+
+import com.yourname.filededup.model.HashRegistryEntry;
+
+// Implemented by MongoHashRegistryRepository and, with the local profile, LocalHashRegistryRepository
+public interface HashRegistryRepository extends DocumentRepository<HashRegistryEntry>, HashRegistryRepositoryCustom {
+}
@@ -0,0 +1,24 @@
+package com.yourname.filededup.repository;
+
+import com.yourname.filededup.model.HashRegistryEntry;
+
+import java.time.Duration;
+
+public interface HashRegistryRepositoryCustom {
+
+    // One atomic upsert: adds a reference and, if the hash is new, makes recordId its keeper.
+    // Returns the entry after the update.
+    HashRegistryEntry register(String id, String fileHash, String hashAlgorithm, String recordId);
+
+    // Removes a reference and drops the entry once nothing refers to it. Returns the entry
+    // after the update, or null if there was none.
+    HashRegistryEntry release(String id);
+
+    // Compare-and-set of the keeper; false if someone else changed it first
+    boolean replaceKeeper(String id, String expectedKeeperId, String keeperId);
+
+    // Takes or renews the rebuild lease for owner; false while another instance holds it
+    boolean acquireRebuildLease(String owner, Duration lease);
+
+    void releaseRebuildLease(String owner);
+}
@@ -0,0 +1,84 @@
+package com.yourname.filededup.repository;
+
+import com.yourname.filededup.model.HashRegistryEntry;
+import com.yourname.filededup.model.MaintenanceLease;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+class HashRegistryRepositoryCustomImpl implements HashRegistryRepositoryCustom {
+
+    private static final String REBUILD_LEASE = "hash-registry-rebuild";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public HashRegistryEntry register(String id, String fileHash, String hashAlgorithm, String recordId) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+            .inc("refCount", 1)
+            .set("updatedAt", now)
+            .setOnInsert("fileHash", fileHash)
+            .setOnInsert("hashAlgorithm", hashAlgorithm)
+            .setOnInsert("keeperId", recordId)
+            .setOnInsert("createdAt", now);
+        FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(true);
+        try {
+            return mongoTemplate.findAndModify(byId(id), update, options, HashRegistryEntry.class);
+        } catch (DuplicateKeyException e) {
+            // Two first registrations of the same hash raced on the insert; the retry updates the winner's entry
+            return mongoTemplate.findAndModify(byId(id), update, options, HashRegistryEntry.class);
+        }
+    }
+
+    @Override
+    public HashRegistryEntry release(String id) {
+        Update update = new Update().inc("refCount", -1).set("updatedAt", LocalDateTime.now());
+        HashRegistryEntry entry = mongoTemplate.findAndModify(byId(id), update,
+            FindAndModifyOptions.options().returnNew(true), HashRegistryEntry.class);
+        if (entry != null && entry.getRefCount() <= 0) {
+            // Conditional, so a registration that arrived in between keeps the entry
+            mongoTemplate.remove(new Query(Criteria.where("id").is(id).and("refCount").lte(0)), HashRegistryEntry.class);
+        }
+        return entry;
+    }
+
+    @Override
+    public boolean replaceKeeper(String id, String expectedKeeperId, String keeperId) {
+        Query query = new Query(Criteria.where("id").is(id).and("keeperId").is(expectedKeeperId));
+        Update update = Update.update("keeperId", keeperId).set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.updateFirst(query, update, HashRegistryEntry.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean acquireRebuildLease(String owner, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(Criteria.where("id").is(REBUILD_LEASE).orOperator(
+            Criteria.where("owner").is(owner), Criteria.where("expiresAt").lt(now)));
+        Update update = Update.update("owner", owner).set("expiresAt", now.plus(lease));
+        try {
+            mongoTemplate.upsert(query, update, MaintenanceLease.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // The lease document exists and is held by a live owner, so the upsert tried to insert it again
+            return false;
+        }
+    }
+
+    @Override
+    public void releaseRebuildLease(String owner) {
+        mongoTemplate.remove(new Query(Criteria.where("id").is(REBUILD_LEASE).and("owner").is(owner)), MaintenanceLease.class);
+    }
+
+    private static Query byId(String id) {
+        return new Query(Criteria.where("id").is(id));
+    }
+}
@@ -0,0 +1,141 @@
+package com.yourname.filededup.repository;
+
+import com.yourname.filededup.model.DistributedScan;
+import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.model.HashRegistryEntry;
+import com.yourname.filededup.model.LogEntry;
+import com.yourname.filededup.model.ScanWorkUnit;
+import com.yourname.filededup.service.HashRegistryService;
+import com.yourname.filededup.service.LoggingService;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Creates the indexes declared on the documents and drops the ones earlier versions
+// declared. This used to happen implicitly while the repositories were set up. It
+// also fills an empty hash registry from the stored records. With
+// app.mongo.index-migration it is left to the deployment (skip, the default), runs
+// once and exits (exit) as that deployment step, or runs after startup (startup) for
+// a single instance.
+@Component
+@Profile("!local")
+public class IndexMigration {
+
+    private static final String OPERATION = "INDEX_MIGRATION";
+
+    private static final List<Class<?>> DOCUMENTS = List.of(
+        FileRecord.class, LogEntry.class, HashRegistryEntry.class, ScanWorkUnit.class, DistributedScan.class);
+
+    // Single-field log indexes, replaced by the compound ones that end in _id
+    private static final Map<Class<?>, List<String>> OBSOLETE_INDEXES = Map.of(
+        LogEntry.class, List.of("level", "timestamp"));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private HashRegistryService hashRegistryService;
+
+    @Autowired
+    private LoggingService loggingService;
+
+    @Value("${app.mongo.index-migration:skip}")
+    private String mode;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup(ApplicationReadyEvent event) {
+        if ("skip".equals(mode)) {
+            return;
+        }
+        migrate();
+        if ("exit".equals(mode)) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    public Map<String, Object> migrate() {
+        long start = System.nanoTime();
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        List<String> ensured = new ArrayList<>();
+        List<String> dropped = new ArrayList<>();
+        long duplicatePaths = 0;
+
+        for (Class<?> document : DOCUMENTS) {
+            String collection = mongoTemplate.getCollectionName(document);
+            IndexOperations indexOps = mongoTemplate.indexOps(document);
+            Set<String> existing = indexOps.getIndexInfo().stream().map(IndexInfo::getName).collect(Collectors.toSet());
+            for (String obsolete : OBSOLETE_INDEXES.getOrDefault(document, List.of())) {
+                if (existing.contains(obsolete)) {
+                    indexOps.dropIndex(obsolete);
+                    dropped.add(collection + "." + obsolete);
+                }
+            }
+            if (document == FileRecord.class && !existing.contains("filePath")) {
+                duplicatePaths = removeDuplicatePaths();
+            }
+            for (IndexDefinition index : resolver.resolveIndexFor(document)) {
+                ensured.add(collection + "." + indexOps.ensureIndex(index));
+            }
+        }
+        // Null when the registry is filled already or another instance is filling it
+        Map<String, Object> hashRegistry = hashRegistryService.rebuildIfEmpty();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        loggingService.logInfo("Indexes migrated", OPERATION,
+            "Ensured: " + ensured.size() + ", Dropped: " + dropped + ", Duplicate paths removed: " + duplicatePaths
+                + ", Hash registry rebuilt: " + (hashRegistry != null) + ", Time: " + elapsedMs + "ms");
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("ensured", ensured);
+        result.put("dropped", dropped);
+        result.put("duplicatePathsRemoved", duplicatePaths);
+        result.put("hashRegistry", hashRegistry);
+        result.put("elapsedMs", elapsedMs);
+        return result;
+    }
+
+    // Before filePath was unique, concurrent scans could store a path twice. The oldest
+    // record of each path is kept; the others give their hash reference back, so the
+    // unique index can be built.
+    private long removeDuplicatePaths() {
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.sort(Sort.by("id")),
+            Aggregation.group("filePath").push("_id").as("ids").count().as("count"),
+            Aggregation.match(Criteria.where("count").gt(1)));
+        long removed = 0;
+        for (Document group : mongoTemplate.aggregate(aggregation.withOptions(
+                Aggregation.newAggregationOptions().allowDiskUse(true).build()), FileRecord.class, Document.class)) {
+            List<String> extra = group.getList("ids", Object.class).stream().skip(1).map(Object::toString).toList();
+            for (FileRecord record : fileRepository.findAllById(extra)) {
+                fileRepository.delete(record);
+                hashRegistryService.release(record);
+                removed++;
+            }
+        }
+        return removed;
+    }
+}
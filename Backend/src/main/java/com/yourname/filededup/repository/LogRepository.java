@@ -2,15 +2,13 @@ package com.yourname.filededup.repository;
 
 import com.yourname.filededup.model.LogEntry;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
-import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
-@Repository
-public interface LogRepository extends MongoRepository<LogEntry, String> {
+// Implemented by MongoLogRepository and, with the local profile, LocalLogRepository
+public interface LogRepository extends DocumentRepository<LogEntry>, LogRepositoryCustom {
     
     List<LogEntry> findByLevel(String level);
     
@@ -29,11 +27,11 @@ public interface LogRepository extends MongoRepository<LogEntry, String> {
     @Query(value = "{}", sort = "{ 'timestamp': -1 }")
     List<LogEntry> findAllOrderByTimestampDesc(Pageable pageable);
     
-    @Query("{ 'message': { $regex: ?0, $options: 'i' } }")
-    List<LogEntry> findByMessageContainingIgnoreCase(String keyword);
-    
     long countByLevel(String level);
     
+    @Query(value = "{ 'timestamp': { $lt: ?0 } }", fields = "{ '_id': 1 }", sort = "{ 'timestamp': 1 }")
+    List<LogEntry> findIdsByTimestampBefore(LocalDateTime timestamp, Pageable pageable);
+    
     @Query(value = "{ 'timestamp': { $lt: ?0 } }", delete = true)
     void deleteByTimestampBefore(LocalDateTime timestamp);
 }
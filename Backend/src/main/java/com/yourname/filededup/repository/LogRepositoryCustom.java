@@ -0,0 +1,15 @@
+package com.yourname.filededup.repository;
+
+import com.yourname.filededup.model.LogEntry;
+import com.yourname.filededup.model.LogQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface LogRepositoryCustom {
+
+    // Newest first, ordered by (timestamp, id). Passing the last entry of a page as
+    // the "before" position continues strictly after it, so pages never overlap or
+    // skip entries even while new logs are written.
+    List<LogEntry> findPage(LogQuery query, LocalDateTime beforeTimestamp, String beforeId, int limit);
+}
@@ -0,0 +1,57 @@
+package com.yourname.filededup.repository;
+
+import com.yourname.filededup.model.LogEntry;
+import com.yourname.filededup.model.LogQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class LogRepositoryCustomImpl implements LogRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<LogEntry> findPage(LogQuery logQuery, LocalDateTime beforeTimestamp, String beforeId, int limit) {
+        Query query = new Query();
+        if (logQuery.getText() != null && !logQuery.getText().isBlank()) {
+            // Served by the message/details text index; the words are matched, never compiled as a pattern
+            query.addCriteria(TextCriteria.forDefaultLanguage().matching(logQuery.getText()));
+        }
+        if (logQuery.getLevel() != null) {
+            query.addCriteria(Criteria.where("level").is(logQuery.getLevel()));
+        }
+        if (logQuery.getOperation() != null) {
+            query.addCriteria(Criteria.where("operation").is(logQuery.getOperation()));
+        }
+        
+        Criteria timestamp = Criteria.where("timestamp");
+        boolean timeBounded = false;
+        if (logQuery.getFrom() != null) {
+            timestamp = timestamp.gte(logQuery.getFrom());
+            timeBounded = true;
+        }
+        if (logQuery.getTo() != null) {
+            timestamp = timestamp.lte(logQuery.getTo());
+            timeBounded = true;
+        }
+        if (timeBounded) {
+            query.addCriteria(timestamp);
+        }
+        
+        if (beforeTimestamp != null && beforeId != null) {
+            query.addCriteria(new Criteria().orOperator(
+                Criteria.where("timestamp").lt(beforeTimestamp),
+                Criteria.where("timestamp").is(beforeTimestamp).and("id").lt(beforeId)));
+        }
+        
+        query.with(Sort.by(Sort.Direction.DESC, "timestamp", "id")).limit(limit);
+        return mongoTemplate.find(query, LogEntry.class);
+    }
+}
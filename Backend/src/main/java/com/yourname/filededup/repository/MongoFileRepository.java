@@ -0,0 +1,11 @@
+package com.yourname.filededup.repository;
+
+import com.yourname.filededup.model.FileRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+// Spring Data implements the queries declared on FileRepository; the custom ones
+// come from FileRepositoryCustomImpl
+@Repository
+public interface MongoFileRepository extends MongoRepository<FileRecord, String>, FileRepository, FileRepositoryCustom {
+}
@@ -0,0 +1,11 @@
+package com.yourname.filededup.repository;
+
+import com.yourname.filededup.model.HashRegistryEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+// Spring Data implements the queries declared on HashRegistryRepository; the custom ones
+// come from HashRegistryRepositoryCustomImpl
+@Repository
+public interface MongoHashRegistryRepository extends MongoRepository<HashRegistryEntry, String>, HashRegistryRepository, HashRegistryRepositoryCustom {
+}
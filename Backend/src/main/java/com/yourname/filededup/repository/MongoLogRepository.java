@@ -0,0 +1,11 @@
+package com.yourname.filededup.repository;
+
+import com.yourname.filededup.model.LogEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+// Spring Data implements the queries declared on LogRepository; the custom ones
+// come from LogRepositoryCustomImpl
+@Repository
+public interface MongoLogRepository extends MongoRepository<LogEntry, String>, LogRepository, LogRepositoryCustom {
+}
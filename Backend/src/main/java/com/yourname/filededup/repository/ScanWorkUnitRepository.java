@@ -0,0 +1,16 @@
+package com.yourname.filededup.repository;
+
+import com.yourname.filededup.model.ScanWorkUnit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ScanWorkUnitRepository extends MongoRepository<ScanWorkUnit, String>, ScanWorkUnitRepositoryCustom {
+
+    List<ScanWorkUnit> findByScanId(String scanId);
+
+    long countByScanIdAndStateIn(String scanId, Collection<String> states);
+}
@@ -0,0 +1,18 @@
+package com.yourname.filededup.repository;
+
+import com.yourname.filededup.model.ScanWorkUnit;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface ScanWorkUnitRepositoryCustom {
+
+    // Atomically leases the oldest pending or expired unit to owner; empty when there is no work
+    Optional<ScanWorkUnit> claimNext(String owner, Duration lease);
+
+    // False once owner has lost the lease, e.g. after it expired and another instance claimed the unit
+    boolean renewLease(String id, String owner, Duration lease);
+
+    // Stores the final state and counters of a unit, only while owner still holds its lease
+    boolean finish(ScanWorkUnit unit, String owner);
+}
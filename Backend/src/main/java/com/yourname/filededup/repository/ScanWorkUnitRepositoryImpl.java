@@ -0,0 +1,62 @@
+package com.yourname.filededup.repository;
+
+import com.yourname.filededup.model.ScanWorkUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+class ScanWorkUnitRepositoryImpl implements ScanWorkUnitRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<ScanWorkUnit> claimNext(String owner, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(new Criteria().orOperator(
+            Criteria.where("state").is(ScanWorkUnit.State.PENDING),
+            Criteria.where("state").is(ScanWorkUnit.State.LEASED).and("leaseExpiresAt").lt(now)))
+            .with(Sort.by("createdAt"));
+        Update update = new Update()
+            .set("state", ScanWorkUnit.State.LEASED)
+            .set("owner", owner)
+            .set("leaseExpiresAt", now.plus(lease))
+            .inc("attempts", 1);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+            FindAndModifyOptions.options().returnNew(true), ScanWorkUnit.class));
+    }
+
+    @Override
+    public boolean renewLease(String id, String owner, Duration lease) {
+        Update update = Update.update("leaseExpiresAt", LocalDateTime.now().plus(lease));
+        return mongoTemplate.updateFirst(heldBy(id, owner), update, ScanWorkUnit.class).getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean finish(ScanWorkUnit unit, String owner) {
+        Update update = new Update()
+            .set("state", unit.getState())
+            .set("processedFiles", unit.getProcessedFiles())
+            .set("scannedFiles", unit.getScannedFiles())
+            .set("duplicateCount", unit.getDuplicateCount())
+            .set("errorCount", unit.getErrorCount())
+            .set("excludedFiles", unit.getExcludedFiles())
+            .set("skippedDirectories", unit.getSkippedDirectories())
+            .set("error", unit.getError())
+            .set("completedAt", LocalDateTime.now())
+            .unset("leaseExpiresAt");
+        return mongoTemplate.updateFirst(heldBy(unit.getId(), owner), update, ScanWorkUnit.class).getMatchedCount() > 0;
+    }
+
+    private static Query heldBy(String id, String owner) {
+        return new Query(Criteria.where("id").is(id).and("owner").is(owner).and("state").is(ScanWorkUnit.State.LEASED));
+    }
+}
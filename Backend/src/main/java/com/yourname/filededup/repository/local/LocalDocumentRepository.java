@@ -0,0 +1,296 @@
+package com.yourname.filededup.repository.local;
+
+import com.yourname.filededup.repository.DocumentRepository;
+import org.bson.types.ObjectId;
+import org.h2.mvstore.Cursor;
+import org.h2.mvstore.MVMap;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+// CRUD and secondary indexes over a LocalStore collection. Index entries
+// are keys of the form "<value>\0<id>" in an ordered map, so an equality lookup
+// is a prefix range scan and range queries walk the map in key order.
+public abstract class LocalDocumentRepository<T> implements DocumentRepository<T> {
+
+    protected static final char SEPARATOR = '\u0000';
+
+    protected final LocalStore localStore;
+    private final Class<T> type;
+    private final Function<T, String> idGetter;
+    private final BiConsumer<T, String> idSetter;
+    private final MVMap<String, String> documents;
+    private final Map<String, Function<T, String>> indexKeys = new HashMap<>();
+    private final Map<String, MVMap<String, String>> indexes = new HashMap<>();
+    private final Set<String> uniqueIndexes = new HashSet<>();
+
+    protected LocalDocumentRepository(LocalStore localStore, String collection, Class<T> type,
+                                      Function<T, String> idGetter, BiConsumer<T, String> idSetter) {
+        this.localStore = localStore;
+        this.type = type;
+        this.idGetter = idGetter;
+        this.idSetter = idSetter;
+        this.documents = localStore.openMap(collection);
+    }
+
+    protected void addIndex(String name, Function<T, String> key) {
+        indexKeys.put(name, key);
+        indexes.put(name, localStore.openMap(documents.getName() + "." + name));
+    }
+
+    // Saving a second document with the same value fails like a unique Mongo index
+    protected void addUniqueIndex(String name, Function<T, String> key) {
+        addIndex(name, key);
+        uniqueIndexes.add(name);
+    }
+
+    // Index lookups
+
+    protected List<T> findByIndex(String index, String value) {
+        List<T> results = new ArrayList<>();
+        for (String id : idsByIndex(index, value)) {
+            T document = load(id);
+            if (document != null) {
+                results.add(document);
+            }
+        }
+        return results;
+    }
+
+    protected List<String> idsByIndex(String index, String value) {
+        List<String> ids = new ArrayList<>();
+        if (value == null) {
+            return ids;
+        }
+        String prefix = value + SEPARATOR;
+        Iterator<String> keys = indexes.get(index).keyIterator(prefix);
+        while (keys.hasNext()) {
+            String key = keys.next();
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            ids.add(key.substring(prefix.length()));
+        }
+        return ids;
+    }
+
+    protected boolean existsByIndex(String index, String value) {
+        if (value == null) {
+            return false;
+        }
+        String prefix = value + SEPARATOR;
+        String first = indexes.get(index).ceilingKey(prefix);
+        return first != null && first.startsWith(prefix);
+    }
+
+    // Documents whose index value lies in [from, to], in index order
+    protected List<T> findByIndexRange(String index, String from, String to) {
+        return findByIndexRange(index, from, to, Integer.MAX_VALUE);
+    }
+
+    protected List<T> findByIndexRange(String index, String from, String to, int limit) {
+        List<T> results = new ArrayList<>();
+        Cursor<String, String> cursor = indexes.get(index).cursor(from);
+        while (cursor.hasNext() && results.size() < limit) {
+            String key = cursor.next();
+            int separator = key.lastIndexOf(SEPARATOR);
+            if (to != null && key.substring(0, separator).compareTo(to) > 0) {
+                break;
+            }
+            T document = load(key.substring(separator + 1));
+            if (document != null) {
+                results.add(document);
+            }
+        }
+        return results;
+    }
+
+    // Newest-first walk over an index, stopping after limit documents
+    protected List<T> findByIndexDescending(String index, long offset, int limit) {
+        List<T> results = new ArrayList<>();
+        MVMap<String, String> map = indexes.get(index);
+        String key = map.lastKey();
+        long skipped = 0;
+        while (key != null && results.size() < limit) {
+            if (skipped++ >= offset) {
+                T document = load(key.substring(key.lastIndexOf(SEPARATOR) + 1));
+                if (document != null) {
+                    results.add(document);
+                }
+            }
+            key = map.lowerKey(key);
+        }
+        return results;
+    }
+
+    // Walks an index newest-first starting strictly below the given key (or from the
+    // end when it is null), keeping documents that match until limit are found
+    protected List<T> findByIndexDescending(String index, String beforeKey, Predicate<T> predicate, int limit) {
+        List<T> results = new ArrayList<>();
+        MVMap<String, String> map = indexes.get(index);
+        String key = beforeKey != null ? map.lowerKey(beforeKey) : map.lastKey();
+        while (key != null && results.size() < limit) {
+            T document = load(key.substring(key.lastIndexOf(SEPARATOR) + 1));
+            if (document != null && predicate.test(document)) {
+                results.add(document);
+            }
+            key = map.lowerKey(key);
+        }
+        return results;
+    }
+
+    protected List<T> filter(Predicate<T> predicate) {
+        List<T> results = new ArrayList<>();
+        for (String json : documents.values()) {
+            T document = localStore.fromJson(json, type);
+            if (predicate.test(document)) {
+                results.add(document);
+            }
+        }
+        return results;
+    }
+
+    // Decodes documents lazily while the caller consumes the stream
+    protected Stream<T> streamDocuments() {
+        return documents.values().stream().map(json -> localStore.fromJson(json, type));
+    }
+
+    // Decodes documents lazily in index order; documents without a value for the index are not in it
+    protected Stream<T> streamByIndex(String index) {
+        return indexes.get(index).keySet().stream()
+            .map(key -> load(key.substring(key.lastIndexOf(SEPARATOR) + 1)))
+            .filter(Objects::nonNull);
+    }
+
+    protected T load(String id) {
+        String json = documents.get(id);
+        return json != null ? localStore.fromJson(json, type) : null;
+    }
+
+    // DocumentRepository
+
+    @Override
+    public synchronized <S extends T> S save(S entity) {
+        String id = idGetter.apply(entity);
+        for (String unique : uniqueIndexes) {
+            String value = indexKeys.get(unique).apply(entity);
+            for (String existingId : idsByIndex(unique, value)) {
+                if (!existingId.equals(id)) {
+                    throw new DuplicateKeyException("Duplicate " + unique + ": " + value);
+                }
+            }
+        }
+        if (id == null) {
+            id = new ObjectId().toHexString();
+            idSetter.accept(entity, id);
+        } else {
+            T previous = load(id);
+            if (previous != null) {
+                removeIndexEntries(previous, id);
+            }
+        }
+        documents.put(id, localStore.toJson(entity));
+        for (Map.Entry<String, Function<T, String>> index : indexKeys.entrySet()) {
+            String value = index.getValue().apply(entity);
+            if (value != null) {
+                indexes.get(index.getKey()).put(value + SEPARATOR + id, "");
+            }
+        }
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) {
+            saved.add(save(entity));
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        return Optional.ofNullable(load(id));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return documents.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return filter(document -> true);
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        List<T> results = new ArrayList<>();
+        for (String id : ids) {
+            findById(id).ifPresent(results::add);
+        }
+        return results;
+    }
+
+    @Override
+    public long count() {
+        return documents.sizeAsLong();
+    }
+
+    @Override
+    public synchronized void deleteById(String id) {
+        T previous = load(id);
+        if (previous != null) {
+            removeIndexEntries(previous, id);
+            documents.remove(id);
+        }
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idGetter.apply(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        for (String id : ids) {
+            deleteById(id);
+        }
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        for (T entity : entities) {
+            delete(entity);
+        }
+    }
+
+    @Override
+    public synchronized void deleteAll() {
+        documents.clear();
+        for (MVMap<String, String> index : indexes.values()) {
+            index.clear();
+        }
+    }
+
+    private void removeIndexEntries(T document, String id) {
+        for (Map.Entry<String, Function<T, String>> index : indexKeys.entrySet()) {
+            String value = index.getValue().apply(document);
+            if (value != null) {
+                indexes.get(index.getKey()).remove(value + SEPARATOR + id);
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.yourname.filededup.repository.local;
+
+import com.yourname.filededup.model.FileQuery;
+import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.model.FileView;
+import com.yourname.filededup.repository.FileRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("local")
+public class LocalFileRepository extends LocalDocumentRepository<FileRecord> implements FileRepository {
+
+    private static final String HASH = "fileHash";
+    private static final String PATH = "filePath";
+    private static final String CATEGORY = "category";
+    private static final String DUPLICATE = "isDuplicate";
+    private static final String ARCHIVE = "archivePath";
+
+    @Autowired
+    public LocalFileRepository(LocalStore localStore) {
+        super(localStore, "file_records", FileRecord.class, FileRecord::getId, FileRecord::setId);
+        addIndex(HASH, FileRecord::getFileHash);
+        addUniqueIndex(PATH, FileRecord::getFilePath);
+        addIndex(CATEGORY, FileRecord::getCategory);
+        addIndex(DUPLICATE, record -> String.valueOf(record.isDuplicate()));
+        addIndex(ARCHIVE, FileRecord::getArchivePath);
+    }
+
+    @Override
+    public List<FileRecord> findByFileHash(String fileHash) {
+        return findByIndex(HASH, fileHash);
+    }
+
+    @Override
+    public List<FileRecord> findByFileHashAndHashAlgorithmIn(String fileHash, List<String> hashAlgorithms) {
+        List<FileRecord> matches = findByIndex(HASH, fileHash);
+        matches.removeIf(record -> !hashAlgorithms.contains(record.getHashAlgorithm()));
+        return matches;
+    }
+
+    @Override
+    public List<FileRecord> findByCategory(String category) {
+        return findByIndex(CATEGORY, category);
+    }
+
+    @Override
+    public List<FileRecord> findByIsDuplicate(boolean isDuplicate) {
+        return findByIndex(DUPLICATE, String.valueOf(isDuplicate));
+    }
+
+    @Override
+    public List<FileRecord> findByFileExtension(String fileExtension) {
+        return filter(record -> fileExtension.equals(record.getFileExtension()));
+    }
+
+    @Override
+    public List<FileRecord> findByFileName(String fileName) {
+        return filter(record -> fileName.equals(record.getFileName()));
+    }
+
+    @Override
+    public List<FileRecord> findByFilePath(String filePath) {
+        return findByIndex(PATH, filePath);
+    }
+
+    @Override
+    public List<FileRecord> findByFileSizeBetween(long minSize, long maxSize) {
+        return filter(record -> record.getFileSize() >= minSize && record.getFileSize() <= maxSize);
+    }
+
+    @Override
+    public List<FileRecord> findByFileHashIn(List<String> hashes) {
+        List<FileRecord> matches = new ArrayList<>();
+        for (String hash : hashes) {
+            matches.addAll(findByIndex(HASH, hash));
+        }
+        return matches;
+    }
+
+    @Override
+    public Stream<FileRecord> streamAllBy() {
+        return streamDocuments();
+    }
+
+    @Override
+    public Stream<FileRecord> streamAllByOrderByFileHashAsc() {
+        // Like Mongo, records without a hash come first
+        return Stream.concat(streamDocuments().filter(record -> record.getFileHash() == null), streamByIndex(HASH));
+    }
+
+    @Override
+    public Stream<FileRecord> streamByFileExtension(String fileExtension) {
+        return streamDocuments().filter(record -> fileExtension.equals(record.getFileExtension()));
+    }
+
+    @Override
+    public long updateCategoryByExtension(String fileExtension, String category) {
+        List<FileRecord> changed = filter(record -> fileExtension.equals(record.getFileExtension())
+            && !category.equals(record.getCategory()));
+        for (FileRecord record : changed) {
+            record.setCategory(category);
+        }
+        saveAll(changed);
+        return changed.size();
+    }
+
+    @Override
+    public void updateCategories(Map<String, String> categoriesById) {
+        for (Map.Entry<String, String> entry : categoriesById.entrySet()) {
+            FileRecord record = load(entry.getKey());
+            if (record != null) {
+                record.setCategory(entry.getValue());
+                save(record);
+            }
+        }
+    }
+
+    @Override
+    public List<FileView> findViews(FileQuery query, Set<String> properties) {
+        String name = query.getFileName() != null && !query.getFileName().isEmpty()
+            ? query.getFileName().toLowerCase(Locale.ROOT) : null;
+        Predicate<FileRecord> matches = record ->
+            (name == null || (record.getFileName() != null && record.getFileName().toLowerCase(Locale.ROOT).contains(name)))
+                && (query.getCategory() == null || query.getCategory().isEmpty() || Objects.equals(query.getCategory(), record.getCategory()))
+                && (query.getMinSize() == null || record.getFileSize() >= query.getMinSize())
+                && (query.getMaxSize() == null || record.getFileSize() <= query.getMaxSize());
+        
+        List<FileRecord> records = query.getDuplicate() != null
+            ? findByIndex(DUPLICATE, String.valueOf(query.getDuplicate())) : findAll();
+        List<FileView> views = new ArrayList<>();
+        for (FileRecord record : records) {
+            if (matches.test(record)) {
+                views.add(FileView.of(record, properties));
+            }
+        }
+        return views;
+    }
+
+    @Override
+    public boolean existsByFileHash(String fileHash) {
+        return existsByIndex(HASH, fileHash);
+    }
+
+    @Override
+    public boolean existsByFilePath(String filePath) {
+        return existsByIndex(PATH, filePath);
+    }
+
+    @Override
+    public boolean existsByArchivePath(String archivePath) {
+        return existsByIndex(ARCHIVE, archivePath);
+    }
+
+    @Override
+    public long countByCategory(String category) {
+        return idsByIndex(CATEGORY, category).size();
+    }
+
+    @Override
+    public long countByIsDuplicate(boolean isDuplicate) {
+        return idsByIndex(DUPLICATE, String.valueOf(isDuplicate)).size();
+    }
+
+    @Override
+    public void deleteByFileHash(String fileHash) {
+        deleteAllById(idsByIndex(HASH, fileHash));
+    }
+}
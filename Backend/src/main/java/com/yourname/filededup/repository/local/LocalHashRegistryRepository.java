@@ -0,0 +1,85 @@
+package com.yourname.filededup.repository.local;
+
+import com.yourname.filededup.model.HashRegistryEntry;
+import com.yourname.filededup.repository.HashRegistryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// The read-modify-write cycles hold the repository lock that save and delete
+// also take, which makes them as atomic as the Mongo findAndModify calls.
+@Repository
+@Profile("local")
+public class LocalHashRegistryRepository extends LocalDocumentRepository<HashRegistryEntry> implements HashRegistryRepository {
+
+    // The store file is locked by a single process, so the lease only has to hold within it
+    private String rebuildLeaseOwner;
+    private LocalDateTime rebuildLeaseExpiresAt;
+
+    @Autowired
+    public LocalHashRegistryRepository(LocalStore localStore) {
+        super(localStore, "hash_registry", HashRegistryEntry.class, HashRegistryEntry::getId, HashRegistryEntry::setId);
+    }
+
+    @Override
+    public synchronized HashRegistryEntry register(String id, String fileHash, String hashAlgorithm, String recordId) {
+        HashRegistryEntry entry = load(id);
+        if (entry == null) {
+            entry = new HashRegistryEntry(id, fileHash, hashAlgorithm, recordId);
+        }
+        entry.setRefCount(entry.getRefCount() + 1);
+        entry.setUpdatedAt(LocalDateTime.now());
+        return save(entry);
+    }
+
+    @Override
+    public synchronized HashRegistryEntry release(String id) {
+        HashRegistryEntry entry = load(id);
+        if (entry == null) {
+            return null;
+        }
+        entry.setRefCount(entry.getRefCount() - 1);
+        entry.setUpdatedAt(LocalDateTime.now());
+        if (entry.getRefCount() <= 0) {
+            deleteById(id);
+        } else {
+            save(entry);
+        }
+        return entry;
+    }
+
+    @Override
+    public synchronized boolean replaceKeeper(String id, String expectedKeeperId, String keeperId) {
+        HashRegistryEntry entry = load(id);
+        if (entry == null || !Objects.equals(expectedKeeperId, entry.getKeeperId())) {
+            return false;
+        }
+        entry.setKeeperId(keeperId);
+        entry.setUpdatedAt(LocalDateTime.now());
+        save(entry);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean acquireRebuildLease(String owner, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        if (rebuildLeaseOwner != null && !rebuildLeaseOwner.equals(owner) && rebuildLeaseExpiresAt.isAfter(now)) {
+            return false;
+        }
+        rebuildLeaseOwner = owner;
+        rebuildLeaseExpiresAt = now.plus(lease);
+        return true;
+    }
+
+    @Override
+    public synchronized void releaseRebuildLease(String owner) {
+        if (owner.equals(rebuildLeaseOwner)) {
+            rebuildLeaseOwner = null;
+            rebuildLeaseExpiresAt = null;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.yourname.filededup.repository.local;
+
+import com.yourname.filededup.model.LogEntry;
+import com.yourname.filededup.model.LogQuery;
+import com.yourname.filededup.repository.LogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+@Repository
+@Profile("local")
+public class LocalLogRepository extends LocalDocumentRepository<LogEntry> implements LogRepository {
+
+    private static final String LEVEL = "level";
+    private static final String OPERATION = "operation";
+    private static final String TIMESTAMP = "timestamp";
+    private static final String EXPIRE_AT = "expireAt";
+
+    // Fixed width, so lexicographic order of index keys is chronological order
+    private static final DateTimeFormatter TIMESTAMP_KEY = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSSSSS");
+
+    @Autowired
+    public LocalLogRepository(LocalStore localStore) {
+        super(localStore, "log_entries", LogEntry.class, LogEntry::getId, LogEntry::setId);
+        addIndex(LEVEL, LogEntry::getLevel);
+        addIndex(OPERATION, LogEntry::getOperation);
+        addIndex(TIMESTAMP, entry -> timestampKey(entry.getTimestamp()));
+        addIndex(EXPIRE_AT, entry -> timestampKey(entry.getExpireAt()));
+    }
+
+    @Override
+    public List<LogEntry> findByLevel(String level) {
+        return findByIndex(LEVEL, level);
+    }
+
+    @Override
+    public List<LogEntry> findByOperation(String operation) {
+        return findByIndex(OPERATION, operation);
+    }
+
+    @Override
+    public List<LogEntry> findByTimestampBetween(LocalDateTime start, LocalDateTime end) {
+        return findByIndexRange(TIMESTAMP, timestampKey(start), timestampKey(end));
+    }
+
+    @Override
+    public List<LogEntry> findByLevelAndTimestampAfter(String level, LocalDateTime timestamp) {
+        List<LogEntry> entries = findByIndexRange(TIMESTAMP, timestampKey(timestamp), null);
+        entries.removeIf(entry -> !Objects.equals(level, entry.getLevel()));
+        return entries;
+    }
+
+    @Override
+    public List<LogEntry> findByUserId(String userId) {
+        return filter(entry -> Objects.equals(userId, entry.getUserId()));
+    }
+
+    @Override
+    public List<LogEntry> findBySessionId(String sessionId) {
+        return filter(entry -> Objects.equals(sessionId, entry.getSessionId()));
+    }
+
+    @Override
+    public List<LogEntry> findAllOrderByTimestampDesc(Pageable pageable) {
+        return findByIndexDescending(TIMESTAMP, pageable.getOffset(), pageable.getPageSize());
+    }
+
+    // Mirrors the Mongo text query loosely: an entry matches when any word of the
+    // search text occurs in its message or details, ignoring case
+    @Override
+    public List<LogEntry> findPage(LogQuery query, LocalDateTime beforeTimestamp, String beforeId, int limit) {
+        List<String> words = query.getText() == null ? List.of()
+            : Arrays.stream(query.getText().toLowerCase(Locale.ROOT).split("\\s+")).filter(word -> !word.isEmpty()).toList();
+        Predicate<LogEntry> matches = entry ->
+            (query.getLevel() == null || query.getLevel().equals(entry.getLevel()))
+                && (query.getOperation() == null || query.getOperation().equals(entry.getOperation()))
+                && (query.getFrom() == null || !entry.getTimestamp().isBefore(query.getFrom()))
+                && (query.getTo() == null || !entry.getTimestamp().isAfter(query.getTo()))
+                && (words.isEmpty() || containsAny(entry, words));
+        
+        String beforeKey = beforeTimestamp != null && beforeId != null
+            ? timestampKey(beforeTimestamp) + SEPARATOR + beforeId : null;
+        return findByIndexDescending(TIMESTAMP, beforeKey, matches, limit);
+    }
+
+    private static boolean containsAny(LogEntry entry, List<String> words) {
+        String text = ((entry.getMessage() != null ? entry.getMessage() : "") + " "
+            + (entry.getDetails() != null ? entry.getDetails() : "")).toLowerCase(Locale.ROOT);
+        return words.stream().anyMatch(text::contains);
+    }
+
+    @Override
+    public long countByLevel(String level) {
+        return idsByIndex(LEVEL, level).size();
+    }
+
+    @Override
+    public void deleteByTimestampBefore(LocalDateTime timestamp) {
+        List<LogEntry> expired = findByIndexRange(TIMESTAMP, "", timestampKey(timestamp.minusNanos(1)));
+        deleteAll(expired);
+    }
+
+    @Override
+    public List<LogEntry> findIdsByTimestampBefore(LocalDateTime timestamp, Pageable pageable) {
+        return findByIndexRange(TIMESTAMP, "", timestampKey(timestamp.minusNanos(1)), pageable.getPageSize());
+    }
+
+    // The embedded store has no TTL monitor, so expired entries are swept here
+    @Scheduled(fixedDelayString = "${app.logs.retention.local-sweep-interval-ms:60000}")
+    public void deleteExpired() {
+        List<LogEntry> expired = findByIndexRange(EXPIRE_AT, "", timestampKey(LocalDateTime.now()));
+        deleteAll(expired);
+    }
+
+    private static String timestampKey(LocalDateTime timestamp) {
+        return timestamp != null ? TIMESTAMP_KEY.format(timestamp) : null;
+    }
+}
@@ -0,0 +1,85 @@
+package com.yourname.filededup.repository.local;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Embedded B-tree store (H2 MVStore) backing the "local" profile. Documents are
+// kept as JSON in one map per collection; secondary indexes are separate ordered maps.
+@Component
+@Profile("local")
+public class LocalStore {
+
+    // Empty path keeps everything in memory, which is what the tests use
+    @Value("${app.storage.local.path:}")
+    private String storePath;
+
+    @Value("${app.storage.local.cache-size-mb:64}")
+    private int cacheSizeMb;
+
+    private MVStore store;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        // Field access keeps setters with side effects (FileRecord.setFileName) out of the round trip
+        .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+        .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+
+    @PostConstruct
+    public void open() throws IOException {
+        MVStore.Builder builder = new MVStore.Builder().cacheSize(cacheSizeMb);
+        if (storePath != null && !storePath.isBlank()) {
+            Path path = Paths.get(storePath).toAbsolutePath();
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            builder.fileName(path.toString()).compress();
+        }
+        store = builder.open();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (store != null && !store.isClosed()) {
+            store.close();
+        }
+    }
+
+    public <K, V> MVMap<K, V> openMap(String name) {
+        return store.openMap(name);
+    }
+
+    public String toJson(Object document) {
+        try {
+            return objectMapper.writeValueAsString(document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.yourname.filededup.scan;
+
+import java.util.Locale;
+
+// Archive types the scanner can read as a stream, detected by file name only
+public enum ArchiveFormat {
+
+    ZIP,
+    TAR,
+    TAR_GZIP,
+    GZIP;
+
+    // Null for anything that is not a supported archive
+    public static ArchiveFormat detect(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".zip") || name.endsWith(".jar")) {
+            return ZIP;
+        }
+        if (name.endsWith(".tar")) {
+            return TAR;
+        }
+        if (name.endsWith(".tar.gz") || name.endsWith(".tgz")) {
+            return TAR_GZIP;
+        }
+        if (name.endsWith(".gz") && name.length() > 3) {
+            return GZIP;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,297 @@
+package com.yourname.filededup.scan;
+
+import com.yourname.filededup.hash.FileHasher;
+import com.yourname.filededup.metrics.ScanMetrics;
+import com.yourname.filededup.model.FileRecord;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Enumeration;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+// Reads the files inside zip, tar and gzip archives without extracting them and
+// turns each one into a FileRecord whose path points inside the archive. Content
+// is hashed while it is decompressed, so memory use does not depend on entry size.
+// Zip entries can be opened independently and are hashed on a shared pool of
+// app.scan.archives.parallelism threads; tar and gzip are sequential streams and
+// are hashed in order on the calling thread. Archives nested in archives are
+// recorded as entries but not opened. Decompression bombs are cut off by a total
+// budget per archive and by a ratio between an entry's decompressed and compressed
+// size.
+@Component
+public class ArchiveScanner {
+
+    public static final String ENTRY_SEPARATOR = "!/";
+
+    // Small entries of repetitive content compress far better than the ratio allows
+    private static final long RATIO_GRACE_BYTES = 1024 * 1024;
+
+    @Autowired
+    private ScanMetrics scanMetrics;
+
+    @Autowired
+    private IoThrottle ioThrottle;
+
+    @Value("${app.scan.archives.enabled:false}")
+    private boolean enabledByDefault;
+
+    @Value("${app.scan.archives.parallelism:4}")
+    private int parallelism;
+
+    // Entries past this count are ignored, which bounds the work a single archive can cause
+    @Value("${app.scan.archives.max-entries:100000}")
+    private int maxEntries;
+
+    // Bytes a single archive may decompress to (0 = unlimited)
+    @Value("${app.scan.archives.max-uncompressed-bytes:10GB}")
+    private String maxUncompressedBytesSetting;
+
+    // An entry may decompress to at most this many times its compressed size (0 = unlimited).
+    // Tar.gz entries have no compressed size of their own, so the archive as a whole is bounded.
+    @Value("${app.scan.archives.max-compression-ratio:100}")
+    private int maxCompressionRatio;
+
+    private long maxUncompressedBytes;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        maxUncompressedBytes = DataSize.parse(maxUncompressedBytesSetting).toBytes();
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "archive-hash");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabledByDefault() {
+        return enabledByDefault;
+    }
+
+    public boolean isArchive(Path file) {
+        return ArchiveFormat.detect(file.getFileName().toString()) != null;
+    }
+
+    public static String entryPath(Path archive, String entryName) {
+        return archive.toAbsolutePath() + ENTRY_SEPARATOR + entryName;
+    }
+
+    // Records are handed to sink on the calling thread, in completion order. Entries whose
+    // path alreadyStored accepts are counted but not read.
+    public ExpandResult expand(Path archive, FileHasher hasher, Predicate<String> alreadyStored,
+                               Consumer<FileRecord> sink) throws IOException {
+        ArchiveFormat format = ArchiveFormat.detect(archive.getFileName().toString());
+        ExpandResult result = new ExpandResult();
+        InflationBudget budget = new InflationBudget(maxUncompressedBytes);
+        if (format == ArchiveFormat.ZIP) {
+            expandZip(archive, hasher, alreadyStored, sink, result, budget);
+        } else if (format == ArchiveFormat.GZIP) {
+            String name = archive.getFileName().toString();
+            String entryName = name.substring(0, name.length() - 3);
+            result.entries++;
+            if (alreadyStored.test(entryPath(archive, entryName))) {
+                result.existing++;
+            } else {
+                try (InputStream in = new GZIPInputStream(ioThrottle.throttle(Files.newInputStream(archive)),
+                        FileHasher.BUFFER_SIZE)) {
+                    sink.accept(hashEntry(archive, entryName, Files.getLastModifiedTime(archive), in, hasher,
+                        Files.size(archive), budget));
+                }
+            }
+        } else if (format == ArchiveFormat.TAR_GZIP) {
+            if (maxCompressionRatio > 0) {
+                budget.limit(Math.max(Files.size(archive), RATIO_GRACE_BYTES) * maxCompressionRatio);
+            }
+            expandTar(archive, format, hasher, alreadyStored, sink, result, budget);
+        } else if (format != null) {
+            expandTar(archive, format, hasher, alreadyStored, sink, result, budget);
+        }
+        return result;
+    }
+
+    private void expandZip(Path archive, FileHasher hasher, Predicate<String> alreadyStored,
+                           Consumer<FileRecord> sink, ExpandResult result, InflationBudget budget) throws IOException {
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            CompletionService<FileRecord> completion = new ExecutorCompletionService<>(executor);
+            int inFlight = 0;
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements() && result.entries < maxEntries && !budget.isExhausted()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                result.entries++;
+                if (alreadyStored.test(entryPath(archive, entry.getName()))) {
+                    result.existing++;
+                    continue;
+                }
+                completion.submit(ScanMetrics.inCurrentScanJob(() -> {
+                    // Zip entries are throttled by their decompressed size
+                    try (InputStream in = ioThrottle.throttle(zip.getInputStream(entry))) {
+                        return hashEntry(archive, entry.getName(), entry.getLastModifiedTime(), in, hasher,
+                            entry.getCompressedSize(), budget);
+                    }
+                }));
+                inFlight++;
+                // A few entries ahead of the consumer keeps every worker busy without queueing the whole archive
+                if (inFlight >= parallelism * 2) {
+                    take(completion, sink, result);
+                    inFlight--;
+                }
+            }
+            for (; inFlight > 0; inFlight--) {
+                take(completion, sink, result);
+            }
+        }
+    }
+
+    private void take(CompletionService<FileRecord> completion, Consumer<FileRecord> sink, ExpandResult result)
+            throws IOException {
+        try {
+            sink.accept(completion.take().get());
+        } catch (ExecutionException e) {
+            result.errors++;
+            result.lastError = e.getCause().getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading archive", e);
+        }
+    }
+
+    private void expandTar(Path archive, ArchiveFormat format, FileHasher hasher, Predicate<String> alreadyStored,
+                           Consumer<FileRecord> sink, ExpandResult result, InflationBudget budget) throws IOException {
+        InputStream raw = new BufferedInputStream(ioThrottle.throttle(Files.newInputStream(archive)), FileHasher.BUFFER_SIZE);
+        InputStream content = format == ArchiveFormat.TAR_GZIP ? new GZIPInputStream(raw, FileHasher.BUFFER_SIZE) : raw;
+        try (TarArchiveInputStream tar = new TarArchiveInputStream(content)) {
+            TarArchiveEntry entry;
+            while ((entry = tar.getNextTarEntry()) != null && result.entries < maxEntries) {
+                if (!entry.isFile()) {
+                    continue;
+                }
+                result.entries++;
+                if (alreadyStored.test(entryPath(archive, entry.getName()))) {
+                    // The unread content is skipped by the next getNextTarEntry
+                    result.existing++;
+                    continue;
+                }
+                sink.accept(hashEntry(archive, entry.getName(), FileTime.from(entry.getModTime().toInstant()), tar, hasher,
+                    -1, budget));
+            }
+        }
+    }
+
+    // Reads in to the end of the entry but does not close it. compressedSize is -1 when
+    // the entry has none of its own.
+    private FileRecord hashEntry(Path archive, String entryName, FileTime modified, InputStream in, FileHasher hasher,
+                                 long compressedSize, InflationBudget budget) throws IOException {
+        ioThrottle.acquireFile();
+        long start = System.nanoTime();
+        FileHasher.Digest digest = hasher.newDigest();
+        byte[] buffer = new byte[FileHasher.BUFFER_SIZE];
+        long size = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+            size += read;
+            budget.charge(read);
+            if (maxCompressionRatio > 0 && compressedSize >= 0 && size > RATIO_GRACE_BYTES
+                    && size > compressedSize * maxCompressionRatio) {
+                throw new IOException("Entry " + entryName + " decompresses to more than "
+                    + maxCompressionRatio + " times its compressed size");
+            }
+        }
+        String hash = digest.finish();
+        scanMetrics.recordHash(hasher.getAlgorithm(), size, System.nanoTime() - start);
+
+        String fileName = entryName.substring(entryName.lastIndexOf('/') + 1);
+        FileRecord record = new FileRecord(fileName, entryPath(archive, entryName), hash, size);
+        record.setHashAlgorithm(hasher.getAlgorithm());
+        record.setArchivePath(archive.toAbsolutePath().toString());
+        record.setMimeType(URLConnection.guessContentTypeFromName(fileName));
+        if (modified != null) {
+            LocalDateTime time = LocalDateTime.ofInstant(modified.toInstant(), ZoneId.systemDefault());
+            record.setCreatedDate(time);
+            record.setModifiedDate(time);
+        }
+        return record;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Decompressed bytes an archive has left, shared by the zip entries hashed in parallel
+    private static class InflationBudget {
+
+        private final AtomicLong remaining;
+
+        InflationBudget(long limit) {
+            remaining = new AtomicLong(limit > 0 ? limit : Long.MAX_VALUE);
+        }
+
+        void limit(long limit) {
+            remaining.accumulateAndGet(limit, Math::min);
+        }
+
+        boolean isExhausted() {
+            return remaining.get() < 0;
+        }
+
+        void charge(long bytes) throws IOException {
+            if (remaining.addAndGet(-bytes) < 0) {
+                throw new IOException("Archive decompresses to more than its limit");
+            }
+        }
+    }
+
+    public static class ExpandResult {
+
+        private int entries;
+        private int existing;
+        private int errors;
+        private String lastError;
+
+        public int getEntries() {
+            return entries;
+        }
+
+        public int getExisting() {
+            return existing;
+        }
+
+        public int getErrors() {
+            return errors;
+        }
+
+        public String getLastError() {
+            return lastError;
+        }
+    }
+}
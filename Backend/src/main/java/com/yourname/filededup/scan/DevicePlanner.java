@@ -0,0 +1,143 @@
+package com.yourname.filededup.scan;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Groups the files of a walk by the device they are read from and puts each group
+// in reading order. Files on a spinning disk are sorted by inode: ext4 and XFS
+// allocate inodes and their extents roughly in disk order, so reading by inode
+// keeps the head sweeping forward instead of seeking between directories. Other
+// devices keep walk order.
+public class DevicePlanner {
+
+    // Unix file keys print as "(dev=803,ino=1234)"
+    private static final Pattern DEVICE_NUMBER = Pattern.compile("dev=(\\w+)");
+    private static final Pattern INODE = Pattern.compile("ino=(\\d+)");
+
+    private static final Set<String> NETWORK_FILE_SYSTEMS = Set.of(
+        "nfs", "nfs4", "cifs", "smb3", "smbfs", "afs", "9p", "ceph", "glusterfs", "fuse.sshfs");
+
+    private final Map<Path, DeviceType> overrides;
+    private final Map<String, StorageDevice> detectedByNumber = new ConcurrentHashMap<>();
+    private final Map<String, StorageDevice> devicesByKey = new ConcurrentHashMap<>();
+
+    public DevicePlanner(Map<Path, DeviceType> overrides) {
+        this.overrides = overrides;
+    }
+
+    public List<DeviceQueue> plan(List<ScannedFile> files) {
+        Map<String, DeviceQueue> queues = new LinkedHashMap<>();
+        for (ScannedFile file : files) {
+            StorageDevice device = deviceOf(file);
+            queues.computeIfAbsent(device.getName(), name -> new DeviceQueue(name, device.getType())).getFiles().add(file);
+        }
+
+        for (DeviceQueue queue : queues.values()) {
+            if (queue.getType() == DeviceType.ROTATIONAL) {
+                // Stable sort: files without an inode keep walk order, after the rest
+                queue.getFiles().sort(Comparator.comparing(DevicePlanner::inode, Comparator.nullsLast(Comparator.naturalOrder())));
+            }
+        }
+        return new ArrayList<>(queues.values());
+    }
+
+    // The device number comes with the walk's attributes; the file store is looked up once
+    // per device number. Subvolumes and bind mounts of one disk have their own device
+    // numbers but share a store name, and so a device. A subtree with an override is a
+    // device of its own, whichever of its files is seen first.
+    public StorageDevice deviceOf(ScannedFile file) {
+        String number = deviceNumber(file);
+        Path override = overrideFor(file.getPath());
+        String key = override != null ? number + '\u0000' + override : number;
+        return devicesByKey.computeIfAbsent(key, k -> {
+            StorageDevice detected = detectedByNumber.computeIfAbsent(number, n -> detect(n, file.getPath()));
+            return override != null
+                ? new StorageDevice(detected.getName() + ":" + override, overrides.get(override)) : detected;
+        });
+    }
+
+    static Long inode(ScannedFile file) {
+        Object fileKey = file.getFileKey();
+        if (fileKey == null) {
+            return null;
+        }
+        Matcher matcher = INODE.matcher(fileKey.toString());
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : null;
+    }
+
+    private static String deviceNumber(ScannedFile file) {
+        Object fileKey = file.getFileKey();
+        if (fileKey != null) {
+            Matcher matcher = DEVICE_NUMBER.matcher(fileKey.toString());
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        // Drive letters on Windows, which has no file keys
+        Path root = file.getPath().toAbsolutePath().getRoot();
+        return root != null ? root.toString() : "";
+    }
+
+    private static StorageDevice detect(String number, Path sample) {
+        try {
+            FileStore store = Files.getFileStore(sample);
+            if (NETWORK_FILE_SYSTEMS.contains(store.type())) {
+                return new StorageDevice(store.name(), DeviceType.NETWORK);
+            }
+            return new StorageDevice(store.name(), isRotational(store.name()) ? DeviceType.ROTATIONAL : DeviceType.SOLID_STATE);
+        } catch (IOException e) {
+            return new StorageDevice(number, DeviceType.SOLID_STATE);
+        }
+    }
+
+    // Overrides apply to every file below the given path; the longest match wins
+    private Path overrideFor(Path path) {
+        if (overrides.isEmpty()) {
+            return null;
+        }
+        Path absolute = path.toAbsolutePath();
+        Path bestMatch = null;
+        for (Path prefix : overrides.keySet()) {
+            if (absolute.startsWith(prefix) && (bestMatch == null || prefix.getNameCount() > bestMatch.getNameCount())) {
+                bestMatch = prefix;
+            }
+        }
+        return bestMatch;
+    }
+
+    // Linux says per block device whether it spins. Partitions and device-mapper
+    // volumes are resolved to the device that owns the request queue. Anything that
+    // cannot be resolved is treated as solid state.
+    private static boolean isRotational(String deviceName) {
+        if (!deviceName.startsWith("/dev/")) {
+            return false;
+        }
+        try {
+            Path device = Paths.get(deviceName).toRealPath();
+            Path block = Paths.get("/sys/class/block", device.getFileName().toString());
+            if (!Files.exists(block)) {
+                return false;
+            }
+            Path flag = block.resolve("queue/rotational");
+            if (!Files.exists(flag)) {
+                flag = block.toRealPath().getParent().resolve("queue/rotational");
+            }
+            return Files.exists(flag) && "1".equals(Files.readString(flag).trim());
+        } catch (IOException | InvalidPathException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.yourname.filededup.scan;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The files of one scan that live on one device, in the order they should be read
+public class DeviceQueue {
+
+    private final String device;
+    private final DeviceType type;
+    private final List<ScannedFile> files = new ArrayList<>();
+
+    public DeviceQueue(String device, DeviceType type) {
+        this.device = device;
+        this.type = type;
+    }
+
+    public String getDevice() {
+        return device;
+    }
+
+    public DeviceType getType() {
+        return type;
+    }
+
+    public List<ScannedFile> getFiles() {
+        return files;
+    }
+}
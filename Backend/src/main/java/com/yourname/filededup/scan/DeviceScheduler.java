@@ -0,0 +1,199 @@
+package com.yourname.filededup.scan;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+// Reads the files of a scan with one set of readers per device, all devices at
+// once: solid state devices get several readers, spinning disks one reader going
+// through the files in inode order, network mounts several. A device's readers are
+// shared by every scan running at the same time, so two scans of one disk do not
+// make it seek between them.
+@Component
+public class DeviceScheduler {
+
+    @Value("${app.scan.devices.solid-state-concurrency:4}")
+    private int solidStateConcurrency;
+
+    @Value("${app.scan.devices.rotational-concurrency:1}")
+    private int rotationalConcurrency;
+
+    @Value("${app.scan.devices.network-concurrency:4}")
+    private int networkConcurrency;
+
+    // "<path>=<solid-state|rotational|network>" entries separated by ',', for devices that
+    // are detected wrongly, e.g. RAID controllers that hide the disks behind them
+    @Value("${app.scan.devices.overrides:}")
+    private String overrides;
+
+    private final ExecutorService readers = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "device-reader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, Device> devices = new ConcurrentHashMap<>();
+    private DevicePlanner planner;
+
+    @PostConstruct
+    void initPlanner() {
+        Map<Path, DeviceType> parsed = new LinkedHashMap<>();
+        for (String entry : overrides.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid device override: " + entry);
+            }
+            parsed.put(Paths.get(parts[0].trim()).toAbsolutePath(), DeviceType.parse(parts[1]));
+        }
+        planner = new DevicePlanner(parsed);
+    }
+
+    public int getConcurrency(DeviceType type) {
+        if (type == DeviceType.ROTATIONAL) {
+            return Math.max(1, rotationalConcurrency);
+        }
+        if (type == DeviceType.NETWORK) {
+            return Math.max(1, networkConcurrency);
+        }
+        return Math.max(1, solidStateConcurrency);
+    }
+
+    public DevicePlanner getPlanner() {
+        return planner;
+    }
+
+    // Hands every file to task and returns once all are done, or once keepGoing turns false.
+    // task runs on reader threads and must be thread-safe.
+    public void run(List<ScannedFile> files, BooleanSupplier keepGoing, Consumer<ScannedFile> task) {
+        List<Source> sources = new ArrayList<>();
+        for (DeviceQueue queue : planner.plan(files)) {
+            sources.add(new Source(queue.getDevice(), queue.getType(), queue.getFiles().iterator(), queue.getFiles().size()));
+        }
+        runSources(sources, keepGoing, task);
+    }
+
+    // The same for a memory-bounded scan; each device's files come off disk in inode order
+    public void run(ScanSpill spill, BooleanSupplier keepGoing, Consumer<ScannedFile> task) throws IOException {
+        List<Source> sources = new ArrayList<>();
+        for (SortedFileSpill deviceSpill : spill.getDevices()) {
+            StorageDevice device = deviceSpill.getDevice();
+            sources.add(new Source(device.getName(), device.getType(), deviceSpill.iterator(), deviceSpill.size()));
+        }
+        runSources(sources, keepGoing, task);
+    }
+
+    private void runSources(List<Source> sources, BooleanSupplier keepGoing, Consumer<ScannedFile> task) {
+        List<Future<?>> running = new ArrayList<>();
+        for (Source source : sources) {
+            Device device = devices.computeIfAbsent(source.device,
+                name -> new Device(source.type, getConcurrency(source.type)));
+            long readerCount = Math.min(device.concurrency, source.size);
+            for (int i = 0; i < readerCount; i++) {
+                running.add(readers.submit(() -> read(source.files, device, keepGoing, task)));
+            }
+        }
+
+        try {
+            for (Future<?> future : running) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            running.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            running.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public List<Map<String, Object>> getDevices() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        devices.forEach((name, device) -> {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("device", name);
+            status.put("type", device.type);
+            status.put("concurrency", device.concurrency);
+            status.put("activeReaders", device.concurrency - device.permits.availablePermits());
+            result.add(status);
+        });
+        return result;
+    }
+
+    // The readers of one device share its iterator and take the next file in turn
+    private Void read(Iterator<ScannedFile> files, Device device, BooleanSupplier keepGoing,
+                      Consumer<ScannedFile> task) throws InterruptedException {
+        while (keepGoing.getAsBoolean()) {
+            ScannedFile file;
+            synchronized (files) {
+                if (!files.hasNext()) {
+                    return null;
+                }
+                file = files.next();
+            }
+            device.permits.acquire();
+            try {
+                task.accept(file);
+            } finally {
+                device.permits.release();
+            }
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        readers.shutdownNow();
+    }
+
+    private static final class Source {
+
+        private final String device;
+        private final DeviceType type;
+        private final Iterator<ScannedFile> files;
+        private final long size;
+
+        private Source(String device, DeviceType type, Iterator<ScannedFile> files, long size) {
+            this.device = device;
+            this.type = type;
+            this.files = files;
+            this.size = size;
+        }
+    }
+
+    private static final class Device {
+
+        private final DeviceType type;
+        private final int concurrency;
+        private final Semaphore permits;
+
+        private Device(DeviceType type, int concurrency) {
+            this.type = type;
+            this.concurrency = concurrency;
+            this.permits = new Semaphore(concurrency, true);
+        }
+    }
+}
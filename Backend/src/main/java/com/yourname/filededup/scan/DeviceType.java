@@ -0,0 +1,14 @@
+package com.yourname.filededup.scan;
+
+// How a storage device should be read: how many readers it gets and whether
+// files are put in on-disk order first
+public enum DeviceType {
+    SOLID_STATE,
+    ROTATIONAL,
+    NETWORK;
+
+    // Accepts the names used in app.scan.devices.overrides, e.g. "rotational" or "solid-state"
+    public static DeviceType parse(String value) {
+        return valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+}
@@ -0,0 +1,135 @@
+package com.yourname.filededup.scan;
+
+import com.yourname.filededup.service.LoggingService;
+import com.yourname.filededup.service.RuleEngineService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Component
+public class DirectoryWalker {
+
+    @Autowired
+    private RuleEngineService ruleEngineService;
+
+    @Autowired
+    private LoggingService loggingService;
+
+    @Value("${app.scan.max-depth:10}")
+    private int maxDepth;
+
+    @Value("${app.scan.excluded-extensions:}")
+    private String excludedExtensions;
+
+    public ScanExclusions compileExclusions(Path root) {
+        Set<String> extensions = new LinkedHashSet<>(ruleEngineService.getExcludedExtensions());
+        extensions.addAll(Arrays.asList(excludedExtensions.split(",")));
+        return new ScanExclusions(root.getFileSystem(),
+            ruleEngineService.getExcludedDirectories(), extensions, ruleEngineService.getExcludedPatterns());
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public WalkResult walk(Path root) throws IOException {
+        return walk(root, maxDepth);
+    }
+
+    // depth counts levels below root: 1 visits only the files directly in root
+    public WalkResult walk(Path root, int depth) throws IOException {
+        WalkResult result = new WalkResult();
+        walk(root, depth, result, result.files::add);
+        return result;
+    }
+
+    // Hands files to sink as they are found instead of collecting them, for scans too large to hold
+    public WalkResult walk(Path root, Consumer<ScannedFile> sink) throws IOException {
+        WalkResult result = new WalkResult();
+        walk(root, maxDepth, result, sink);
+        return result;
+    }
+
+    private void walk(Path root, int depth, WalkResult result, Consumer<ScannedFile> sink) throws IOException {
+        ScanExclusions exclusions = compileExclusions(root);
+
+        Files.walkFileTree(root, EnumSet.noneOf(FileVisitOption.class), depth, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                // The scan root itself is never pruned, even if its name matches
+                if (!dir.equals(root) && exclusions.isExcludedDirectory(dir)) {
+                    result.skippedDirectories++;
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                // Directories below max depth arrive here too; they are not descended into
+                if (!attrs.isRegularFile()) {
+                    return FileVisitResult.CONTINUE;
+                }
+                if (exclusions.isExcludedFile(file)) {
+                    result.excludedFiles++;
+                } else {
+                    sink.accept(new ScannedFile(file, attrs));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                result.unreadable++;
+                loggingService.logWarn("Skipped unreadable path", "SCAN", 
+                    "Path: " + file + ", Error: " + exc.getMessage());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    // Splits the tree under root into subtrees that can be walked independently
+    // and together cover exactly what walk(root) would visit
+    public List<ScanSubtree> partition(Path root, int splitDepth) {
+        return new SubtreePartitioner(compileExclusions(root), splitDepth, maxDepth).partition(root);
+    }
+
+    public static class WalkResult {
+
+        private final List<ScannedFile> files = new ArrayList<>();
+        private int skippedDirectories;
+        private int excludedFiles;
+        private int unreadable;
+
+        public List<ScannedFile> getFiles() {
+            return files;
+        }
+
+        public int getSkippedDirectories() {
+            return skippedDirectories;
+        }
+
+        public int getExcludedFiles() {
+            return excludedFiles;
+        }
+
+        public int getUnreadable() {
+            return unreadable;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.yourname.filededup.scan;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Global limit on how fast scans read, shared by every scan running in this
+// instance. Files and bytes each go through a token bucket. Read latency is
+// tracked as a moving average; while it is above the target, the effective rates
+// are halved (down to min-factor), and they recover step by step once reads are
+// fast again, so scans yield when other workloads load the same disks.
+// Uploads are never throttled.
+@Component
+public class IoThrottle {
+
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final long ADJUST_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double RECOVERY_STEP = 0.1;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Zero means unlimited
+    @Value("${app.scan.throttle.bytes-per-second:0}")
+    private long bytesPerSecond;
+
+    @Value("${app.scan.throttle.files-per-second:0}")
+    private long filesPerSecond;
+
+    // Zero turns adaptive backoff off
+    @Value("${app.scan.throttle.latency-target-ms:0}")
+    private double latencyTargetMs;
+
+    @Value("${app.scan.throttle.min-factor:0.1}")
+    private double minFactor;
+
+    private final TokenBucket byteBucket = new TokenBucket(0);
+    private final TokenBucket fileBucket = new TokenBucket(0);
+
+    private volatile double latencyMs;
+    private volatile double factor = 1.0;
+    private long lastAdjust = System.nanoTime();
+
+    @PostConstruct
+    void init() {
+        applyRates();
+        Gauge.builder("filededup.scan.throttle.factor", () -> factor)
+            .description("Share of the configured scan I/O rate currently allowed")
+            .register(meterRegistry);
+        Gauge.builder("filededup.scan.read.latency", () -> latencyMs)
+            .description("Moving average of scan read latency per buffer")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+    }
+
+    // Applies to reads that are already running as well as new ones
+    public synchronized void setLimits(Long bytesPerSecond, Long filesPerSecond, Double latencyTargetMs) {
+        if (bytesPerSecond != null) {
+            this.bytesPerSecond = bytesPerSecond;
+        }
+        if (filesPerSecond != null) {
+            this.filesPerSecond = filesPerSecond;
+        }
+        if (latencyTargetMs != null) {
+            this.latencyTargetMs = latencyTargetMs;
+            if (latencyTargetMs <= 0) {
+                factor = 1.0;
+            }
+        }
+        applyRates();
+    }
+
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("bytesPerSecond", bytesPerSecond);
+        status.put("filesPerSecond", filesPerSecond);
+        status.put("latencyTargetMs", latencyTargetMs);
+        status.put("factor", factor);
+        status.put("effectiveBytesPerSecond", (long) byteBucket.getRate());
+        status.put("effectiveFilesPerSecond", fileBucket.getRate());
+        status.put("readLatencyMs", latencyMs);
+        return status;
+    }
+
+    public void acquireFile() throws InterruptedIOException {
+        pause(fileBucket.reserve(1));
+    }
+
+    public InputStream throttle(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                byte[] single = new byte[1];
+                return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                long start = System.nanoTime();
+                int read = super.read(buffer, offset, length);
+                recordLatency(System.nanoTime() - start);
+                if (read > 0) {
+                    pause(byteBucket.reserve(read));
+                }
+                return read;
+            }
+        };
+    }
+
+    private void recordLatency(long nanos) {
+        if (latencyTargetMs <= 0) {
+            return;
+        }
+        double millis = nanos / 1_000_000.0;
+        latencyMs = latencyMs == 0 ? millis : latencyMs + LATENCY_SMOOTHING * (millis - latencyMs);
+
+        long now = System.nanoTime();
+        synchronized (this) {
+            if (now - lastAdjust < ADJUST_INTERVAL_NANOS) {
+                return;
+            }
+            lastAdjust = now;
+            double adjusted = latencyMs > latencyTargetMs
+                ? Math.max(minFactor, factor / 2)
+                : Math.min(1.0, factor + RECOVERY_STEP);
+            if (adjusted != factor) {
+                factor = adjusted;
+                applyRates();
+            }
+        }
+    }
+
+    private synchronized void applyRates() {
+        byteBucket.setRate(bytesPerSecond * factor);
+        fileBucket.setRate(filesPerSecond * factor);
+    }
+
+    private static void pause(long nanos) throws InterruptedIOException {
+        if (nanos <= 0) {
+            return;
+        }
+        LockSupport.parkNanos(nanos);
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Interrupted while throttled");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.yourname.filededup.scan;
+
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Exclusion rules compiled once per scan. Matching only looks at the file name,
+// so nothing is opened or stat'ed to decide whether an entry is skipped.
+public final class ScanExclusions {
+
+    private final Set<String> directoryNames = new HashSet<>();
+    private final List<PathMatcher> directoryMatchers = new ArrayList<>();
+    private final Set<String> extensions = new HashSet<>();
+    private final List<PathMatcher> nameMatchers = new ArrayList<>();
+
+    public ScanExclusions(FileSystem fileSystem, Collection<String> directories,
+                          Collection<String> extensions, Collection<String> patterns) {
+        for (String directory : directories) {
+            if (isGlob(directory)) {
+                directoryMatchers.add(fileSystem.getPathMatcher("glob:" + directory));
+            } else if (!directory.isBlank()) {
+                directoryNames.add(directory.trim());
+            }
+        }
+        for (String extension : extensions) {
+            String normalized = extension.trim().toLowerCase(Locale.ROOT);
+            if (normalized.startsWith(".")) {
+                normalized = normalized.substring(1);
+            }
+            if (!normalized.isEmpty()) {
+                this.extensions.add(normalized);
+            }
+        }
+        for (String pattern : patterns) {
+            if (!pattern.isBlank()) {
+                nameMatchers.add(fileSystem.getPathMatcher("glob:" + pattern.trim()));
+            }
+        }
+    }
+
+    public boolean isExcludedDirectory(Path directory) {
+        Path name = directory.getFileName();
+        if (name == null) {
+            return false;
+        }
+        if (directoryNames.contains(name.toString())) {
+            return true;
+        }
+        return matchesAny(directoryMatchers, name) || matchesAny(nameMatchers, name);
+    }
+
+    public boolean isExcludedFile(Path file) {
+        Path name = file.getFileName();
+        if (name == null) {
+            return false;
+        }
+        String fileName = name.toString();
+        int lastDotIndex = fileName.lastIndexOf('.');
+        if (lastDotIndex > 0 && lastDotIndex < fileName.length() - 1
+                && extensions.contains(fileName.substring(lastDotIndex + 1).toLowerCase(Locale.ROOT))) {
+            return true;
+        }
+        return matchesAny(nameMatchers, name);
+    }
+
+    private static boolean matchesAny(List<PathMatcher> matchers, Path name) {
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isGlob(String value) {
+        for (char c : value.toCharArray()) {
+            if (c == '*' || c == '?' || c == '[' || c == '{') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
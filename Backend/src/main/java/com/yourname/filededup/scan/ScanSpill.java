@@ -0,0 +1,61 @@
+package com.yourname.filededup.scan;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// The files found by a memory-bounded scan, kept on local disk instead of the heap:
+// one sorted spill per device, so each device can still be read by its own readers.
+// Closing deletes everything written.
+public class ScanSpill implements Closeable {
+
+    private final DevicePlanner planner;
+    private final Path directory;
+    private final int runSize;
+    private final Map<String, SortedFileSpill> devices = new LinkedHashMap<>();
+    private long size;
+
+    public ScanSpill(DevicePlanner planner, Path parentDirectory, int runSize) throws IOException {
+        this.planner = planner;
+        this.directory = Files.createTempDirectory(Files.createDirectories(parentDirectory), "scan-spill-");
+        this.runSize = runSize;
+    }
+
+    public void add(ScannedFile file) throws IOException {
+        StorageDevice device = planner.deviceOf(file);
+        SortedFileSpill spill = devices.get(device.getName());
+        if (spill == null) {
+            spill = new SortedFileSpill(device, directory.resolve("device-" + devices.size()), runSize);
+            devices.put(device.getName(), spill);
+        }
+        spill.add(file);
+        size++;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public List<SortedFileSpill> getDevices() {
+        return new ArrayList<>(devices.values());
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (SortedFileSpill spill : devices.values()) {
+            spill.close();
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.yourname.filededup.scan;
+
+import java.nio.file.Path;
+
+// One independently walkable piece of a scan: the files below directory, down to
+// depth levels. A depth of 1 covers only the files directly in the directory.
+public class ScanSubtree {
+
+    private final Path directory;
+    private final int depth;
+
+    public ScanSubtree(Path directory, int depth) {
+        this.directory = directory;
+        this.depth = depth;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    @Override
+    public String toString() {
+        return directory + " (depth " + depth + ")";
+    }
+}
@@ -0,0 +1,31 @@
+package com.yourname.filededup.scan;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+// A regular file found by the walker, together with the attributes the walk
+// already read, so later stages never stat the file again.
+public class ScannedFile {
+
+    private final Path path;
+    private final BasicFileAttributes attributes;
+
+    public ScannedFile(Path path, BasicFileAttributes attributes) {
+        this.path = path;
+        this.attributes = attributes;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public BasicFileAttributes getAttributes() {
+        return attributes;
+    }
+
+    // Device and inode on Unix; equal keys mean the paths are hard links to the same data.
+    // Null where the file system does not expose a stable key.
+    public Object getFileKey() {
+        return attributes.fileKey();
+    }
+}
@@ -0,0 +1,389 @@
+package com.yourname.filededup.scan;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+// External sort of one device's scanned files by inode, for scans too large to hold in
+// memory. Files are buffered up to runSize and then written out as a sorted run;
+// reading merges the runs, at most MERGE_FACTOR at a time, so memory stays the same
+// however many files there are. Paths are front-coded: a record stores only the bytes
+// that differ from the previous path in its run, which for files of one directory is
+// little more than the file name.
+public class SortedFileSpill implements Closeable {
+
+    private static final int MERGE_FACTOR = 64;
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    // By inode, files without one after the rest in walk order
+    private static final Comparator<Record> READ_ORDER = Comparator
+        .comparing((Record record) -> record.inode < 0)
+        .thenComparingLong(record -> record.inode)
+        .thenComparingLong(record -> record.sequence);
+
+    private final StorageDevice device;
+    private final Path directory;
+    private final int runSize;
+    private final List<Record> buffer = new ArrayList<>();
+    private final List<Run> runs = new ArrayList<>();
+    private final List<RunReader> openReaders = new ArrayList<>();
+    private FileSystem fileSystem;
+    private long sequence;
+
+    public SortedFileSpill(StorageDevice device, Path directory, int runSize) throws IOException {
+        this.device = device;
+        this.directory = Files.createDirectories(directory);
+        this.runSize = Math.max(1, runSize);
+    }
+
+    public StorageDevice getDevice() {
+        return device;
+    }
+
+    public long size() {
+        return sequence;
+    }
+
+    public void add(ScannedFile file) throws IOException {
+        if (fileSystem == null) {
+            fileSystem = file.getPath().getFileSystem();
+        }
+        BasicFileAttributes attributes = file.getAttributes();
+        Object fileKey = file.getFileKey();
+        Long inode = DevicePlanner.inode(file);
+        buffer.add(new Record(file.getPath().toString(), inode != null ? inode : -1, sequence++,
+            attributes.size(), attributes.lastModifiedTime().toMillis(), attributes.creationTime().toMillis(),
+            fileKey != null ? fileKey.toString() : null));
+        if (buffer.size() >= runSize) {
+            flush();
+        }
+    }
+
+    // Files come back in read order. Nothing may be added once reading has started.
+    public Iterator<ScannedFile> iterator() throws IOException {
+        flush();
+        while (runs.size() > MERGE_FACTOR) {
+            List<Run> merged = new ArrayList<>(runs.subList(0, MERGE_FACTOR));
+            runs.subList(0, MERGE_FACTOR).clear();
+            runs.add(merge(merged));
+        }
+
+        List<RunReader> readers = new ArrayList<>();
+        for (Run run : runs) {
+            readers.add(open(run));
+        }
+        Iterator<Record> records = mergedRecords(readers);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return records.hasNext();
+            }
+
+            @Override
+            public ScannedFile next() {
+                Record record = records.next();
+                return new ScannedFile(fileSystem.getPath(record.path), new SpilledAttributes(record));
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (RunReader reader : openReaders) {
+            reader.close();
+        }
+        openReaders.clear();
+        for (Run run : runs) {
+            Files.deleteIfExists(run.file);
+        }
+        runs.clear();
+        buffer.clear();
+    }
+
+    private void flush() throws IOException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        buffer.sort(READ_ORDER);
+        Run run = newRun();
+        try (RunWriter writer = new RunWriter(run)) {
+            for (Record record : buffer) {
+                writer.write(record);
+            }
+        }
+        runs.add(run);
+        buffer.clear();
+    }
+
+    private Run merge(List<Run> inputs) throws IOException {
+        List<RunReader> readers = new ArrayList<>();
+        for (Run input : inputs) {
+            readers.add(open(input));
+        }
+        Run merged = newRun();
+        try (RunWriter writer = new RunWriter(merged)) {
+            Iterator<Record> records = mergedRecords(readers);
+            while (records.hasNext()) {
+                writer.write(records.next());
+            }
+        }
+        for (RunReader reader : readers) {
+            reader.close();
+            openReaders.remove(reader);
+        }
+        for (Run input : inputs) {
+            Files.delete(input.file);
+        }
+        return merged;
+    }
+
+    private Run newRun() {
+        return new Run(directory.resolve("run-" + runs.size() + "-" + System.nanoTime()));
+    }
+
+    private RunReader open(Run run) throws IOException {
+        RunReader reader = new RunReader(run);
+        openReaders.add(reader);
+        return reader;
+    }
+
+    private static Iterator<Record> mergedRecords(List<RunReader> readers) throws IOException {
+        PriorityQueue<RunReader> heads = new PriorityQueue<>(Math.max(1, readers.size()),
+            Comparator.comparing(reader -> reader.current, READ_ORDER));
+        for (RunReader reader : readers) {
+            if (reader.advance()) {
+                heads.add(reader);
+            }
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public Record next() {
+                RunReader reader = heads.poll();
+                if (reader == null) {
+                    throw new NoSuchElementException();
+                }
+                Record record = reader.current;
+                try {
+                    if (reader.advance()) {
+                        heads.add(reader);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return record;
+            }
+        };
+    }
+
+    private static final class Record {
+
+        private final String path;
+        private final long inode;
+        private final long sequence;
+        private final long size;
+        private final long modifiedMillis;
+        private final long createdMillis;
+        private final String fileKey;
+
+        private Record(String path, long inode, long sequence, long size, long modifiedMillis, long createdMillis,
+                       String fileKey) {
+            this.path = path;
+            this.inode = inode;
+            this.sequence = sequence;
+            this.size = size;
+            this.modifiedMillis = modifiedMillis;
+            this.createdMillis = createdMillis;
+            this.fileKey = fileKey;
+        }
+    }
+
+    private static final class Run {
+
+        private final Path file;
+        private long records;
+
+        private Run(Path file) {
+            this.file = file;
+        }
+    }
+
+    private static final class RunWriter implements Closeable {
+
+        private final Run run;
+        private final DataOutputStream out;
+        private byte[] previousPath = new byte[0];
+
+        private RunWriter(Run run) throws IOException {
+            this.run = run;
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run.file), STREAM_BUFFER_SIZE));
+        }
+
+        private void write(Record record) throws IOException {
+            byte[] path = record.path.getBytes(StandardCharsets.UTF_8);
+            int shared = Arrays.mismatch(previousPath, path);
+            if (shared < 0) {
+                shared = path.length;
+            }
+            writeVarInt(shared);
+            writeVarInt(path.length - shared);
+            out.write(path, shared, path.length - shared);
+            previousPath = path;
+
+            out.writeLong(record.inode);
+            out.writeLong(record.sequence);
+            out.writeLong(record.size);
+            out.writeLong(record.modifiedMillis);
+            out.writeLong(record.createdMillis);
+            out.writeBoolean(record.fileKey != null);
+            if (record.fileKey != null) {
+                out.writeUTF(record.fileKey);
+            }
+            run.records++;
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static final class RunReader implements Closeable {
+
+        private final DataInputStream in;
+        private long remaining;
+        private byte[] previousPath = new byte[0];
+        private Record current;
+
+        private RunReader(Run run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.file), STREAM_BUFFER_SIZE));
+            this.remaining = run.records;
+        }
+
+        private boolean advance() throws IOException {
+            if (remaining == 0) {
+                current = null;
+                close();
+                return false;
+            }
+            remaining--;
+            int shared = readVarInt();
+            int suffixLength = readVarInt();
+            byte[] path = Arrays.copyOf(previousPath, shared + suffixLength);
+            in.readFully(path, shared, suffixLength);
+            previousPath = path;
+
+            long inode = in.readLong();
+            long sequence = in.readLong();
+            long size = in.readLong();
+            long modifiedMillis = in.readLong();
+            long createdMillis = in.readLong();
+            String fileKey = in.readBoolean() ? in.readUTF() : null;
+            current = new Record(new String(path, StandardCharsets.UTF_8), inode, sequence, size,
+                modifiedMillis, createdMillis, fileKey);
+            return true;
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = in.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    // What later stages read from a file's attributes, restored from the spill. The file
+    // key is carried as its string form, which is all they compare and parse.
+    private static final class SpilledAttributes implements BasicFileAttributes {
+
+        private final Record record;
+
+        private SpilledAttributes(Record record) {
+            this.record = record;
+        }
+
+        @Override
+        public FileTime lastModifiedTime() {
+            return FileTime.fromMillis(record.modifiedMillis);
+        }
+
+        @Override
+        public FileTime lastAccessTime() {
+            return FileTime.fromMillis(record.modifiedMillis);
+        }
+
+        @Override
+        public FileTime creationTime() {
+            return FileTime.fromMillis(record.createdMillis);
+        }
+
+        @Override
+        public boolean isRegularFile() {
+            return true;
+        }
+
+        @Override
+        public boolean isDirectory() {
+            return false;
+        }
+
+        @Override
+        public boolean isSymbolicLink() {
+            return false;
+        }
+
+        @Override
+        public boolean isOther() {
+            return false;
+        }
+
+        @Override
+        public long size() {
+            return record.size;
+        }
+
+        @Override
+        public Object fileKey() {
+            return record.fileKey;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.yourname.filededup.scan;
+
+// A device files are read from: its file store name, e.g. /dev/sda1 or server:/export, and type
+public class StorageDevice {
+
+    private final String name;
+    private final DeviceType type;
+
+    public StorageDevice(String name, DeviceType type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DeviceType getType() {
+        return type;
+    }
+}
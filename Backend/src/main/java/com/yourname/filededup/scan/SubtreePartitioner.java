@@ -0,0 +1,63 @@
+package com.yourname.filededup.scan;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+
+// Cuts a scan into subtrees for distributed work units. Directories above the
+// split depth contribute a files-only unit and are descended into; directories at
+// the split depth become one unit for everything below them. Pruning and depth
+// limits match DirectoryWalker, so the units cover the same files as one walk.
+public class SubtreePartitioner {
+
+    private final ScanExclusions exclusions;
+    private final int splitDepth;
+    private final int maxDepth;
+
+    public SubtreePartitioner(ScanExclusions exclusions, int splitDepth, int maxDepth) {
+        this.exclusions = exclusions;
+        this.splitDepth = splitDepth;
+        this.maxDepth = maxDepth;
+    }
+
+    public List<ScanSubtree> partition(Path root) {
+        List<ScanSubtree> subtrees = new ArrayList<>();
+        partition(root, 0, subtrees);
+        return subtrees;
+    }
+
+    private void partition(Path directory, int level, List<ScanSubtree> subtrees) {
+        int remaining = maxDepth - level;
+        if (level >= splitDepth || remaining <= 1) {
+            subtrees.add(new ScanSubtree(directory, remaining));
+            return;
+        }
+
+        List<Path> children = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                // Symbolic links are not followed, as in the walker
+                BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class,
+                    LinkOption.NOFOLLOW_LINKS);
+                if (attributes.isDirectory() && !exclusions.isExcludedDirectory(entry)) {
+                    children.add(entry);
+                }
+            }
+        } catch (IOException e) {
+            // Leave the whole subtree to one walk, which reports what it cannot read
+            subtrees.add(new ScanSubtree(directory, remaining));
+            return;
+        }
+
+        subtrees.add(new ScanSubtree(directory, 1));
+        children.sort(null);
+        for (Path child : children) {
+            partition(child, level + 1, subtrees);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.yourname.filededup.scan;
+
+import java.util.function.LongSupplier;
+
+// Rate limiter that hands out permits (bytes or files) at a fixed rate, with up to
+// one second's worth saved up as burst. reserve() never blocks; it returns how long
+// the caller has to wait, so permits taken by concurrent callers queue up in order.
+// A rate of zero or less means unlimited.
+public class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final LongSupplier clock;
+    private double rate;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    public TokenBucket(double permitsPerSecond, LongSupplier clock) {
+        this.clock = clock;
+        this.rate = permitsPerSecond;
+        this.tokens = Math.max(permitsPerSecond, 0);
+        this.lastRefill = clock.getAsLong();
+    }
+
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    public synchronized void setRate(double permitsPerSecond) {
+        refill();
+        rate = permitsPerSecond;
+        if (rate > 0) {
+            tokens = Math.min(tokens, rate);
+        }
+    }
+
+    // Takes permits now and returns the nanoseconds to wait before using them
+    public synchronized long reserve(long permits) {
+        if (rate <= 0) {
+            return 0;
+        }
+        refill();
+        tokens -= permits;
+        return tokens >= 0 ? 0 : (long) (-tokens / rate * NANOS_PER_SECOND);
+    }
+
+    private void refill() {
+        long now = clock.getAsLong();
+        if (rate > 0) {
+            tokens = Math.min(rate, tokens + (now - lastRefill) * rate / NANOS_PER_SECOND);
+        }
+        lastRefill = now;
+    }
+}
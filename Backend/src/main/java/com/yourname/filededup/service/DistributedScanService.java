@@ -0,0 +1,340 @@
+package com.yourname.filededup.service;
+
+import com.yourname.filededup.events.LiveEventHub;
+import com.yourname.filededup.metrics.ScanMetrics;
+import com.yourname.filededup.model.DistributedScan;
+import com.yourname.filededup.model.ScanWorkUnit;
+import com.yourname.filededup.repository.DistributedScanRepository;
+import com.yourname.filededup.repository.ScanWorkUnitRepository;
+import com.yourname.filededup.scan.ArchiveScanner;
+import com.yourname.filededup.scan.DirectoryWalker;
+import com.yourname.filededup.scan.ScanSubtree;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+// Runs one scan across every instance that shares the MongoDB database and can see
+// the scanned mount. The starting instance splits the tree into scan_work_units;
+// all instances claim units with leases, renew them with heartbeats, and pick up
+// units whose owner stopped renewing. Records are written to file_records exactly
+// as a single-node scan writes them, and paths already stored are skipped, so a
+// reclaimed unit only processes what its previous owner did not get to.
+@Service
+@Profile("!local")
+public class DistributedScanService {
+
+    private static final String OPERATION = "SCAN";
+    private static final List<String> OPEN_STATES = List.of(ScanWorkUnit.State.PENDING, ScanWorkUnit.State.LEASED);
+
+    @Autowired
+    private ScanWorkUnitRepository workUnitRepository;
+
+    @Autowired
+    private DistributedScanRepository scanRepository;
+
+    @Autowired
+    private FileService fileService;
+
+    @Autowired
+    private DirectoryWalker directoryWalker;
+
+    @Autowired
+    private ArchiveScanner archiveScanner;
+
+    @Autowired
+    private ScanMetrics scanMetrics;
+
+    @Autowired
+    private LoggingService loggingService;
+
+    @Autowired
+    private LiveEventHub liveEventHub;
+
+    // Instances with this off can start distributed scans but never claim units
+    @Value("${app.scan.distributed.worker-enabled:true}")
+    private boolean workerEnabled;
+
+    @Value("${app.scan.distributed.workers:2}")
+    private int workers;
+
+    // Directories at this depth below the scan root become one unit each
+    @Value("${app.scan.distributed.split-depth:2}")
+    private int splitDepth;
+
+    @Value("${app.scan.distributed.lease:60s}")
+    private String leaseSetting;
+
+    // A unit whose lease ran out this many times is marked failed instead of being retried
+    @Value("${app.scan.distributed.max-attempts:3}")
+    private int maxAttempts;
+
+    private final String instanceId = createInstanceId();
+    private final Map<String, ActiveUnit> activeUnits = new ConcurrentHashMap<>();
+
+    private Duration lease;
+    private Semaphore freeWorkers;
+    private ExecutorService executor;
+    private volatile boolean stopping;
+
+    @PostConstruct
+    void init() {
+        lease = DurationStyle.detectAndParse(leaseSetting);
+        freeWorkers = new Semaphore(workers);
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "scan-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Map<String, Object> start(String directoryPath) {
+        Path root = Paths.get(directoryPath).toAbsolutePath().normalize();
+        if (!Files.isDirectory(root)) {
+            throw new IllegalArgumentException("Invalid directory path: " + directoryPath);
+        }
+
+        List<ScanSubtree> subtrees = directoryWalker.partition(root, splitDepth);
+        DistributedScan scan = scanRepository.save(new DistributedScan(root.toString(), subtrees.size(), instanceId));
+        List<ScanWorkUnit> units = new ArrayList<>();
+        for (ScanSubtree subtree : subtrees) {
+            units.add(new ScanWorkUnit(scan.getId(), subtree.getDirectory().toString(), subtree.getDepth()));
+        }
+        workUnitRepository.saveAll(units);
+
+        loggingService.logInfo("Distributed scan started", OPERATION,
+            "Scan: " + scan.getId() + ", Directory: " + root + ", Units: " + units.size() + ", Instance: " + instanceId);
+        publishProgress(scan.getId(), root.toString(), "started", Map.of("totalUnits", units.size()));
+
+        pollForWork();
+        return getScan(scan.getId());
+    }
+
+    public Map<String, Object> getScan(String scanId) {
+        DistributedScan scan = scanRepository.findById(scanId)
+            .orElseThrow(() -> new IllegalArgumentException("Unknown distributed scan: " + scanId));
+        List<ScanWorkUnit> units = workUnitRepository.findByScanId(scanId);
+
+        Map<String, Integer> unitsByState = new LinkedHashMap<>();
+        Map<String, Integer> unitsByOwner = new LinkedHashMap<>();
+        int processed = 0;
+        int scanned = 0;
+        int duplicates = 0;
+        int errors = 0;
+        for (ScanWorkUnit unit : units) {
+            unitsByState.merge(unit.getState(), 1, Integer::sum);
+            if (unit.getOwner() != null) {
+                unitsByOwner.merge(unit.getOwner(), 1, Integer::sum);
+            }
+            processed += unit.getProcessedFiles();
+            scanned += unit.getScannedFiles();
+            duplicates += unit.getDuplicateCount();
+            errors += unit.getErrorCount();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scanId", scan.getId());
+        result.put("directory", scan.getDirectory());
+        result.put("state", scan.getState());
+        result.put("startedBy", scan.getStartedBy());
+        result.put("startedAt", scan.getStartedAt());
+        result.put("completedAt", scan.getCompletedAt());
+        result.put("totalUnits", scan.getTotalUnits());
+        result.put("unitsByState", unitsByState);
+        result.put("unitsByInstance", unitsByOwner);
+        result.put("processedFiles", processed);
+        result.put("scannedFiles", scanned);
+        result.put("duplicateCount", duplicates);
+        result.put("errorCount", errors);
+        return result;
+    }
+
+    public List<Map<String, Object>> getRecentScans() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (DistributedScan scan : scanRepository.findTop20ByOrderByStartedAtDesc()) {
+            result.add(getScan(scan.getId()));
+        }
+        return result;
+    }
+
+    public Map<String, Object> getWorkerStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("instanceId", instanceId);
+        status.put("workerEnabled", workerEnabled);
+        status.put("workers", workers);
+        status.put("activeUnits", new ArrayList<>(activeUnits.keySet()));
+        return status;
+    }
+
+    // Picks up units of scans started on any instance; a worker that finishes a unit
+    // claims the next one straight away, so this only matters while workers are idle
+    @Scheduled(fixedDelayString = "${app.scan.distributed.poll-interval-ms:5000}")
+    public void pollForWork() {
+        if (!workerEnabled || stopping) {
+            return;
+        }
+        while (freeWorkers.tryAcquire()) {
+            Optional<ScanWorkUnit> unit = claim();
+            if (unit.isEmpty()) {
+                freeWorkers.release();
+                return;
+            }
+            executor.execute(() -> work(unit.get()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.scan.distributed.heartbeat-interval-ms:15000}")
+    public void renewLeases() {
+        for (ActiveUnit active : activeUnits.values()) {
+            if (!workUnitRepository.renewLease(active.unit.getId(), instanceId, lease)) {
+                active.lost = true;
+            }
+        }
+    }
+
+    private void work(ScanWorkUnit first) {
+        try {
+            ScanWorkUnit unit = first;
+            while (unit != null && !stopping) {
+                process(unit);
+                unit = claim().orElse(null);
+            }
+        } catch (Exception e) {
+            loggingService.logError("Scan worker stopped", OPERATION, "Instance: " + instanceId + ", Error: " + e.getMessage());
+        } finally {
+            freeWorkers.release();
+        }
+    }
+
+    private Optional<ScanWorkUnit> claim() {
+        while (true) {
+            Optional<ScanWorkUnit> claimed = workUnitRepository.claimNext(instanceId, lease);
+            if (claimed.isEmpty() || claimed.get().getAttempts() <= maxAttempts) {
+                return claimed;
+            }
+            // Every earlier owner stopped heartbeating while holding this unit
+            ScanWorkUnit unit = claimed.get();
+            unit.setState(ScanWorkUnit.State.FAILED);
+            unit.setError("Lease expired " + (unit.getAttempts() - 1) + " times");
+            workUnitRepository.finish(unit, instanceId);
+            loggingService.logError("Distributed scan unit abandoned", OPERATION,
+                "Scan: " + unit.getScanId() + ", Directory: " + unit.getDirectory() + ", Attempts: " + maxAttempts);
+            completeIfDone(unit.getScanId());
+        }
+    }
+
+    private void process(ScanWorkUnit unit) {
+        ActiveUnit active = new ActiveUnit(unit);
+        activeUnits.put(unit.getId(), active);
+        try (ScanMetrics.ScanJob scanJob = scanMetrics.startScanJob()) {
+            DirectoryWalker.WalkResult walkResult = directoryWalker.walk(Paths.get(unit.getDirectory()), unit.getDepth());
+            FileService.ScanTally tally = fileService.processScannedFiles(walkResult.getFiles(), scanJob,
+                archiveScanner.isEnabledByDefault(), () -> !active.lost && !stopping, progress -> { });
+            if (active.lost || stopping) {
+                // Another instance owns the unit now, or will once the lease runs out
+                loggingService.logWarn("Distributed scan unit released", OPERATION,
+                    "Scan: " + unit.getScanId() + ", Directory: " + unit.getDirectory() + ", Processed: " + tally.getProcessed());
+                return;
+            }
+
+            unit.setState(ScanWorkUnit.State.DONE);
+            unit.setProcessedFiles(tally.getProcessed());
+            unit.setScannedFiles(tally.getSavedCount());
+            unit.setDuplicateCount(tally.getDuplicateCount());
+            unit.setErrorCount(tally.getErrorCount());
+            unit.setExcludedFiles(walkResult.getExcludedFiles());
+            unit.setSkippedDirectories(walkResult.getSkippedDirectories());
+            scanJob.completed();
+        } catch (Exception e) {
+            unit.setState(ScanWorkUnit.State.FAILED);
+            unit.setError(e.getMessage());
+            loggingService.logError("Distributed scan unit failed", OPERATION,
+                "Scan: " + unit.getScanId() + ", Directory: " + unit.getDirectory() + ", Error: " + e.getMessage());
+        } finally {
+            activeUnits.remove(unit.getId());
+        }
+
+        if (workUnitRepository.finish(unit, instanceId)) {
+            publishProgress(unit.getScanId(), unit.getDirectory(), "running", Map.of(
+                "unitId", unit.getId(),
+                "unitState", unit.getState(),
+                "processed", unit.getProcessedFiles(),
+                "duplicateCount", unit.getDuplicateCount(),
+                "errorCount", unit.getErrorCount()));
+            completeIfDone(unit.getScanId());
+        }
+    }
+
+    private void completeIfDone(String scanId) {
+        if (workUnitRepository.countByScanIdAndStateIn(scanId, OPEN_STATES) > 0 || !scanRepository.markCompleted(scanId)) {
+            return;
+        }
+        Map<String, Object> summary = getScan(scanId);
+        loggingService.logInfo("Distributed scan completed", OPERATION,
+            "Scan: " + scanId + ", Processed: " + summary.get("processedFiles") + " files, Duplicates: "
+                + summary.get("duplicateCount") + ", Units: " + summary.get("unitsByState"));
+        publishProgress(scanId, (String) summary.get("directory"), "completed", Map.of(
+            "totalUnits", summary.get("totalUnits"),
+            "processed", summary.get("processedFiles"),
+            "duplicateCount", summary.get("duplicateCount"),
+            "errorCount", summary.get("errorCount")));
+    }
+
+    private void publishProgress(String scanId, String directory, String phase, Map<String, Object> details) {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("scanJobId", scanId);
+        progress.put("distributed", true);
+        progress.put("instanceId", instanceId);
+        progress.put("directory", directory);
+        progress.put("phase", phase);
+        progress.putAll(details);
+        liveEventHub.publishScanProgress(progress);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Units in progress are left leased; other instances reclaim them when the lease expires
+        stopping = true;
+        executor.shutdownNow();
+    }
+
+    private static String createInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + ":" + ProcessHandle.current().pid() + ":" + UUID.randomUUID().toString().substring(0, 4);
+    }
+
+    private static final class ActiveUnit {
+
+        private final ScanWorkUnit unit;
+        private volatile boolean lost;
+
+        private ActiveUnit(ScanWorkUnit unit) {
+            this.unit = unit;
+        }
+    }
+}
@@ -1,27 +1,57 @@
 package com.yourname.filededup.service;
 
+import com.yourname.filededup.cache.FileRecordCache;
+import com.yourname.filededup.events.LiveEventHub;
+import com.yourname.filededup.hash.FileHasher;
+import com.yourname.filededup.hash.FileHasherRegistry;
+import com.yourname.filededup.metrics.ScanMetrics;
+import com.yourname.filededup.model.FileQuery;
 import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.model.FileView;
+import com.yourname.filededup.model.LogEntry;
+import com.yourname.filededup.profiling.BatchFlushedEvent;
+import com.yourname.filededup.profiling.DuplicateResolvedEvent;
+import com.yourname.filededup.profiling.FileHashedEvent;
+import com.yourname.filededup.profiling.RecordPersistedEvent;
+import com.yourname.filededup.scan.ArchiveScanner;
+import com.yourname.filededup.scan.DeviceScheduler;
+import com.yourname.filededup.scan.DirectoryWalker;
+import com.yourname.filededup.scan.IoThrottle;
+import com.yourname.filededup.scan.ScanSpill;
+import com.yourname.filededup.scan.ScannedFile;
 import com.yourname.filededup.repository.FileRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 public class FileService {
 
+    // Scan progress is pushed to live clients every this many files
+    private static final int SCAN_PROGRESS_INTERVAL = 100;
+
+    // Hard link lookups in memory-bounded scans look back this many hashed files per scan
+    private static final int RECENT_FILE_KEYS = 10_000;
+
     @Autowired
     private FileRepository fileRepository;
 
@@ -31,6 +61,43 @@ public class FileService {
     @Autowired
     private LoggingService loggingService;
 
+    @Autowired
+    private FileHasherRegistry fileHasherRegistry;
+
+    @Autowired
+    private ScanMetrics scanMetrics;
+
+    @Autowired
+    private DirectoryWalker directoryWalker;
+
+    @Autowired
+    private LiveEventHub liveEventHub;
+
+    @Autowired
+    private FileRecordCache fileRecordCache;
+
+    @Autowired
+    private HashRegistryService hashRegistryService;
+
+    @Autowired
+    private ArchiveScanner archiveScanner;
+
+    @Autowired
+    private IoThrottle ioThrottle;
+
+    @Autowired
+    private DeviceScheduler deviceScheduler;
+
+    @Value("${app.scan.memory-bounded:false}")
+    private boolean memoryBoundedByDefault;
+
+    @Value("${app.scan.spill.directory:${java.io.tmpdir}}")
+    private String spillDirectory;
+
+    // Files per device held in memory before a sorted run is written out
+    @Value("${app.scan.spill.run-size:50000}")
+    private int spillRunSize;
+
     public FileRecord processUploadedFileWithCredentials(MultipartFile file, String email, String password) throws IOException {
         String fileName = file.getOriginalFilename();
         if (fileName == null || fileName.isEmpty()) {
@@ -41,11 +108,14 @@ public class FileService {
         loggingService.logInfo("File upload initiated", "UPLOAD", 
             "User: " + email + ", File: " + fileName + ", Size: " + file.getSize() + " bytes");
 
+        long uploadStart = System.nanoTime();
+        String outcome = "error";
+        
         // Create temporary file
         Path tempFile = Files.createTempFile("upload_", "_" + fileName);
-        file.transferTo(tempFile.toFile());
 
         try {
+            file.transferTo(tempFile.toFile());
             FileRecord fileRecord = createFileRecord(tempFile);
             fileRecord.setFileName(fileName);
             fileRecord.setScannedDate(LocalDateTime.now());
@@ -54,28 +124,38 @@ public class FileService {
             String category = ruleEngineService.categorizeFile(fileRecord);
             fileRecord.setCategory(category);
             
-            // Check for duplicates
-            List<FileRecord> duplicates = fileRepository.findByFileHash(fileRecord.getFileHash());
-            if (!duplicates.isEmpty()) {
-                fileRecord.setDuplicate(true);
+            // The hash registry decides whether this is a duplicate as the record is stored
+            FileRecord savedFile = registerAndPersist(fileRecord);
+            if (savedFile.isDuplicate()) {
                 loggingService.logWarn("Duplicate file uploaded", "UPLOAD", 
                     "User: " + email + ", File: " + fileName + ", Hash: " + fileRecord.getFileHash());
             }
             
-            FileRecord savedFile = fileRepository.save(fileRecord);
-            
             loggingService.logInfo("File uploaded and processed successfully", "UPLOAD", 
                 "User: " + email + ", File: " + fileName + ", Category: " + category + ", ID: " + savedFile.getId());
             
+            outcome = savedFile.isDuplicate() ? "duplicate" : "unique";
             return savedFile;
             
         } finally {
             // Clean up temporary file
             Files.deleteIfExists(tempFile);
+            scanMetrics.recordUpload(outcome, file.getSize(), System.nanoTime() - uploadStart);
         }
     }
 
     public Map<String, Object> scanDirectory(String directoryPath) throws IOException {
+        return scanDirectory(directoryPath, archiveScanner.isEnabledByDefault());
+    }
+
+    // With includeArchives, files inside zip, tar and gzip archives are recorded as well
+    public Map<String, Object> scanDirectory(String directoryPath, boolean includeArchives) throws IOException {
+        return scanDirectory(directoryPath, includeArchives, memoryBoundedByDefault);
+    }
+
+    // With memoryBounded, discovered files are spilled to local disk and the stored records
+    // are counted instead of returned, so heap use does not grow with the size of the tree
+    public Map<String, Object> scanDirectory(String directoryPath, boolean includeArchives, boolean memoryBounded) throws IOException {
         loggingService.logInfo("Starting directory scan", "SCAN", "Directory: " + directoryPath);
         
         Path path = Paths.get(directoryPath);
@@ -83,53 +163,245 @@ public class FileService {
             throw new IllegalArgumentException("Invalid directory path: " + directoryPath);
         }
 
-        List<FileRecord> scannedFiles = new ArrayList<>();
-        int totalFiles = 0;
-        int duplicateCount = 0;
+        try (ScanMetrics.ScanJob scanJob = scanMetrics.startScanJob();
+             ScanSpill spill = memoryBounded
+                 ? new ScanSpill(deviceScheduler.getPlanner(), Paths.get(spillDirectory), spillRunSize) : null) {
+            // Excluded directories are pruned during the walk; excluded files are never opened
+            DirectoryWalker.WalkResult walkResult;
+            if (memoryBounded) {
+                walkResult = directoryWalker.walk(path, scannedFile -> {
+                    try {
+                        spill.add(scannedFile);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } else {
+                walkResult = directoryWalker.walk(path);
+            }
 
-        try (Stream<Path> paths = Files.walk(path)) {
-            List<Path> filePaths = paths
-                .filter(Files::isRegularFile)
-                .collect(Collectors.toList());
+            int totalFiles = memoryBounded ? (int) spill.size() : walkResult.getFiles().size();
+            publishScanProgress(scanJob.getId(), directoryPath, "started", 0, totalFiles, 0, 0);
+            
+            Consumer<ScanTally> onProcessed = progress -> {
+                if (progress.getProcessed() % SCAN_PROGRESS_INTERVAL == 0) {
+                    publishScanProgress(scanJob.getId(), directoryPath, "running", progress.getProcessed(), totalFiles,
+                        progress.getDuplicateCount(), progress.getErrorCount());
+                }
+            };
+            ScanTally tally = memoryBounded
+                ? processSpilledFiles(spill, scanJob, includeArchives, onProcessed)
+                : processScannedFiles(walkResult.getFiles(), scanJob, includeArchives, () -> true, onProcessed);
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("scanJobId", scanJob.getId());
+            result.put("totalFiles", totalFiles);
+            result.put("excludedFiles", walkResult.getExcludedFiles());
+            result.put("skippedDirectories", walkResult.getSkippedDirectories());
+            result.put("hardlinksReused", tally.getHardlinksReused());
+            result.put("archiveEntries", tally.getArchiveEntries());
+            result.put("scannedFiles", tally.getSavedCount());
+            result.put("duplicateCount", tally.getDuplicateCount());
+            result.put("memoryBounded", memoryBounded);
+            if (!memoryBounded) {
+                result.put("files", tally.getSaved());
+            }
 
-            totalFiles = filePaths.size();
+            loggingService.logInfo("Directory scan completed", "SCAN", 
+                "Job: " + scanJob.getId() + ", Processed: " + tally.getSavedCount() + " files, Duplicates: " + tally.getDuplicateCount());
 
-            for (Path filePath : filePaths) {
-                try {
-                    FileRecord fileRecord = createFileRecord(filePath);
-                    
-                    // Check if file already exists in database
-                    if (!fileRepository.existsByFilePath(fileRecord.getFilePath())) {
-                        // Categorize the file
-                        String category = ruleEngineService.categorizeFile(fileRecord);
-                        fileRecord.setCategory(category);
-                        
-                        // Check for duplicates
-                        List<FileRecord> duplicates = fileRepository.findByFileHash(fileRecord.getFileHash());
-                        if (!duplicates.isEmpty()) {
-                            fileRecord.setDuplicate(true);
-                            duplicateCount++;
-                        }
-                        
-                        scannedFiles.add(fileRepository.save(fileRecord));
-                    }
-                } catch (Exception e) {
-                    loggingService.logError("Failed to process file", "SCAN", 
-                        "File: " + filePath + ", Error: " + e.getMessage());
+            publishScanProgress(scanJob.getId(), directoryPath, "completed", tally.getProcessed(), totalFiles,
+                tally.getDuplicateCount(), tally.getErrorCount());
+            scanJob.completed();
+            return result;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public boolean isMemoryBoundedByDefault() {
+        return memoryBoundedByDefault;
+    }
+
+    // Hashes, categorizes and stores the files of one walk. Files are read per device,
+    // in parallel on solid state and in inode order on spinning disks. Used for whole
+    // scans and for distributed scan work units; processing stops early once
+    // keepGoing returns false, and onProcessed sees the tally after every file.
+    public ScanTally processScannedFiles(List<ScannedFile> files, ScanMetrics.ScanJob scanJob, boolean includeArchives,
+                                         BooleanSupplier keepGoing, Consumer<ScanTally> onProcessed) {
+        ScanTally tally = new ScanTally(true);
+        
+        // Hard links share a file key (device + inode); their content is hashed once
+        Map<Object, CompletableFuture<FileRecord>> hashedByFileKey = new ConcurrentHashMap<>();
+
+        // Per-file log events are collapsed into one summary entry per message for the scan
+        try (LoggingService.Aggregation scanLogs = loggingService.aggregate("scan " + scanJob.getId())) {
+            deviceScheduler.run(files, keepGoing, scannedFile -> scanLogs.runInScope(() -> scanJob.runInScope(() ->
+                processScannedFile(scannedFile, scanJob, includeArchives, hashedByFileKey, tally, onProcessed))));
+        }
+        return tally;
+    }
+
+    // Memory-bounded counterpart of processScannedFiles. Spilled files come back in inode
+    // order per device, so hard links arrive next to each other and only the most recently
+    // hashed file keys need to be remembered. Stored records are counted, not kept.
+    private ScanTally processSpilledFiles(ScanSpill spill, ScanMetrics.ScanJob scanJob, boolean includeArchives,
+                                          Consumer<ScanTally> onProcessed) throws IOException {
+        ScanTally tally = new ScanTally(false);
+        Map<Object, CompletableFuture<FileRecord>> recentFileKeys = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, CompletableFuture<FileRecord>> eldest) {
+                return size() > RECENT_FILE_KEYS;
+            }
+        });
+
+        try (LoggingService.Aggregation scanLogs = loggingService.aggregate("scan " + scanJob.getId())) {
+            deviceScheduler.run(spill, () -> true, scannedFile -> scanLogs.runInScope(() -> scanJob.runInScope(() ->
+                processScannedFile(scannedFile, scanJob, includeArchives, recentFileKeys, tally, onProcessed))));
+        }
+        return tally;
+    }
+
+    // Runs on the device reader threads; the tally is shared and updated under its lock
+    private void processScannedFile(ScannedFile scannedFile, ScanMetrics.ScanJob scanJob, boolean includeArchives,
+                                    Map<Object, CompletableFuture<FileRecord>> hashedByFileKey, ScanTally tally,
+                                    Consumer<ScanTally> onProcessed) {
+        Path filePath = scannedFile.getPath();
+        CompletableFuture<FileRecord> ownHash = new CompletableFuture<>();
+        try {
+            // Check if file already exists in database before reading any content
+            boolean stored = fileRepository.existsByFilePath(filePath.toAbsolutePath().toString());
+            if (includeArchives && archiveScanner.isArchive(filePath)
+                    && !(stored && isExpandedAndUnchanged(filePath, scannedFile.getAttributes()))) {
+                expandArchive(filePath, scanJob, tally);
+            }
+            if (stored) {
+                synchronized (tally) {
+                    tally.existing++;
                 }
+                scanJob.recordFile("existing");
+                return;
+            }
+            
+            // The first reader of an inode hashes it; readers of its other links wait for that
+            // hash. A failed first read completes with null, and the others hash for themselves.
+            Object fileKey = scannedFile.getFileKey();
+            CompletableFuture<FileRecord> hashing = fileKey != null
+                ? hashedByFileKey.computeIfAbsent(fileKey, key -> ownHash) : ownHash;
+            FileRecord linkedRecord = hashing != ownHash ? hashing.join() : null;
+            ioThrottle.acquireFile();
+            FileRecord fileRecord = createFileRecord(filePath, scannedFile.getAttributes(), linkedRecord, true);
+            ownHash.complete(fileRecord);
+            
+            // Categorize the file
+            String category = ruleEngineService.categorizeFile(fileRecord);
+            fileRecord.setCategory(category);
+            
+            // Check for duplicates
+            FileRecord saved = registerAndPersist(fileRecord);
+            synchronized (tally) {
+                tally.addSaved(saved);
+                if (linkedRecord != null) {
+                    tally.hardlinksReused++;
+                }
+                if (fileRecord.isDuplicate()) {
+                    tally.duplicateCount++;
+                }
+            }
+            scanJob.recordFile(fileRecord.isDuplicate() ? "duplicate" : "new");
+        } catch (DuplicateKeyException e) {
+            // Another scan of the same subtree stored the path first; its hash reference was released
+            synchronized (tally) {
+                tally.existing++;
+            }
+            scanJob.recordFile("existing");
+        } catch (Exception e) {
+            synchronized (tally) {
+                tally.errorCount++;
+            }
+            scanJob.recordFile("error");
+            loggingService.logError("Failed to process file", "SCAN", 
+                "File: " + filePath + ", Error: " + e.getMessage());
+        } finally {
+            ownHash.complete(null);
+            synchronized (tally) {
+                tally.processed++;
+                onProcessed.accept(tally);
             }
         }
+    }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("totalFiles", totalFiles);
-        result.put("scannedFiles", scannedFiles.size());
-        result.put("duplicateCount", duplicateCount);
-        result.put("files", scannedFiles);
+    // A rescan does not decompress an archive again when its entries were stored and the
+    // archive has the size and modification time it was recorded with. Mongo keeps
+    // milliseconds, so the times are compared at that precision.
+    private boolean isExpandedAndUnchanged(Path archive, BasicFileAttributes attributes) {
+        String path = archive.toAbsolutePath().toString();
+        List<FileRecord> stored = fileRepository.findByFilePath(path);
+        if (stored.isEmpty() || !fileRepository.existsByArchivePath(path)) {
+            return false;
+        }
+        FileRecord record = stored.get(0);
+        LocalDateTime modified = LocalDateTime.ofInstant(attributes.lastModifiedTime().toInstant(), ZoneId.systemDefault());
+        return record.getFileSize() == attributes.size() && record.getModifiedDate() != null
+            && record.getModifiedDate().truncatedTo(ChronoUnit.MILLIS).equals(modified.truncatedTo(ChronoUnit.MILLIS));
+    }
 
-        loggingService.logInfo("Directory scan completed", "SCAN", 
-            "Processed: " + scannedFiles.size() + " files, Duplicates: " + duplicateCount);
+    // Entries are stored like regular files; the archive itself is still recorded by the caller
+    private void expandArchive(Path archive, ScanMetrics.ScanJob scanJob, ScanTally tally) {
+        FileHasher hasher = fileHasherRegistry.get(ruleEngineService.getHashAlgorithm());
+        try {
+            ArchiveScanner.ExpandResult result = archiveScanner.expand(archive, hasher, fileRepository::existsByFilePath,
+                entry -> {
+                    try {
+                        entry.setCategory(ruleEngineService.categorizeFile(entry));
+                        FileRecord saved = registerAndPersist(entry);
+                        synchronized (tally) {
+                            tally.addSaved(saved);
+                            if (entry.isDuplicate()) {
+                                tally.duplicateCount++;
+                            }
+                            tally.archiveEntries++;
+                        }
+                        scanJob.recordFile(entry.isDuplicate() ? "duplicate" : "new");
+                    } catch (DuplicateKeyException e) {
+                        scanJob.recordFile("existing");
+                    } catch (Exception e) {
+                        synchronized (tally) {
+                            tally.errorCount++;
+                        }
+                        scanJob.recordFile("error");
+                        loggingService.logError("Failed to process archive entry", "SCAN", 
+                            "File: " + entry.getFilePath() + ", Error: " + e.getMessage());
+                    }
+                });
+            synchronized (tally) {
+                tally.existing += result.getExisting();
+                tally.errorCount += result.getErrors();
+            }
+            if (result.getErrors() > 0) {
+                loggingService.logError("Failed to read archive entries", "SCAN", 
+                    "Archive: " + archive + ", Failed: " + result.getErrors() + ", Error: " + result.getLastError());
+            }
+        } catch (Exception e) {
+            synchronized (tally) {
+                tally.errorCount++;
+            }
+            loggingService.logError("Failed to read archive", "SCAN", 
+                "Archive: " + archive + ", Error: " + e.getMessage());
+        }
+    }
 
-        return result;
+    private void publishScanProgress(String scanJobId, String directoryPath, String phase,
+                                     int processed, int totalFiles, int duplicateCount, int errorCount) {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("scanJobId", scanJobId);
+        progress.put("directory", directoryPath);
+        progress.put("phase", phase);
+        progress.put("processed", processed);
+        progress.put("totalFiles", totalFiles);
+        progress.put("duplicateCount", duplicateCount);
+        progress.put("errorCount", errorCount);
+        liveEventHub.publishScanProgress(progress);
     }
 
     public List<FileRecord> findDuplicates() {
@@ -137,25 +409,28 @@ public class FileService {
     }
 
     public List<FileRecord> getFilesByCategory(String category) {
-        return fileRepository.findByCategory(category);
+        return fileRecordCache.getByCategory(category, fileRepository::findByCategory);
     }
 
     public Map<String, Long> getFileCountByCategory() {
-        List<FileRecord> allFiles = fileRepository.findAll();
-        return allFiles.stream()
+        return fileRecordCache.getCategoryCounts(() -> fileRepository.findAll().stream()
                 .collect(Collectors.groupingBy(
                     file -> file.getCategory() != null ? file.getCategory() : "Other",
                     Collectors.counting()
-                ));
+                )));
     }
 
     public List<FileRecord> getAllFiles() {
         return fileRepository.findAll();
     }
 
+    // Projected reads for list endpoints that ask for only some fields
+    public List<FileView> findFileViews(FileQuery query, Set<String> properties) {
+        return fileRepository.findViews(query, properties);
+    }
+
     public FileRecord getFileById(String id) {
-        Optional<FileRecord> fileRecord = fileRepository.findById(id);
-        return fileRecord.orElse(null);
+        return fileRecordCache.getById(id, fileRepository::findById);
     }
 
     public void updateFileCategory(String id, String category) {
@@ -165,6 +440,7 @@ public class FileService {
             String oldCategory = fileRecord.getCategory();
             fileRecord.setCategory(category);
             fileRepository.save(fileRecord);
+            fileRecordCache.recordSaved(fileRecord, oldCategory);
             
             loggingService.logInfo("File category updated", "UPDATE", 
                 "File: " + fileRecord.getFileName() + ", Old: " + oldCategory + ", New: " + category);
@@ -178,14 +454,18 @@ public class FileService {
         if (fileRecordOpt.isPresent()) {
             FileRecord fileRecord = fileRecordOpt.get();
             
-            // Delete physical file if it exists
-            Path filePath = Paths.get(fileRecord.getFilePath());
-            if (Files.exists(filePath)) {
-                Files.delete(filePath);
+            // Delete physical file if it exists; archive entries are only removed from the index
+            if (fileRecord.getArchivePath() == null) {
+                Path filePath = Paths.get(fileRecord.getFilePath());
+                if (Files.exists(filePath)) {
+                    Files.delete(filePath);
+                }
             }
             
             // Delete from database
             fileRepository.deleteById(id);
+            fileRecordCache.recordDeleted(fileRecord);
+            hashRegistryService.release(fileRecord);
             
             loggingService.logInfo("File deleted", "DELETE", 
                 "File: " + fileRecord.getFileName() + " (" + fileRecord.getFilePath() + ")");
@@ -198,14 +478,19 @@ public class FileService {
         List<FileRecord> duplicates = fileRepository.findByIsDuplicate(true);
         int deletedCount = 0;
         
-        for (FileRecord duplicate : duplicates) {
-            try {
-                deleteFile(duplicate.getId());
-                deletedCount++;
-            } catch (Exception e) {
-                loggingService.logError("Failed to delete duplicate file", "DELETE", 
-                    "File: " + duplicate.getFileName() + ", Error: " + e.getMessage());
+        LoggingService.Aggregation deleteLogs = loggingService.aggregate("delete duplicates");
+        try {
+            for (FileRecord duplicate : duplicates) {
+                try {
+                    deleteFile(duplicate.getId());
+                    deletedCount++;
+                } catch (Exception e) {
+                    loggingService.logError("Failed to delete duplicate file", "DELETE", 
+                        "File: " + duplicate.getFileName() + ", Error: " + e.getMessage());
+                }
             }
+        } finally {
+            deleteLogs.close();
         }
         
         loggingService.logInfo("Duplicate files cleanup completed", "DELETE", 
@@ -217,14 +502,19 @@ public class FileService {
     public int batchDeleteFiles(List<String> fileIds) throws IOException {
         int deletedCount = 0;
         
-        for (String fileId : fileIds) {
-            try {
-                deleteFile(fileId);
-                deletedCount++;
-            } catch (Exception e) {
-                loggingService.logError("Failed to delete file in batch operation", "DELETE", 
-                    "FileId: " + fileId + ", Error: " + e.getMessage());
+        LoggingService.Aggregation deleteLogs = loggingService.aggregate("batch delete");
+        try {
+            for (String fileId : fileIds) {
+                try {
+                    deleteFile(fileId);
+                    deletedCount++;
+                } catch (Exception e) {
+                    loggingService.logError("Failed to delete file in batch operation", "DELETE", 
+                        "FileId: " + fileId + ", Error: " + e.getMessage());
+                }
             }
+        } finally {
+            deleteLogs.close();
         }
         
         loggingService.logInfo("Batch delete completed", "DELETE", 
@@ -280,11 +570,14 @@ public class FileService {
             throw new IllegalArgumentException("Invalid file name");
         }
 
+        long uploadStart = System.nanoTime();
+        String outcome = "error";
+
         // Create temporary file
         Path tempFile = Files.createTempFile("upload_", "_" + fileName);
-        file.transferTo(tempFile.toFile());
 
         try {
+            file.transferTo(tempFile.toFile());
             FileRecord fileRecord = createFileRecord(tempFile);
             fileRecord.setFileName(fileName);
             
@@ -293,44 +586,56 @@ public class FileService {
             fileRecord.setCategory(category);
             
             // Check for duplicates
-            List<FileRecord> duplicates = fileRepository.findByFileHash(fileRecord.getFileHash());
-            if (!duplicates.isEmpty()) {
-                fileRecord.setDuplicate(true);
-            }
-            
-            fileRepository.save(fileRecord);
+            registerAndPersist(fileRecord);
             
             loggingService.logInfo("File uploaded and processed", "UPLOAD", 
                 "File: " + fileName + ", Category: " + category);
+            outcome = fileRecord.isDuplicate() ? "duplicate" : "unique";
         } finally {
             // Clean up temporary file
             Files.deleteIfExists(tempFile);
+            scanMetrics.recordUpload(outcome, file.getSize(), System.nanoTime() - uploadStart);
         }
     }
 
     private FileRecord createFileRecord(Path filePath) throws IOException {
-        File file = filePath.toFile();
+        return createFileRecord(filePath, Files.readAttributes(filePath, BasicFileAttributes.class), null, false);
+    }
+
+    // Built only from attributes that were already read; the content is hashed
+    // unless linkedRecord is another hard link to the same data. Scan reads are
+    // throttled, uploads are not.
+    private FileRecord createFileRecord(Path filePath, BasicFileAttributes attributes, FileRecord linkedRecord,
+                                        boolean throttled) throws IOException {
+        String fileName = filePath.getFileName().toString();
         
         FileRecord fileRecord = new FileRecord();
-        fileRecord.setFileName(file.getName());
-        fileRecord.setFilePath(file.getAbsolutePath());
-        fileRecord.setFileSize(file.length());
+        fileRecord.setFileName(fileName);
+        fileRecord.setFilePath(filePath.toAbsolutePath().toString());
+        fileRecord.setFileSize(attributes.size());
         fileRecord.setCreatedDate(LocalDateTime.ofInstant(
-            new Date(file.lastModified()).toInstant(), ZoneId.systemDefault()));
+            attributes.creationTime().toInstant(), ZoneId.systemDefault()));
         fileRecord.setModifiedDate(LocalDateTime.ofInstant(
-            new Date(file.lastModified()).toInstant(), ZoneId.systemDefault()));
+            attributes.lastModifiedTime().toInstant(), ZoneId.systemDefault()));
         fileRecord.setScannedDate(LocalDateTime.now());
         
         // Calculate file hash
-        String hash = calculateFileHash(filePath);
-        fileRecord.setFileHash(hash);
+        if (linkedRecord != null) {
+            fileRecord.setFileHash(linkedRecord.getFileHash());
+            fileRecord.setHashAlgorithm(linkedRecord.getHashAlgorithm());
+        } else {
+            FileHasher hasher = fileHasherRegistry.get(ruleEngineService.getHashAlgorithm());
+            fileRecord.setFileHash(calculateFileHash(filePath, hasher, fileRecord.getFileSize(), throttled));
+            fileRecord.setHashAlgorithm(hasher.getAlgorithm());
+        }
         
         // Set MIME type
+        long probeStart = System.nanoTime();
         String mimeType = Files.probeContentType(filePath);
+        scanMetrics.recordMimeProbe(System.nanoTime() - probeStart);
         fileRecord.setMimeType(mimeType);
         
         // Set file extension
-        String fileName = file.getName();
         int lastDotIndex = fileName.lastIndexOf('.');
         if (lastDotIndex > 0 && lastDotIndex < fileName.length() - 1) {
             fileRecord.setFileExtension(fileName.substring(lastDotIndex + 1).toLowerCase());
@@ -340,48 +645,183 @@ public class FileService {
     }
 
     public int saveFiles(List<Map<String, Object>> fileDataList) {
+        BatchFlushedEvent batchEvent = new BatchFlushedEvent();
+        batchEvent.begin();
         int savedCount = 0;
-        for (Map<String, Object> fileData : fileDataList) {
-            try {
-                FileRecord fileRecord = new FileRecord();
-                fileRecord.setFilePath(fileData.get("path").toString());
-                fileRecord.setFileName(fileData.get("name").toString());
-                fileRecord.setFileSize(Long.parseLong(fileData.get("size").toString()));
-                fileRecord.setFileHash(fileData.get("hash").toString());
-                fileRecord.setCategory(fileData.get("category") != null ? fileData.get("category").toString() : "Uncategorized");
-                fileRecord.setFileExtension(fileData.get("extension") != null ? fileData.get("extension").toString() : "");
-                fileRecord.setCreatedDate(LocalDateTime.now());
-                fileRecord.setScannedDate(LocalDateTime.now());
-                
-                // Save to database
-                fileRepository.save(fileRecord);
-                savedCount++;
-                
-                // Log the save operation
-                loggingService.logInfo("File saved to database", "SAVE", 
-                    "File: " + fileRecord.getFileName() + ", Hash: " + fileRecord.getFileHash());
+        LoggingService.Aggregation saveLogs = loggingService.aggregate("batch save");
+        try {
+            for (Map<String, Object> fileData : fileDataList) {
+                try {
+                    FileRecord fileRecord = new FileRecord();
+                    fileRecord.setFilePath(fileData.get("path").toString());
+                    fileRecord.setFileName(fileData.get("name").toString());
+                    fileRecord.setFileSize(Long.parseLong(fileData.get("size").toString()));
+                    fileRecord.setFileHash(fileData.get("hash").toString());
+                    // The frontend hashes with Web Crypto SHA-256 unless told otherwise
+                    fileRecord.setHashAlgorithm(fileData.get("hashAlgorithm") != null
+                        ? fileHasherRegistry.get(fileData.get("hashAlgorithm").toString()).getAlgorithm()
+                        : FileHasherRegistry.DEFAULT_ALGORITHM);
+                    fileRecord.setCategory(fileData.get("category") != null ? fileData.get("category").toString() : "Uncategorized");
+                    fileRecord.setFileExtension(fileData.get("extension") != null ? fileData.get("extension").toString().toLowerCase() : "");
+                    fileRecord.setCreatedDate(LocalDateTime.now());
+                    fileRecord.setScannedDate(LocalDateTime.now());
+                    
+                    // Save to database; the hash registry marks repeated content as duplicate
+                    registerAndPersist(fileRecord);
+                    savedCount++;
                     
-            } catch (Exception e) {
-                loggingService.logError("Failed to save file", "SAVE_ERROR", 
-                    "File: " + fileData.get("name") + ", Error: " + e.getMessage());
+                    // Log the save operation
+                    if (loggingService.isEnabled(LogEntry.Level.INFO, "SAVE")) {
+                        loggingService.logInfo("File saved to database", "SAVE", 
+                            "File: " + fileRecord.getFileName() + ", Hash: " + fileRecord.getFileHash());
+                    }
+                        
+                } catch (DuplicateKeyException e) {
+                    // The path is already stored; saving a folder again does not add copies of it
+                } catch (Exception e) {
+                    loggingService.logError("Failed to save file", "SAVE_ERROR", 
+                        "File: " + fileData.get("name") + ", Error: " + e.getMessage());
+                }
             }
+        } finally {
+            saveLogs.close();
+        }
+        
+        batchEvent.end();
+        if (batchEvent.shouldCommit()) {
+            batchEvent.operation = "SAVE";
+            batchEvent.records = savedCount;
+            batchEvent.failures = fileDataList.size() - savedCount;
+            batchEvent.scanJob = ScanMetrics.currentScanJob();
+            batchEvent.commit();
         }
         return savedCount;
     }
 
-    private String calculateFileHash(Path filePath) throws IOException {
+    // Registering the hash sets isDuplicate in the same round-trip that counts the
+    // reference; if the save then fails, including on the unique filePath index when
+    // another instance stored the path first, the reference is given back.
+    private FileRecord registerAndPersist(FileRecord fileRecord) {
+        DuplicateResolvedEvent event = new DuplicateResolvedEvent();
+        event.begin();
+        
+        long references = hashRegistryService.register(fileRecord);
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = fileRecord.getFilePath();
+            event.hash = fileRecord.getFileHash();
+            event.matches = (int) (references - 1);
+            event.scanJob = ScanMetrics.currentScanJob();
+            event.commit();
+        }
+        
         try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] fileBytes = Files.readAllBytes(filePath);
-            byte[] hashBytes = md.digest(fileBytes);
-            
-            StringBuilder sb = new StringBuilder();
-            for (byte b : hashBytes) {
-                sb.append(String.format("%02x", b));
+            return persistRecord(fileRecord);
+        } catch (RuntimeException e) {
+            hashRegistryService.release(fileRecord);
+            throw e;
+        }
+    }
+
+    private FileRecord persistRecord(FileRecord fileRecord) {
+        RecordPersistedEvent event = new RecordPersistedEvent();
+        event.begin();
+        
+        FileRecord saved = fileRepository.save(fileRecord);
+        fileRecordCache.recordSaved(saved, null);
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = saved.getFilePath();
+            event.recordId = saved.getId();
+            event.duplicate = saved.isDuplicate();
+            event.scanJob = ScanMetrics.currentScanJob();
+            event.commit();
+        }
+        return saved;
+    }
+
+    private String calculateFileHash(Path filePath, FileHasher hasher, long fileSize, boolean throttled) throws IOException {
+        FileHashedEvent event = new FileHashedEvent();
+        event.begin();
+        long start = System.nanoTime();
+        
+        String hash;
+        if (throttled) {
+            try (InputStream inputStream = ioThrottle.throttle(Files.newInputStream(filePath))) {
+                hash = hasher.hash(inputStream);
+            }
+        } else {
+            hash = hasher.hash(filePath);
+        }
+        
+        scanMetrics.recordHash(hasher.getAlgorithm(), fileSize, System.nanoTime() - start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = filePath.toString();
+            event.bytes = fileSize;
+            event.algorithm = hasher.getAlgorithm();
+            event.scanJob = ScanMetrics.currentScanJob();
+            event.commit();
+        }
+        return hash;
+    }
+
+    public static class ScanTally {
+
+        private final boolean keepSaved;
+        private final List<FileRecord> saved = new ArrayList<>();
+        private int savedCount;
+        private int processed;
+        private int existing;
+        private int duplicateCount;
+        private int errorCount;
+        private int hardlinksReused;
+        private int archiveEntries;
+
+        private ScanTally(boolean keepSaved) {
+            this.keepSaved = keepSaved;
+        }
+
+        private void addSaved(FileRecord record) {
+            savedCount++;
+            if (keepSaved) {
+                saved.add(record);
             }
-            return sb.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 algorithm not available", e);
+        }
+
+        // Empty for memory-bounded scans, which only count what they store
+        public List<FileRecord> getSaved() {
+            return saved;
+        }
+
+        public int getSavedCount() {
+            return savedCount;
+        }
+
+        public int getProcessed() {
+            return processed;
+        }
+
+        public int getExisting() {
+            return existing;
+        }
+
+        public int getDuplicateCount() {
+            return duplicateCount;
+        }
+
+        public int getErrorCount() {
+            return errorCount;
+        }
+
+        public int getHardlinksReused() {
+            return hardlinksReused;
+        }
+
+        public int getArchiveEntries() {
+            return archiveEntries;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,255 @@
+package com.yourname.filededup.service;
+
+import com.yourname.filededup.cache.FileRecordCache;
+import com.yourname.filededup.hash.FileHasherRegistry;
+import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.model.HashRegistryEntry;
+import com.yourname.filededup.repository.FileRepository;
+import com.yourname.filededup.repository.HashRegistryRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// Decides isDuplicate through the hash_registry collection instead of a lookup
+// followed by a save. Registering a record is one atomic upsert that returns the
+// keeper for its hash, so concurrent scans and uploads of the same content agree
+// on a single non-duplicate. Releasing the keeper promotes another record.
+@Service
+public class HashRegistryService {
+
+    private static final String OPERATION = "HASH_REGISTRY";
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private HashRegistryRepository hashRegistryRepository;
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private FileRecordCache fileRecordCache;
+
+    @Autowired
+    private LoggingService loggingService;
+
+    @Value("${app.hash-registry.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    // Renewed with every batch the rebuild writes
+    @Value("${app.hash-registry.rebuild-lease:5m}")
+    private String rebuildLeaseSetting;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private Duration rebuildLease;
+
+    @PostConstruct
+    void init() {
+        rebuildLease = DurationStyle.detectAndParse(rebuildLeaseSetting);
+    }
+
+    // Records written before the algorithm was stored carry none and were always SHA-256
+    public static String keyOf(String fileHash, String hashAlgorithm) {
+        return (hashAlgorithm != null ? hashAlgorithm : FileHasherRegistry.DEFAULT_ALGORITHM) + ":" + fileHash;
+    }
+
+    // Assigns the record its id up front, so the registry can name it as keeper before it
+    // is saved, and sets isDuplicate. Returns the number of records sharing the content.
+    public long register(FileRecord record) {
+        if (record.getId() == null) {
+            record.setId(new ObjectId().toHexString());
+        }
+        String key = keyOf(record.getFileHash(), record.getHashAlgorithm());
+        HashRegistryEntry entry = hashRegistryRepository.register(key, record.getFileHash(),
+            record.getHashAlgorithm(), record.getId());
+
+        boolean keeper = record.getId().equals(entry.getKeeperId());
+        // The only reference left behind by a released keeper whose entry was not removed yet
+        if (!keeper && entry.getRefCount() == 1) {
+            keeper = hashRegistryRepository.replaceKeeper(key, entry.getKeeperId(), record.getId());
+        }
+        record.setDuplicate(!keeper);
+        return entry.getRefCount();
+    }
+
+    // Called after a record is deleted, or when a registered record could not be saved
+    public void release(FileRecord record) {
+        if (record.getFileHash() == null) {
+            return;
+        }
+        String key = keyOf(record.getFileHash(), record.getHashAlgorithm());
+        HashRegistryEntry entry = hashRegistryRepository.release(key);
+        if (entry == null || entry.getRefCount() <= 0 || !record.getId().equals(entry.getKeeperId())) {
+            return;
+        }
+
+        // The oldest remaining copy takes over as the original
+        Optional<FileRecord> successor = findSameContent(record).stream()
+            .filter(candidate -> !candidate.getId().equals(record.getId()))
+            .min(Comparator.comparing(FileRecord::getScannedDate, Comparator.nullsLast(Comparator.naturalOrder())));
+        if (successor.isPresent() && hashRegistryRepository.replaceKeeper(key, record.getId(), successor.get().getId())) {
+            FileRecord promoted = successor.get();
+            promoted.setDuplicate(false);
+            fileRepository.save(promoted);
+            fileRecordCache.recordSaved(promoted, promoted.getCategory());
+            loggingService.logInfo("Duplicate promoted to original", OPERATION,
+                "File: " + promoted.getFilePath() + ", Hash: " + promoted.getFileHash());
+        }
+    }
+
+    // Records stored before the registry existed are registered once, when it is still empty.
+    // With MongoDB this is part of the index migration; the local store does it at startup.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuildIfEmpty();
+        }
+    }
+
+    // Null when the registry was already filled, or when another instance holds the rebuild lease
+    public Map<String, Object> rebuildIfEmpty() {
+        if (!hashRegistryRepository.acquireRebuildLease(instanceId, rebuildLease)) {
+            return null;
+        }
+        try {
+            if (hashRegistryRepository.count() > 0 || fileRepository.count() == 0) {
+                return null;
+            }
+            return rebuildHoldingLease();
+        } finally {
+            hashRegistryRepository.releaseRebuildLease(instanceId);
+        }
+    }
+
+    // Recomputes the registry and every isDuplicate flag from file_records. Existing
+    // originals are kept where there is one. Meant for migrations and imports, not to
+    // run alongside scans. Only one instance rebuilds at a time.
+    public Map<String, Object> rebuild() {
+        if (!hashRegistryRepository.acquireRebuildLease(instanceId, rebuildLease)) {
+            throw new IllegalStateException("The hash registry is being rebuilt by another instance");
+        }
+        try {
+            return rebuildHoldingLease();
+        } finally {
+            hashRegistryRepository.releaseRebuildLease(instanceId);
+        }
+    }
+
+    // Records arrive sorted by hash, so only the copies of one hash are held at a time and
+    // entries and corrected flags are written in batches as they are computed
+    private Map<String, Object> rebuildHoldingLease() {
+        long start = System.nanoTime();
+        hashRegistryRepository.deleteAll();
+
+        RebuildBatch batch = new RebuildBatch();
+        List<FileRecord> group = new ArrayList<>();
+        try (Stream<FileRecord> stream = fileRepository.streamAllByOrderByFileHashAsc()) {
+            Iterator<FileRecord> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                FileRecord record = iterator.next();
+                if (record.getFileHash() == null) {
+                    batch.setDuplicate(record, false);
+                    continue;
+                }
+                if (!group.isEmpty() && !record.getFileHash().equals(group.get(0).getFileHash())) {
+                    batch.addHash(group);
+                    group.clear();
+                }
+                group.add(record);
+            }
+        }
+        batch.addHash(group);
+        batch.flush();
+        fileRecordCache.invalidateAll();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        loggingService.logInfo("Hash registry rebuilt", OPERATION,
+            "Hashes: " + batch.hashes + ", Records: " + batch.records + ", Flags corrected: " + batch.corrected
+                + ", Time: " + elapsedMs + "ms");
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hashes", batch.hashes);
+        result.put("records", batch.records);
+        result.put("flagsCorrected", batch.corrected);
+        result.put("elapsedMs", elapsedMs);
+        return result;
+    }
+
+    private List<FileRecord> findSameContent(FileRecord record) {
+        List<String> algorithms = new ArrayList<>();
+        algorithms.add(record.getHashAlgorithm());
+        if (record.getHashAlgorithm() == null) {
+            algorithms.add(FileHasherRegistry.DEFAULT_ALGORITHM);
+        } else if (FileHasherRegistry.DEFAULT_ALGORITHM.equals(record.getHashAlgorithm())) {
+            algorithms.add(null);
+        }
+        return fileRepository.findByFileHashAndHashAlgorithmIn(record.getFileHash(), algorithms);
+    }
+
+    private class RebuildBatch {
+
+        private final List<HashRegistryEntry> entries = new ArrayList<>();
+        private final List<FileRecord> changed = new ArrayList<>();
+        private int hashes;
+        private long records;
+        private long corrected;
+
+        // The copies of one hash; records of other algorithms with the same digest get their own entry
+        void addHash(List<FileRecord> copies) {
+            Map<String, List<FileRecord>> byKey = new LinkedHashMap<>();
+            for (FileRecord record : copies) {
+                byKey.computeIfAbsent(keyOf(record.getFileHash(), record.getHashAlgorithm()), key -> new ArrayList<>()).add(record);
+            }
+            for (Map.Entry<String, List<FileRecord>> sameContent : byKey.entrySet()) {
+                List<FileRecord> group = sameContent.getValue();
+                FileRecord keeper = group.stream().filter(record -> !record.isDuplicate()).findFirst().orElse(group.get(0));
+                HashRegistryEntry entry = new HashRegistryEntry(sameContent.getKey(), keeper.getFileHash(),
+                    keeper.getHashAlgorithm(), keeper.getId());
+                entry.setRefCount(group.size());
+                entries.add(entry);
+                hashes++;
+                records += group.size();
+                for (FileRecord record : group) {
+                    setDuplicate(record, record != keeper);
+                }
+            }
+            if (entries.size() >= REBUILD_BATCH_SIZE || changed.size() >= REBUILD_BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void setDuplicate(FileRecord record, boolean duplicate) {
+            if (duplicate != record.isDuplicate()) {
+                record.setDuplicate(duplicate);
+                changed.add(record);
+            }
+        }
+
+        // Renews the lease with every batch; a rebuild that lost it stops instead of
+        // writing alongside the instance that took over
+        void flush() {
+            if (!hashRegistryRepository.acquireRebuildLease(instanceId, rebuildLease)) {
+                throw new IllegalStateException("Lost the hash registry rebuild lease");
+            }
+            hashRegistryRepository.saveAll(entries);
+            corrected += fileRepository.saveAll(changed).size();
+            entries.clear();
+            changed.clear();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.yourname.filededup.service;
+
+import com.yourname.filededup.model.LogEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+// Retention per log level, e.g. app.logs.retention.info=14d. A blank or zero
+// value keeps entries of that level until they are cleared by hand.
+@Component
+public class LogRetentionPolicy {
+
+    @Value("${app.logs.retention.debug:}")
+    private String debugRetention;
+
+    @Value("${app.logs.retention.info:}")
+    private String infoRetention;
+
+    @Value("${app.logs.retention.warn:}")
+    private String warnRetention;
+
+    @Value("${app.logs.retention.error:}")
+    private String errorRetention;
+
+    @Value("${app.logs.retention.default:}")
+    private String defaultRetention;
+
+    private final Map<String, Duration> retentionByLevel = new HashMap<>();
+    private Duration fallback;
+
+    @PostConstruct
+    public void init() {
+        retentionByLevel.put(LogEntry.Level.DEBUG, parse(debugRetention));
+        retentionByLevel.put(LogEntry.Level.INFO, parse(infoRetention));
+        retentionByLevel.put(LogEntry.Level.WARN, parse(warnRetention));
+        retentionByLevel.put(LogEntry.Level.ERROR, parse(errorRetention));
+        fallback = parse(defaultRetention);
+    }
+
+    public Duration getRetention(String level) {
+        return retentionByLevel.getOrDefault(level, fallback);
+    }
+
+    public LocalDateTime expiryFor(LogEntry logEntry) {
+        Duration retention = getRetention(logEntry.getLevel());
+        if (retention == null || logEntry.getTimestamp() == null) {
+            return null;
+        }
+        return logEntry.getTimestamp().plus(retention);
+    }
+
+    private static Duration parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Duration duration = DurationStyle.detectAndParse(value.trim());
+        return duration.isZero() || duration.isNegative() ? null : duration;
+    }
+}
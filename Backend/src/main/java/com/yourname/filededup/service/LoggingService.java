@@ -1,42 +1,235 @@
 package com.yourname.filededup.service;
 
+import com.yourname.filededup.events.LiveEventHub;
+import com.yourname.filededup.metrics.ScanMetrics;
 import com.yourname.filededup.model.LogEntry;
+import com.yourname.filededup.model.LogQuery;
 import com.yourname.filededup.repository.LogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class LoggingService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final List<String> LEVEL_ORDER = List.of(
+        LogEntry.Level.DEBUG, LogEntry.Level.INFO, LogEntry.Level.WARN, LogEntry.Level.ERROR);
+
+    private static final ThreadLocal<Aggregation> CURRENT_AGGREGATION = new ThreadLocal<>();
+
     @Autowired
     private LogRepository logRepository;
 
+    @Autowired
+    private ScanMetrics scanMetrics;
+
+    @Autowired
+    private LiveEventHub liveEventHub;
+
+    @Autowired
+    private LogRetentionPolicy logRetentionPolicy;
+
+    @Value("${app.logs.retention.delete-batch-size:1000}")
+    private int deleteBatchSize;
+
+    // Lowest level written for operations without their own threshold
+    @Value("${app.logs.min-level:DEBUG}")
+    private String minLevel;
+
+    // Per-operation thresholds, e.g. CATEGORIZE=WARN,SAVE=INFO
+    @Value("${app.logs.operation-levels:}")
+    private String operationLevels;
+
+    @Value("${app.logs.aggregation.sample-size:5}")
+    private int aggregationSampleSize;
+
+    @Value("${app.logs.aggregation.max-groups:1000}")
+    private int aggregationMaxGroups;
+
+    private int minLevelRank;
+    private final Map<String, Integer> operationLevelRanks = new HashMap<>();
+
+    @PostConstruct
+    public void initLevels() {
+        minLevelRank = levelRank(minLevel.trim());
+        for (String entry : operationLevels.split(",")) {
+            String[] parts = entry.split("=", 2);
+            if (parts.length == 2 && !parts[0].isBlank()) {
+                operationLevelRanks.put(parts[0].trim(), levelRank(parts[1].trim()));
+            }
+        }
+    }
+
+    // Callers on hot paths check this before building message details
+    public boolean isEnabled(String level, String operation) {
+        return levelRank(level) >= operationLevelRanks.getOrDefault(operation, minLevelRank);
+    }
+
     public void logInfo(String message, String operation, String details) {
-        LogEntry logEntry = new LogEntry(LogEntry.Level.INFO, message, operation, details);
-        logRepository.save(logEntry);
+        log(LogEntry.Level.INFO, message, operation, details);
     }
 
     public void logWarn(String message, String operation, String details) {
-        LogEntry logEntry = new LogEntry(LogEntry.Level.WARN, message, operation, details);
-        logRepository.save(logEntry);
+        log(LogEntry.Level.WARN, message, operation, details);
     }
 
     public void logError(String message, String operation, String details) {
-        LogEntry logEntry = new LogEntry(LogEntry.Level.ERROR, message, operation, details);
-        logRepository.save(logEntry);
+        log(LogEntry.Level.ERROR, message, operation, details);
     }
 
     public void logDebug(String message, String operation, String details) {
-        LogEntry logEntry = new LogEntry(LogEntry.Level.DEBUG, message, operation, details);
+        log(LogEntry.Level.DEBUG, message, operation, details);
+    }
+
+    // Until the returned scope is closed, repeated events on this thread with the same
+    // level, message and operation are collapsed into one counted summary entry
+    public Aggregation aggregate(String scope) {
+        Aggregation aggregation = new Aggregation(scope, CURRENT_AGGREGATION.get());
+        CURRENT_AGGREGATION.set(aggregation);
+        return aggregation;
+    }
+
+    private void log(String level, String message, String operation, String details) {
+        if (!isEnabled(level, operation)) {
+            return;
+        }
+        Aggregation aggregation = CURRENT_AGGREGATION.get();
+        if (aggregation != null && aggregation.add(level, message, operation, details)) {
+            return;
+        }
+        write(new LogEntry(level, message, operation, details));
+    }
+
+    private static int levelRank(String level) {
+        int rank = LEVEL_ORDER.indexOf(level);
+        return rank >= 0 ? rank : LEVEL_ORDER.indexOf(LogEntry.Level.INFO);
+    }
+
+    private void write(LogEntry logEntry) {
+        long start = System.nanoTime();
+        logEntry.setExpireAt(logRetentionPolicy.expiryFor(logEntry));
         logRepository.save(logEntry);
+        scanMetrics.recordLogWrite(logEntry.getLevel(), System.nanoTime() - start);
+        liveEventHub.publishLog(logEntry);
     }
 
-    public List<LogEntry> getAllLogs() {
-        return logRepository.findAll();
+    // One page of logs, newest first. The cursor is opaque to clients: it encodes the
+    // (timestamp, id) of the last entry returned and is null once there is nothing left.
+    public Map<String, Object> getLogPage(LogQuery query, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDateTime beforeTimestamp = null;
+        String beforeId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] position = decodeCursor(cursor);
+            beforeTimestamp = LocalDateTime.parse(position[0]);
+            beforeId = position[1];
+        }
+        
+        List<LogEntry> logs = logRepository.findPage(query, beforeTimestamp, beforeId, pageSize);
+        String nextCursor = null;
+        if (logs.size() == pageSize) {
+            LogEntry last = logs.get(logs.size() - 1);
+            nextCursor = encodeCursor(last.getTimestamp(), last.getId());
+        }
+        
+        Map<String, Object> page = new HashMap<>();
+        page.put("logs", logs);
+        page.put("count", logs.size());
+        page.put("nextCursor", nextCursor);
+        return page;
+    }
+
+    private static String encodeCursor(LocalDateTime timestamp, String id) {
+        String position = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public class Aggregation implements AutoCloseable {
+
+        private final String scope;
+        private final Aggregation parent;
+        private final Map<String, LogEntry> summaries = new LinkedHashMap<>();
+        private final Map<String, List<String>> samples = new HashMap<>();
+
+        private Aggregation(String scope, Aggregation parent) {
+            this.scope = scope;
+            this.parent = parent;
+        }
+
+        // Runs task on the calling thread with this as its aggregation, e.g. on a scan's reader threads
+        public void runInScope(Runnable task) {
+            Aggregation previous = CURRENT_AGGREGATION.get();
+            CURRENT_AGGREGATION.set(this);
+            try {
+                task.run();
+            } finally {
+                CURRENT_AGGREGATION.set(previous);
+            }
+        }
+
+        private synchronized boolean add(String level, String message, String operation, String details) {
+            String key = level + '\u0000' + operation + '\u0000' + message;
+            LogEntry summary = summaries.get(key);
+            if (summary == null) {
+                if (summaries.size() >= aggregationMaxGroups) {
+                    return false;
+                }
+                summary = new LogEntry(level, message, operation);
+                summary.setOccurrences(0);
+                summaries.put(key, summary);
+                samples.put(key, new ArrayList<>(aggregationSampleSize));
+            }
+            summary.setOccurrences(summary.getOccurrences() + 1);
+            List<String> kept = samples.get(key);
+            if (details != null && kept.size() < aggregationSampleSize) {
+                kept.add(details);
+            }
+            return true;
+        }
+
+        @Override
+        public synchronized void close() {
+            CURRENT_AGGREGATION.set(parent);
+            for (Map.Entry<String, LogEntry> group : summaries.entrySet()) {
+                LogEntry summary = group.getValue();
+                List<String> kept = samples.get(group.getKey());
+                if (summary.getOccurrences() == 1) {
+                    summary.setOccurrences(null);
+                    summary.setDetails(kept.isEmpty() ? null : kept.get(0));
+                } else {
+                    summary.setDetails("Scope: " + scope + ", Occurrences: " + summary.getOccurrences()
+                        + (kept.isEmpty() ? "" : ", Samples: " + String.join(" | ", kept)));
+                }
+                write(summary);
+            }
+        }
     }
 
     public List<LogEntry> getLogsByLevel(String level) {
@@ -55,20 +248,28 @@ public class LoggingService {
         return logRepository.findByTimestampBetween(start, end);
     }
 
-    public List<LogEntry> searchLogs(String keyword) {
-        return logRepository.findByMessageContainingIgnoreCase(keyword);
-    }
-
     public void clearLogs() {
         logRepository.deleteAll();
         logInfo("All logs cleared", "ADMIN", "Log database cleared by user request");
     }
 
-    public void clearOldLogs(int daysToKeep) {
+    // Deletes in bounded batches (oldest first) instead of one unbounded delete,
+    // so a large backlog does not hold the collection for the whole removal
+    public long clearOldLogs(int daysToKeep) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysToKeep);
-        logRepository.deleteByTimestampBefore(cutoffDate);
+        PageRequest batch = PageRequest.of(0, deleteBatchSize);
+        long removed = 0;
+        
+        List<LogEntry> expired = logRepository.findIdsByTimestampBefore(cutoffDate, batch);
+        while (!expired.isEmpty()) {
+            logRepository.deleteAllById(expired.stream().map(LogEntry::getId).collect(Collectors.toList()));
+            removed += expired.size();
+            expired = logRepository.findIdsByTimestampBefore(cutoffDate, batch);
+        }
+        
         logInfo("Old logs cleared", "ADMIN", 
-            "Logs older than " + daysToKeep + " days have been removed");
+            "Removed " + removed + " logs older than " + daysToKeep + " days");
+        return removed;
     }
 
     public long getLogCountByLevel(String level) {
@@ -0,0 +1,70 @@
+package com.yourname.filededup.service;
+
+import com.yourname.filededup.model.FileRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.regex.Pattern;
+
+// Non-blocking read paths for dashboards. Results are streamed from the Mongo
+// cursor as the client consumes them instead of being collected into a list.
+// Each stream is ordered by id and holds at most limit records; pass the id of the
+// last record received as after to continue.
+@Service
+@Profile("!local")
+public class ReactiveFileService {
+
+    private static final int MAX_STREAM_SIZE = 10_000;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public Flux<FileRecord> getAllFiles(String after, int limit) {
+        return find(new Query(), after, limit);
+    }
+
+    public Flux<FileRecord> findDuplicates(String after, int limit) {
+        return find(new Query(Criteria.where("isDuplicate").is(true)), after, limit);
+    }
+
+    public Flux<FileRecord> getFilesByCategory(String category, String after, int limit) {
+        return find(new Query(Criteria.where("category").is(category)), after, limit);
+    }
+
+    // Same filters as FileService.searchFiles, evaluated by Mongo
+    public Flux<FileRecord> searchFiles(String fileName, String category, Long minSize, Long maxSize,
+                                        String after, int limit) {
+        Query query = new Query();
+        if (fileName != null && !fileName.isEmpty()) {
+            query.addCriteria(Criteria.where("fileName").regex(Pattern.quote(fileName), "i"));
+        }
+        if (category != null && !category.isEmpty()) {
+            query.addCriteria(Criteria.where("category").is(category));
+        }
+        if (minSize != null || maxSize != null) {
+            Criteria size = Criteria.where("fileSize");
+            if (minSize != null) {
+                size = size.gte(minSize);
+            }
+            if (maxSize != null) {
+                size = size.lte(maxSize);
+            }
+            query.addCriteria(size);
+        }
+        return find(query, after, limit);
+    }
+
+    private Flux<FileRecord> find(Query query, String after, int limit) {
+        if (after != null && !after.isEmpty()) {
+            query.addCriteria(Criteria.where("id").gt(after));
+        }
+        query.with(Sort.by("id")).limit(Math.max(1, Math.min(limit, MAX_STREAM_SIZE)));
+        return reactiveMongoTemplate.find(query, FileRecord.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.yourname.filededup.service;
+
+import com.yourname.filededup.model.LogEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+// Streams at most limit entries, newest first, from the (level, operation,
+// timestamp, _id) indexes. Pass the timestamp and id of the last entry received as
+// before and beforeId to continue with older ones.
+@Service
+@Profile("!local")
+public class ReactiveLogService {
+
+    private static final int MAX_STREAM_SIZE = 10_000;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public Flux<LogEntry> getLogs(String level, String operation, LocalDateTime before, String beforeId, int limit) {
+        Query query = new Query();
+        if (level != null) {
+            query.addCriteria(Criteria.where("level").is(level));
+        }
+        if (operation != null) {
+            query.addCriteria(Criteria.where("operation").is(operation));
+        }
+        if (before != null && beforeId != null) {
+            query.addCriteria(new Criteria().orOperator(
+                Criteria.where("timestamp").lt(before),
+                Criteria.where("timestamp").is(before).and("id").lt(beforeId)));
+        } else if (before != null) {
+            query.addCriteria(Criteria.where("timestamp").lt(before));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, "timestamp", "id")).limit(Math.max(1, Math.min(limit, MAX_STREAM_SIZE)));
+        return reactiveMongoTemplate.find(query, LogEntry.class);
+    }
+
+    public Flux<LogEntry> getRecentLogs(int count) {
+        return getLogs(null, null, null, null, count);
+    }
+}
@@ -0,0 +1,223 @@
+package com.yourname.filededup.service;
+
+import com.yourname.filededup.cache.FileRecordCache;
+import com.yourname.filededup.events.LiveEventHub;
+import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.repository.FileRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+// Re-applies extension rules to stored records in the background. Each extension
+// is one server-side multi-update; only extensions that now map to "Other" need
+// per-record categorization (MIME and size fallbacks), written as bulk updates.
+@Service
+public class RecategorizationService {
+
+    private static final String OPERATION = "RECATEGORIZE";
+    private static final String OTHER = "Other";
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private RuleEngineService ruleEngineService;
+
+    @Autowired
+    private LoggingService loggingService;
+
+    @Autowired
+    private LiveEventHub liveEventHub;
+
+    @Autowired
+    private FileRecordCache fileRecordCache;
+
+    @Value("${app.recategorize.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.recategorize.retained-jobs:20}")
+    private int retainedJobs;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "recategorize");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    // Null or empty extensions means every extension that has a rule
+    public Map<String, Object> start(List<String> extensions) {
+        List<String> targets = new ArrayList<>();
+        if (extensions == null || extensions.isEmpty()) {
+            targets.addAll(ruleEngineService.getAllCategoryRules().keySet());
+        } else {
+            for (String extension : extensions) {
+                targets.add(extension.toLowerCase());
+            }
+        }
+        
+        Job job = new Job(UUID.randomUUID().toString().substring(0, 8), targets);
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            Iterator<String> oldest = jobs.keySet().iterator();
+            while (jobs.size() > retainedJobs && oldest.hasNext()) {
+                String id = oldest.next();
+                if (jobs.get(id).isFinished()) {
+                    oldest.remove();
+                }
+            }
+        }
+        executor.submit(() -> run(job));
+        return job.toMap();
+    }
+
+    public Map<String, Object> getJob(String jobId) {
+        synchronized (jobs) {
+            Job job = jobs.get(jobId);
+            if (job == null) {
+                throw new IllegalArgumentException("Unknown recategorization job: " + jobId);
+            }
+            return job.toMap();
+        }
+    }
+
+    public List<Map<String, Object>> getJobs() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        synchronized (jobs) {
+            for (Job job : jobs.values()) {
+                result.add(job.toMap());
+            }
+        }
+        return result;
+    }
+
+    private void run(Job job) {
+        job.start();
+        publish(job);
+        Map<String, String> rules = ruleEngineService.getAllCategoryRules();
+        LoggingService.Aggregation jobLogs = loggingService.aggregate("recategorize " + job.id);
+        try {
+            for (String extension : job.extensions) {
+                String category = rules.getOrDefault(extension, OTHER);
+                long updated = OTHER.equals(category)
+                    ? recategorizeIndividually(extension)
+                    : fileRepository.updateCategoryByExtension(extension, category);
+                // Multi-document updates do not report which ids changed
+                if (updated > 0) {
+                    fileRecordCache.invalidateAll();
+                }
+                job.extensionDone(updated);
+                publish(job);
+            }
+            job.finish(null);
+            loggingService.logInfo("Recategorization completed", OPERATION,
+                "Job: " + job.id + ", Extensions: " + job.extensions.size() + ", Updated: " + job.updated);
+        } catch (Exception e) {
+            job.finish(e.getMessage());
+            loggingService.logError("Recategorization failed", OPERATION,
+                "Job: " + job.id + ", Error: " + e.getMessage());
+        } finally {
+            jobLogs.close();
+        }
+        publish(job);
+    }
+
+    private long recategorizeIndividually(String extension) {
+        long updated = 0;
+        Map<String, String> batch = new HashMap<>();
+        try (Stream<FileRecord> records = fileRepository.streamByFileExtension(extension)) {
+            Iterator<FileRecord> iterator = records.iterator();
+            while (iterator.hasNext()) {
+                FileRecord record = iterator.next();
+                String category = ruleEngineService.categorizeFile(record);
+                if (!category.equals(record.getCategory())) {
+                    batch.put(record.getId(), category);
+                }
+                if (batch.size() >= batchSize) {
+                    fileRepository.updateCategories(batch);
+                    updated += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        fileRepository.updateCategories(batch);
+        return updated + batch.size();
+    }
+
+    private void publish(Job job) {
+        Map<String, Object> progress = job.toMap();
+        progress.put("type", "recategorize");
+        liveEventHub.publishJobProgress(progress);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class Job {
+
+        private final String id;
+        private final List<String> extensions;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile String state = "queued";
+        private volatile int extensionsDone;
+        private volatile long updated;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Job(String id, List<String> extensions) {
+            this.id = id;
+            this.extensions = extensions;
+        }
+
+        private void start() {
+            startedAt = LocalDateTime.now();
+            state = "running";
+        }
+
+        private void extensionDone(long updatedRecords) {
+            updated += updatedRecords;
+            extensionsDone++;
+        }
+
+        private void finish(String failure) {
+            error = failure;
+            finishedAt = LocalDateTime.now();
+            state = failure == null ? "completed" : "failed";
+        }
+
+        private boolean isFinished() {
+            return finishedAt != null;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("jobId", id);
+            map.put("state", state);
+            map.put("extensionsTotal", extensions.size());
+            map.put("extensionsDone", extensionsDone);
+            map.put("updatedRecords", updated);
+            map.put("submittedAt", submittedAt);
+            map.put("startedAt", startedAt);
+            map.put("finishedAt", finishedAt);
+            map.put("error", error);
+            return map;
+        }
+    }
+}
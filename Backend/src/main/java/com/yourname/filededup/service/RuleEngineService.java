@@ -2,17 +2,23 @@ package com.yourname.filededup.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourname.filededup.hash.FileHasherRegistry;
+import com.yourname.filededup.metrics.ScanMetrics;
 import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.model.LogEntry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
-import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class RuleEngineService {
@@ -20,15 +26,26 @@ public class RuleEngineService {
     @Autowired
     private LoggingService loggingService;
 
+    @Autowired
+    private FileHasherRegistry fileHasherRegistry;
+
+    @Autowired
+    private ScanMetrics scanMetrics;
+
     private Map<String, String> categoryRules;
+    // Read by the scan reader threads while rules are updated from requests
     private Map<String, String> extensionToCategory;
+    private String hashAlgorithm = FileHasherRegistry.DEFAULT_ALGORITHM;
+    private List<String> excludedDirectories = new ArrayList<>();
+    private List<String> excludedExtensions = new ArrayList<>();
+    private List<String> excludedPatterns = new ArrayList<>();
 
-    @PostConstruct
-    public void initializeRules() {
-        loadCategorizationRules();
-    }
+    // Rules are read and compiled on first use instead of during startup
+    private volatile boolean rulesLoaded;
 
     public String categorizeFile(FileRecord fileRecord) {
+        ensureRulesLoaded();
+        long start = System.nanoTime();
         String category = categorizeByExtension(fileRecord.getFileExtension());
         
         if ("Other".equals(category)) {
@@ -39,8 +56,12 @@ public class RuleEngineService {
             category = categorizeBySize(fileRecord.getFileSize());
         }
         
-        loggingService.logInfo("File categorized", "CATEGORIZE", 
-            "File: " + fileRecord.getFileName() + ", Category: " + category);
+        scanMetrics.recordCategorization(category, System.nanoTime() - start);
+        
+        if (loggingService.isEnabled(LogEntry.Level.INFO, "CATEGORIZE")) {
+            loggingService.logInfo("File categorized", "CATEGORIZE", 
+                "File: " + fileRecord.getFileName() + ", Category: " + category);
+        }
         
         return category;
     }
@@ -86,6 +107,18 @@ public class RuleEngineService {
         return "Other";
     }
 
+    private void ensureRulesLoaded() {
+        if (rulesLoaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!rulesLoaded) {
+                loadCategorizationRules();
+                rulesLoaded = true;
+            }
+        }
+    }
+
     private void loadCategorizationRules() {
         try {
             ClassPathResource resource = new ClassPathResource("rules/categorization-rules.json");
@@ -95,7 +128,7 @@ public class RuleEngineService {
             JsonNode rootNode = objectMapper.readTree(inputStream);
             
             categoryRules = new HashMap<>();
-            extensionToCategory = new HashMap<>();
+            extensionToCategory = new ConcurrentHashMap<>();
             
             JsonNode categoriesNode = rootNode.get("categories");
             if (categoriesNode != null) {
@@ -114,8 +147,17 @@ public class RuleEngineService {
                 }
             }
             
+            loadHashAlgorithm(rootNode.path("rules").path("duplicate_detection"));
+            
+            JsonNode exclusionsNode = rootNode.path("rules").path("exclusions");
+            excludedDirectories = readStringList(exclusionsNode.path("directories"));
+            excludedExtensions = readStringList(exclusionsNode.path("extensions"));
+            excludedPatterns = readStringList(exclusionsNode.path("patterns"));
+            
             loggingService.logInfo("Categorization rules loaded", "INIT", 
-                "Loaded " + extensionToCategory.size() + " extension mappings");
+                "Loaded " + extensionToCategory.size() + " extension mappings, Hash algorithm: " + hashAlgorithm
+                    + ", Exclusions: " + excludedDirectories.size() + " directories, "
+                    + excludedExtensions.size() + " extensions, " + excludedPatterns.size() + " patterns");
             
         } catch (IOException e) {
             loggingService.logError("Failed to load categorization rules", "INIT", 
@@ -124,8 +166,33 @@ public class RuleEngineService {
         }
     }
 
+    private List<String> readStringList(JsonNode arrayNode) {
+        List<String> values = new ArrayList<>();
+        if (arrayNode.isArray()) {
+            for (JsonNode valueNode : arrayNode) {
+                values.add(valueNode.asText());
+            }
+        }
+        return values;
+    }
+
+    private void loadHashAlgorithm(JsonNode duplicateDetectionNode) {
+        String configured = duplicateDetectionNode.path("hash_algorithm").asText(null);
+        if (configured == null || configured.isEmpty()) {
+            return;
+        }
+        
+        if (fileHasherRegistry.supports(configured)) {
+            hashAlgorithm = fileHasherRegistry.get(configured).getAlgorithm();
+        } else {
+            loggingService.logWarn("Unsupported hash algorithm configured", "INIT", 
+                "Algorithm: " + configured + ", Falling back to: " + hashAlgorithm
+                    + ", Available: " + fileHasherRegistry.getAvailableAlgorithms());
+        }
+    }
+
     private void initializeDefaultRules() {
-        extensionToCategory = new HashMap<>();
+        extensionToCategory = new ConcurrentHashMap<>();
         
         // Images
         String[] imageExtensions = {"jpg", "jpeg", "png", "gif", "bmp", "tiff", "svg", "webp"};
@@ -167,11 +234,33 @@ public class RuleEngineService {
             "Loaded " + extensionToCategory.size() + " default extension mappings");
     }
 
+    public String getHashAlgorithm() {
+        ensureRulesLoaded();
+        return hashAlgorithm;
+    }
+
+    public List<String> getExcludedDirectories() {
+        ensureRulesLoaded();
+        return Collections.unmodifiableList(excludedDirectories);
+    }
+
+    public List<String> getExcludedExtensions() {
+        ensureRulesLoaded();
+        return Collections.unmodifiableList(excludedExtensions);
+    }
+
+    public List<String> getExcludedPatterns() {
+        ensureRulesLoaded();
+        return Collections.unmodifiableList(excludedPatterns);
+    }
+
     public Map<String, String> getAllCategoryRules() {
+        ensureRulesLoaded();
         return new HashMap<>(extensionToCategory);
     }
 
     public void updateCategoryRule(String extension, String category) {
+        ensureRulesLoaded();
         extensionToCategory.put(extension.toLowerCase(), category);
         loggingService.logInfo("Category rule updated", "UPDATE", 
             "Extension: " + extension + ", Category: " + category);
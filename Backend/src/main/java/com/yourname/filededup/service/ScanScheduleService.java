@@ -0,0 +1,192 @@
+package com.yourname.filededup.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Starts directory scans on cron schedules, e.g. only at night. The trigger only
+// queues the scan; scheduled scans run one at a time on their own thread, so a
+// long scan never holds up other scheduled tasks. A schedule whose previous run
+// is still going is skipped for that tick.
+@Service
+public class ScanScheduleService {
+
+    private static final String OPERATION = "SCAN_SCHEDULE";
+
+    @Autowired
+    private FileService fileService;
+
+    @Autowired
+    private LoggingService loggingService;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    // "<cron>|<directory>[|archives]" entries separated by ';', cron with seconds, e.g. "0 0 1 * * *|/data"
+    @Value("${app.scan.schedules:}")
+    private String configuredSchedules;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "scheduled-scan");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, Schedule> schedules = new LinkedHashMap<>();
+
+    @PostConstruct
+    void initSchedules() {
+        for (String entry : configuredSchedules.split(";")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split("\\|");
+            if (parts.length < 2) {
+                throw new IllegalArgumentException("Invalid scan schedule: " + entry);
+            }
+            add(parts[1].trim(), parts[0].trim(), parts.length > 2 && "archives".equalsIgnoreCase(parts[2].trim()));
+        }
+    }
+
+    public Map<String, Object> add(String directoryPath, String cron, boolean includeArchives) {
+        if (directoryPath == null || directoryPath.isBlank()) {
+            throw new IllegalArgumentException("Directory path is required");
+        }
+        if (!CronExpression.isValidExpression(cron)) {
+            throw new IllegalArgumentException("Invalid cron expression: " + cron);
+        }
+        
+        Schedule schedule = new Schedule(UUID.randomUUID().toString().substring(0, 8), directoryPath, cron, includeArchives);
+        synchronized (schedules) {
+            schedules.put(schedule.id, schedule);
+        }
+        schedule.future = taskScheduler.schedule(() -> submit(schedule), new CronTrigger(cron));
+        
+        loggingService.logInfo("Scan schedule added", OPERATION,
+            "Schedule: " + schedule.id + ", Directory: " + directoryPath + ", Cron: " + cron);
+        return schedule.toMap();
+    }
+
+    public void remove(String scheduleId) {
+        Schedule schedule;
+        synchronized (schedules) {
+            schedule = schedules.remove(scheduleId);
+        }
+        if (schedule == null) {
+            throw new IllegalArgumentException("Unknown scan schedule: " + scheduleId);
+        }
+        schedule.future.cancel(false);
+        loggingService.logInfo("Scan schedule removed", OPERATION, "Schedule: " + scheduleId);
+    }
+
+    public Map<String, Object> runNow(String scheduleId) {
+        Schedule schedule = get(scheduleId);
+        submit(schedule);
+        return schedule.toMap();
+    }
+
+    public List<Map<String, Object>> getSchedules() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        synchronized (schedules) {
+            for (Schedule schedule : schedules.values()) {
+                result.add(schedule.toMap());
+            }
+        }
+        return result;
+    }
+
+    private Schedule get(String scheduleId) {
+        synchronized (schedules) {
+            Schedule schedule = schedules.get(scheduleId);
+            if (schedule == null) {
+                throw new IllegalArgumentException("Unknown scan schedule: " + scheduleId);
+            }
+            return schedule;
+        }
+    }
+
+    private void submit(Schedule schedule) {
+        if (!schedule.queued.compareAndSet(false, true)) {
+            loggingService.logWarn("Scheduled scan skipped, previous run still active", OPERATION,
+                "Schedule: " + schedule.id + ", Directory: " + schedule.directoryPath);
+            return;
+        }
+        executor.submit(() -> run(schedule));
+    }
+
+    private void run(Schedule schedule) {
+        schedule.lastStartedAt = LocalDateTime.now();
+        try {
+            Map<String, Object> result = fileService.scanDirectory(schedule.directoryPath, schedule.includeArchives);
+            schedule.lastScanJobId = (String) result.get("scanJobId");
+            schedule.lastError = null;
+        } catch (Exception e) {
+            schedule.lastError = e.getMessage();
+            loggingService.logError("Scheduled scan failed", OPERATION,
+                "Schedule: " + schedule.id + ", Directory: " + schedule.directoryPath + ", Error: " + e.getMessage());
+        } finally {
+            schedule.lastFinishedAt = LocalDateTime.now();
+            schedule.queued.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (schedules) {
+            schedules.values().forEach(schedule -> schedule.future.cancel(false));
+        }
+        executor.shutdownNow();
+    }
+
+    private static final class Schedule {
+
+        private final String id;
+        private final String directoryPath;
+        private final String cron;
+        private final boolean includeArchives;
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private volatile ScheduledFuture<?> future;
+        private volatile LocalDateTime lastStartedAt;
+        private volatile LocalDateTime lastFinishedAt;
+        private volatile String lastScanJobId;
+        private volatile String lastError;
+
+        private Schedule(String id, String directoryPath, String cron, boolean includeArchives) {
+            this.id = id;
+            this.directoryPath = directoryPath;
+            this.cron = cron;
+            this.includeArchives = includeArchives;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("scheduleId", id);
+            map.put("directoryPath", directoryPath);
+            map.put("cron", cron);
+            map.put("includeArchives", includeArchives);
+            map.put("nextRun", CronExpression.parse(cron).next(LocalDateTime.now()));
+            map.put("running", queued.get());
+            map.put("lastStartedAt", lastStartedAt);
+            map.put("lastFinishedAt", lastFinishedAt);
+            map.put("lastScanJobId", lastScanJobId);
+            map.put("lastError", lastError);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.yourname.filededup.service;
+
+import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.repository.FileRepository;
+import com.yourname.filededup.snapshot.FileSnapshot;
+import com.yourname.filededup.snapshot.SnapshotWriter;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Service
+public class SnapshotService {
+
+    private static final String OPERATION = "SNAPSHOT";
+    private static final int IMPORT_BATCH_SIZE = 1000;
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private LoggingService loggingService;
+
+    @Autowired
+    private HashRegistryService hashRegistryService;
+
+    @Value("${app.snapshot.path:}")
+    private String defaultPath;
+
+    @Value("${app.snapshot.load-on-startup:false}")
+    private boolean loadOnStartup;
+
+    private FileSnapshot loadedSnapshot;
+    private Map<String, Object> warmStatistics;
+
+    public Map<String, Object> exportSnapshot(String path) throws IOException {
+        Path target = resolve(path);
+        long start = System.nanoTime();
+        int written;
+        try (SnapshotWriter writer = new SnapshotWriter(target);
+             Stream<FileRecord> records = fileRepository.streamAllBy()) {
+            Iterator<FileRecord> iterator = records.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+            written = writer.finish();
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        
+        loggingService.logInfo("Snapshot exported", OPERATION,
+            "Records: " + written + ", Path: " + target + ", Time: " + elapsedMs + "ms");
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("path", target.toString());
+        result.put("records", written);
+        result.put("bytes", Files.size(target));
+        result.put("elapsedMs", elapsedMs);
+        return result;
+    }
+
+    public Map<String, Object> importSnapshot(String path) throws IOException {
+        Path source = resolve(path);
+        long start = System.nanoTime();
+        int imported = 0;
+        try (FileSnapshot snapshot = FileSnapshot.open(source)) {
+            List<FileRecord> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+            for (int i = 0; i < snapshot.size(); i++) {
+                batch.add(snapshot.toRecord(i));
+                if (batch.size() == IMPORT_BATCH_SIZE) {
+                    imported += fileRepository.saveAll(batch).size();
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                imported += fileRepository.saveAll(batch).size();
+            }
+        }
+        // Imported records bypass the registry, so references and duplicate flags are recomputed
+        Map<String, Object> registry = hashRegistryService.rebuild();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        
+        loggingService.logInfo("Snapshot imported", OPERATION,
+            "Records: " + imported + ", Path: " + source + ", Time: " + elapsedMs + "ms");
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("path", source.toString());
+        result.put("records", imported);
+        result.put("hashRegistry", registry);
+        result.put("elapsedMs", elapsedMs);
+        return result;
+    }
+
+    // Maps a snapshot and precomputes its statistics and duplicate group index so
+    // they can be served without touching the database. Groups are read from the
+    // mapped columns per request.
+    public synchronized Map<String, Object> loadSnapshot(String path) throws IOException {
+        Path source = resolve(path);
+        long start = System.nanoTime();
+        FileSnapshot snapshot = FileSnapshot.open(source);
+        Map<String, Object> statistics = snapshot.statistics();
+        int duplicateGroups = snapshot.duplicateGroupCount();
+        
+        closeLoadedSnapshot();
+        loadedSnapshot = snapshot;
+        warmStatistics = statistics;
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        
+        loggingService.logInfo("Snapshot loaded", OPERATION,
+            "Records: " + snapshot.size() + ", Duplicate groups: " + duplicateGroups
+                + ", Path: " + source + ", Time: " + elapsedMs + "ms");
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("path", source.toString());
+        result.put("records", snapshot.size());
+        result.put("createdAt", snapshot.getCreatedAt());
+        result.put("duplicateGroups", duplicateGroups);
+        result.put("elapsedMs", elapsedMs);
+        return result;
+    }
+
+    public synchronized boolean isLoaded() {
+        return loadedSnapshot != null;
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        requireLoaded();
+        return warmStatistics;
+    }
+
+    public synchronized List<Map<String, Object>> getDuplicateGroups(int limit) {
+        requireLoaded();
+        return loadedSnapshot.duplicateGroups(limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!loadOnStartup || defaultPath.isBlank()) {
+            return;
+        }
+        if (!Files.exists(Paths.get(defaultPath))) {
+            loggingService.logWarn("Snapshot not found, skipping startup load", OPERATION, "Path: " + defaultPath);
+            return;
+        }
+        try {
+            loadSnapshot(defaultPath);
+        } catch (Exception e) {
+            loggingService.logError("Failed to load snapshot on startup", OPERATION, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void closeLoadedSnapshot() throws IOException {
+        if (loadedSnapshot != null) {
+            loadedSnapshot.close();
+            loadedSnapshot = null;
+            warmStatistics = null;
+        }
+    }
+
+    private void requireLoaded() {
+        if (loadedSnapshot == null) {
+            throw new IllegalStateException("No snapshot loaded");
+        }
+    }
+
+    private Path resolve(String path) {
+        String resolved = path != null && !path.isBlank() ? path : defaultPath;
+        if (resolved == null || resolved.isBlank()) {
+            throw new IllegalArgumentException("Snapshot path is required");
+        }
+        return Paths.get(resolved);
+    }
+}
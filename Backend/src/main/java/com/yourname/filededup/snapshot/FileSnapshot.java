@@ -0,0 +1,327 @@
+package com.yourname.filededup.snapshot;
+
+import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.snapshot.SnapshotFormat.Section;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Read-only view over a snapshot file. Every column is memory-mapped and read in
+// place; records are only materialized when toRecord is called. Each section is
+// mapped on its own, so a single column is limited to 2 GB.
+public class FileSnapshot implements Closeable {
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int recordCount;
+    private final long createdAt;
+    private final Map<Section, MappedByteBuffer> sections = new EnumMap<>(Section.class);
+    private final String[] directories;
+    private final String[] algorithms;
+    private final String[] categories;
+    private final String[] extensions;
+    private final String[] mimeTypes;
+    private int[] groupMembers;
+    private int[] groupStarts;
+
+    private FileSnapshot(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SnapshotFormat.HEADER_SIZE);
+        byte[] magic = new byte[SnapshotFormat.MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(magic, SnapshotFormat.MAGIC) || header.getShort() != SnapshotFormat.VERSION) {
+            channel.close();
+            throw new IOException("Not a file index snapshot: " + file);
+        }
+        recordCount = header.getInt();
+        createdAt = header.getLong();
+        int sectionCount = header.getInt();
+        for (int i = 0; i < sectionCount; i++) {
+            long offset = header.getLong();
+            long length = header.getLong();
+            sections.put(Section.values()[i], channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+        }
+
+        // Dictionaries are small and decoded once
+        directories = decodeDictionary(Section.DIRECTORY_DICTIONARY);
+        algorithms = decodeDictionary(Section.ALGORITHM_DICTIONARY);
+        categories = decodeDictionary(Section.CATEGORY_DICTIONARY);
+        extensions = decodeDictionary(Section.EXTENSION_DICTIONARY);
+        mimeTypes = decodeDictionary(Section.MIME_DICTIONARY);
+    }
+
+    public static FileSnapshot open(Path file) throws IOException {
+        return new FileSnapshot(file);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(createdAt), ZoneId.systemDefault());
+    }
+
+    // Column accessors
+
+    public long fileSize(int index) {
+        return sections.get(Section.SIZES).getLong(index * 8);
+    }
+
+    public String category(int index) {
+        return lookup(categories, sections.get(Section.CATEGORY_CODES).getShort(index * 2));
+    }
+
+    public boolean isDuplicate(int index) {
+        return sections.get(Section.DUPLICATE_FLAGS).get(index) != 0;
+    }
+
+    public String path(int index) {
+        String directory = lookup(directories, sections.get(Section.DIRECTORY_CODES).getInt(index * 4));
+        return (directory != null ? directory : "") + string(Section.FILE_NAMES, index);
+    }
+
+    public String hash(int index) {
+        int length = sections.get(Section.HASH_LENGTHS).get(index);
+        if (length == 0) {
+            String raw = string(Section.RAW_HASHES, index);
+            return raw.isEmpty() ? null : raw;
+        }
+        ByteBuffer hashes = sections.get(Section.HASHES);
+        StringBuilder hex = new StringBuilder(length * 2);
+        int base = index * SnapshotFormat.HASH_SLOT;
+        for (int i = 0; i < length; i++) {
+            int value = hashes.get(base + i) & 0xff;
+            hex.append(Character.forDigit(value >> 4, 16)).append(Character.forDigit(value & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    public FileRecord toRecord(int index) {
+        FileRecord record = new FileRecord();
+        record.setId(string(Section.IDS, index));
+        String path = path(index);
+        record.setFilePath(path);
+        record.setFileName(path.substring(Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1));
+        record.setFileExtension(lookup(extensions, sections.get(Section.EXTENSION_CODES).getInt(index * 4)));
+        record.setFileSize(fileSize(index));
+        record.setFileHash(hash(index));
+        record.setHashAlgorithm(lookup(algorithms, sections.get(Section.ALGORITHM_CODES).getShort(index * 2)));
+        record.setCategory(category(index));
+        record.setMimeType(lookup(mimeTypes, sections.get(Section.MIME_CODES).getShort(index * 2)));
+        record.setDuplicate(isDuplicate(index));
+        record.setCreatedDate(time(Section.CREATED_TIMES, index));
+        record.setModifiedDate(time(Section.MODIFIED_TIMES, index));
+        record.setScannedDate(time(Section.SCANNED_TIMES, index));
+        return record;
+    }
+
+    // Queries that run directly over the mapped columns
+
+    // Same shape as FileService.getFileStatistics
+    public Map<String, Object> statistics() {
+        long duplicates = 0;
+        long totalSize = 0;
+        long[] sizeBuckets = new long[4];
+        long[] categoryCounts = new long[categories.length + 1];
+
+        for (int i = 0; i < recordCount; i++) {
+            long size = fileSize(i);
+            totalSize += size;
+            if (isDuplicate(i)) {
+                duplicates++;
+            }
+            if (size < 1024) {
+                sizeBuckets[0]++;
+            } else if (size < 1024 * 1024) {
+                sizeBuckets[1]++;
+            } else if (size < 100 * 1024 * 1024) {
+                sizeBuckets[2]++;
+            } else {
+                sizeBuckets[3]++;
+            }
+            categoryCounts[sections.get(Section.CATEGORY_CODES).getShort(i * 2) + 1]++;
+        }
+
+        Map<String, Long> categoryBreakdown = new HashMap<>();
+        for (int code = -1; code < categories.length; code++) {
+            long count = categoryCounts[code + 1];
+            if (count > 0) {
+                categoryBreakdown.merge(code < 0 ? "Other" : categories[code], count, Long::sum);
+            }
+        }
+
+        Map<String, Long> sizeBreakdown = new HashMap<>();
+        sizeBreakdown.put("small", sizeBuckets[0]);
+        sizeBreakdown.put("medium", sizeBuckets[1]);
+        sizeBreakdown.put("large", sizeBuckets[2]);
+        sizeBreakdown.put("xlarge", sizeBuckets[3]);
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalFiles", recordCount);
+        stats.put("duplicateFiles", duplicates);
+        stats.put("totalSize", totalSize);
+        stats.put("averageSize", recordCount == 0 ? 0 : (double) totalSize / recordCount);
+        stats.put("categoryBreakdown", categoryBreakdown);
+        stats.put("sizeBreakdown", sizeBreakdown);
+        return stats;
+    }
+
+    public synchronized int duplicateGroupCount() {
+        indexDuplicateGroups();
+        return groupStarts.length - 1;
+    }
+
+    // Groups of records sharing algorithm and content hash, largest wasted space first.
+    // Only the first limit groups are materialized; paths are read from the mapped columns.
+    public synchronized List<Map<String, Object>> duplicateGroups(int limit) {
+        indexDuplicateGroups();
+        int count = Math.min(Math.max(limit, 0), groupStarts.length - 1);
+        List<Map<String, Object>> groups = new ArrayList<>(count);
+        for (int group = 0; group < count; group++) {
+            groups.add(group(group));
+        }
+        return groups;
+    }
+
+    // Sorts one long per record (32-bit hash prefix + record index) and only compares
+    // full hashes inside runs that share the prefix. The result is kept as two int arrays:
+    // the record indexes of every group, stored back to back in wasted-space order, and
+    // where each group starts.
+    private void indexDuplicateGroups() {
+        if (groupStarts != null) {
+            return;
+        }
+        ByteBuffer hashes = sections.get(Section.HASHES);
+        ByteBuffer lengths = sections.get(Section.HASH_LENGTHS);
+        long[] keys = new long[recordCount];
+        int packed = 0;
+        for (int i = 0; i < recordCount; i++) {
+            if (lengths.get(i) > 0) {
+                long prefix = hashes.getInt(i * SnapshotFormat.HASH_SLOT) & 0xffffffffL;
+                keys[packed++] = (prefix << 32) | i;
+            }
+        }
+        Arrays.sort(keys, 0, packed);
+
+        List<int[]> groups = new ArrayList<>();
+        int memberCount = 0;
+        int runStart = 0;
+        while (runStart < packed) {
+            int runEnd = runStart + 1;
+            while (runEnd < packed && (keys[runEnd] >>> 32) == (keys[runStart] >>> 32)) {
+                runEnd++;
+            }
+            if (runEnd - runStart > 1) {
+                Map<String, List<Integer>> byHash = new LinkedHashMap<>();
+                for (int k = runStart; k < runEnd; k++) {
+                    int index = (int) keys[k];
+                    String key = sections.get(Section.ALGORITHM_CODES).getShort(index * 2) + ":" + hash(index);
+                    byHash.computeIfAbsent(key, h -> new ArrayList<>()).add(index);
+                }
+                for (List<Integer> members : byHash.values()) {
+                    if (members.size() > 1) {
+                        groups.add(members.stream().mapToInt(Integer::intValue).toArray());
+                        memberCount += members.size();
+                    }
+                }
+            }
+            runStart = runEnd;
+        }
+        groups.sort((a, b) -> Long.compare(wastedBytes(b), wastedBytes(a)));
+
+        int[] members = new int[memberCount];
+        int[] starts = new int[groups.size() + 1];
+        int next = 0;
+        for (int group = 0; group < groups.size(); group++) {
+            starts[group] = next;
+            int[] indexes = groups.get(group);
+            System.arraycopy(indexes, 0, members, next, indexes.length);
+            next += indexes.length;
+        }
+        starts[groups.size()] = next;
+        groupMembers = members;
+        groupStarts = starts;
+    }
+
+    private long wastedBytes(int[] members) {
+        return fileSize(members[0]) * (members.length - 1);
+    }
+
+    private Map<String, Object> group(int group) {
+        int from = groupStarts[group];
+        int to = groupStarts[group + 1];
+        int first = groupMembers[from];
+        List<String> paths = new ArrayList<>(to - from);
+        for (int m = from; m < to; m++) {
+            paths.add(path(groupMembers[m]));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hash", hash(first));
+        result.put("hashAlgorithm", lookup(algorithms, sections.get(Section.ALGORITHM_CODES).getShort(first * 2)));
+        result.put("fileSize", fileSize(first));
+        result.put("count", to - from);
+        result.put("wastedBytes", fileSize(first) * (to - from - 1));
+        result.put("paths", paths);
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        sections.clear();
+        channel.close();
+    }
+
+    private LocalDateTime time(Section section, int index) {
+        long millis = sections.get(section).getLong(index * 8);
+        return millis == SnapshotFormat.NULL_TIME ? null
+            : LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    private String string(Section section, int index) {
+        ByteBuffer column = sections.get(section);
+        int count = column.getInt(0);
+        int dataStart = 4 + (count + 1) * 4;
+        int start = column.getInt(4 + index * 4);
+        int end = column.getInt(4 + (index + 1) * 4);
+        byte[] bytes = new byte[end - start];
+        column.get(dataStart + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private String[] decodeDictionary(Section section) {
+        int count = sections.get(section).getInt(0);
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = string(section, i);
+        }
+        return values;
+    }
+
+    private static String lookup(String[] dictionary, int code) {
+        return code >= 0 && code < dictionary.length ? dictionary[code] : null;
+    }
+}
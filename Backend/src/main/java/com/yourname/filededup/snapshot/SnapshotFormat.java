@@ -0,0 +1,48 @@
+package com.yourname.filededup.snapshot;
+
+// Layout of a file index snapshot (all integers big-endian):
+//
+//   header   : magic "FDSNAP", version (short), record count (int), created-at millis (long),
+//              section count (int), then per section: offset (long), length (long)
+//   sections : one column per section, in Section order
+//
+// Column encodings:
+//   string column     : count (int), offsets (int * (count + 1)), UTF-8 bytes
+//   dictionary column : a string column of distinct values plus a code column
+//   packed hashes     : HASH_SLOT bytes per record, lengths in a separate byte column;
+//                       length 0 means the hash was not hex and lives in RAW_HASHES
+final class SnapshotFormat {
+
+    static final byte[] MAGIC = {'F', 'D', 'S', 'N', 'A', 'P'};
+    static final short VERSION = 1;
+    static final int HASH_SLOT = 32;
+    static final long NULL_TIME = Long.MIN_VALUE;
+
+    enum Section {
+        IDS,
+        DIRECTORY_DICTIONARY,
+        DIRECTORY_CODES,
+        FILE_NAMES,
+        SIZES,
+        HASH_LENGTHS,
+        HASHES,
+        RAW_HASHES,
+        ALGORITHM_DICTIONARY,
+        ALGORITHM_CODES,
+        CATEGORY_DICTIONARY,
+        CATEGORY_CODES,
+        EXTENSION_DICTIONARY,
+        EXTENSION_CODES,
+        MIME_DICTIONARY,
+        MIME_CODES,
+        DUPLICATE_FLAGS,
+        CREATED_TIMES,
+        MODIFIED_TIMES,
+        SCANNED_TIMES
+    }
+
+    static final int HEADER_SIZE = MAGIC.length + 2 + 4 + 8 + 4 + Section.values().length * 16;
+
+    private SnapshotFormat() {
+    }
+}
@@ -0,0 +1,261 @@
+package com.yourname.filededup.snapshot;
+
+import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.snapshot.SnapshotFormat.Section;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Streams records into per-column spill files, then stitches them into a single
+// snapshot. Heap use is bounded by the dictionaries, not the record count.
+public class SnapshotWriter implements Closeable {
+
+    private final Path target;
+    private final Path workDirectory;
+    private final Map<Section, Spill> spills = new EnumMap<>(Section.class);
+    private final StringColumn ids;
+    private final StringColumn fileNames;
+    private final StringColumn rawHashes;
+    private final Dictionary directories = new Dictionary();
+    private final Dictionary algorithms = new Dictionary();
+    private final Dictionary categories = new Dictionary();
+    private final Dictionary extensions = new Dictionary();
+    private final Dictionary mimeTypes = new Dictionary();
+    private int recordCount;
+
+    public SnapshotWriter(Path target) throws IOException {
+        this.target = target;
+        Path parent = Files.createDirectories(target.toAbsolutePath().getParent());
+        this.workDirectory = Files.createTempDirectory(parent, ".snapshot-");
+        for (Section section : Section.values()) {
+            spills.put(section, new Spill(workDirectory.resolve(section.name())));
+        }
+        ids = new StringColumn(workDirectory.resolve("ids.bytes"));
+        fileNames = new StringColumn(workDirectory.resolve("names.bytes"));
+        rawHashes = new StringColumn(workDirectory.resolve("raw-hashes.bytes"));
+    }
+
+    public void write(FileRecord record) throws IOException {
+        ids.add(record.getId());
+
+        String path = record.getFilePath() != null ? record.getFilePath() : "";
+        int split = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1;
+        spills.get(Section.DIRECTORY_CODES).out.writeInt(directories.code(path.substring(0, split)));
+        fileNames.add(path.substring(split));
+
+        spills.get(Section.SIZES).out.writeLong(record.getFileSize());
+
+        byte[] packed = packHex(record.getFileHash());
+        DataOutputStream hashes = spills.get(Section.HASHES).out;
+        if (packed != null) {
+            spills.get(Section.HASH_LENGTHS).out.writeByte(packed.length);
+            hashes.write(packed);
+            hashes.write(new byte[SnapshotFormat.HASH_SLOT - packed.length]);
+            rawHashes.add(null);
+        } else {
+            spills.get(Section.HASH_LENGTHS).out.writeByte(0);
+            hashes.write(new byte[SnapshotFormat.HASH_SLOT]);
+            rawHashes.add(record.getFileHash());
+        }
+
+        spills.get(Section.ALGORITHM_CODES).out.writeShort(shortCode(algorithms, record.getHashAlgorithm()));
+        spills.get(Section.CATEGORY_CODES).out.writeShort(shortCode(categories, record.getCategory()));
+        spills.get(Section.EXTENSION_CODES).out.writeInt(extensions.code(record.getFileExtension()));
+        spills.get(Section.MIME_CODES).out.writeShort(shortCode(mimeTypes, record.getMimeType()));
+        spills.get(Section.DUPLICATE_FLAGS).out.writeByte(record.isDuplicate() ? 1 : 0);
+        spills.get(Section.CREATED_TIMES).out.writeLong(toMillis(record.getCreatedDate()));
+        spills.get(Section.MODIFIED_TIMES).out.writeLong(toMillis(record.getModifiedDate()));
+        spills.get(Section.SCANNED_TIMES).out.writeLong(toMillis(record.getScannedDate()));
+        recordCount++;
+    }
+
+    // Writes the finished snapshot next to the target and moves it into place
+    public int finish() throws IOException {
+        ids.writeTo(spills.get(Section.IDS).out);
+        fileNames.writeTo(spills.get(Section.FILE_NAMES).out);
+        rawHashes.writeTo(spills.get(Section.RAW_HASHES).out);
+        directories.writeTo(spills.get(Section.DIRECTORY_DICTIONARY).out);
+        algorithms.writeTo(spills.get(Section.ALGORITHM_DICTIONARY).out);
+        categories.writeTo(spills.get(Section.CATEGORY_DICTIONARY).out);
+        extensions.writeTo(spills.get(Section.EXTENSION_DICTIONARY).out);
+        mimeTypes.writeTo(spills.get(Section.MIME_DICTIONARY).out);
+        for (Spill spill : spills.values()) {
+            spill.out.close();
+        }
+
+        Path assembled = workDirectory.resolve("snapshot");
+        try (FileChannel out = FileChannel.open(assembled, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_SIZE);
+            header.put(SnapshotFormat.MAGIC);
+            header.putShort(SnapshotFormat.VERSION);
+            header.putInt(recordCount);
+            header.putLong(System.currentTimeMillis());
+            header.putInt(Section.values().length);
+            long offset = SnapshotFormat.HEADER_SIZE;
+            for (Section section : Section.values()) {
+                long length = Files.size(spills.get(section).file);
+                header.putLong(offset);
+                header.putLong(length);
+                offset += length;
+            }
+            header.flip();
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+
+            for (Section section : Section.values()) {
+                try (FileChannel in = FileChannel.open(spills.get(section).file, StandardOpenOption.READ)) {
+                    long position = 0;
+                    long size = in.size();
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+            }
+            out.force(true);
+        }
+        Files.move(assembled, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return recordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Spill spill : spills.values()) {
+            spill.out.close();
+        }
+        ids.close();
+        fileNames.close();
+        rawHashes.close();
+        try (var files = Files.list(workDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(workDirectory);
+    }
+
+    private static int shortCode(Dictionary dictionary, String value) {
+        int code = dictionary.code(value);
+        if (code > Short.MAX_VALUE) {
+            throw new IllegalStateException("Too many distinct values for a short dictionary: " + value);
+        }
+        return code;
+    }
+
+    static long toMillis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : SnapshotFormat.NULL_TIME;
+    }
+
+    static byte[] packHex(String hash) {
+        if (hash == null || hash.isEmpty() || hash.length() % 2 != 0 || hash.length() > SnapshotFormat.HASH_SLOT * 2) {
+            return null;
+        }
+        byte[] packed = new byte[hash.length() / 2];
+        for (int i = 0; i < packed.length; i++) {
+            int high = Character.digit(hash.charAt(2 * i), 16);
+            int low = Character.digit(hash.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0 || Character.isUpperCase(hash.charAt(2 * i)) || Character.isUpperCase(hash.charAt(2 * i + 1))) {
+                return null;
+            }
+            packed[i] = (byte) ((high << 4) | low);
+        }
+        return packed;
+    }
+
+    private static final class Spill {
+
+        private final Path file;
+        private final DataOutputStream out;
+
+        private Spill(Path file) throws IOException {
+            this.file = file;
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        }
+    }
+
+    // Offsets stay on heap (4 bytes per value); the UTF-8 bytes spill to disk
+    private static final class StringColumn implements Closeable {
+
+        private final Path bytesFile;
+        private final DataOutputStream bytes;
+        private final List<int[]> offsetBlocks = new ArrayList<>();
+        private int count;
+        private int length;
+
+        private StringColumn(Path bytesFile) throws IOException {
+            this.bytesFile = bytesFile;
+            this.bytes = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(bytesFile), 1 << 16));
+        }
+
+        private void add(String value) throws IOException {
+            byte[] encoded = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            bytes.write(encoded);
+            length += encoded.length;
+            if (count % 4096 == 0) {
+                offsetBlocks.add(new int[4096]);
+            }
+            offsetBlocks.get(count / 4096)[count % 4096] = length;
+            count++;
+        }
+
+        private void writeTo(DataOutputStream out) throws IOException {
+            bytes.close();
+            out.writeInt(count);
+            out.writeInt(0);
+            for (int i = 0; i < count; i++) {
+                out.writeInt(offsetBlocks.get(i / 4096)[i % 4096]);
+            }
+            Files.copy(bytesFile, out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            bytes.close();
+        }
+    }
+
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new LinkedHashMap<>();
+
+        private int code(String value) {
+            if (value == null) {
+                return -1;
+            }
+            return codes.computeIfAbsent(value, v -> codes.size());
+        }
+
+        private void writeTo(DataOutputStream out) throws IOException {
+            List<byte[]> encoded = new ArrayList<>(codes.size());
+            for (String value : codes.keySet()) {
+                encoded.add(value.getBytes(StandardCharsets.UTF_8));
+            }
+            out.writeInt(encoded.size());
+            int offset = 0;
+            out.writeInt(offset);
+            for (byte[] value : encoded) {
+                offset += value.length;
+                out.writeInt(offset);
+            }
+            for (byte[] value : encoded) {
+                out.write(value);
+            }
+        }
+    }
+}
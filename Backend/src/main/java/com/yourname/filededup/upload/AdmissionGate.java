@@ -0,0 +1,111 @@
+package com.yourname.filededup.upload;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Bounds the requests in progress by count and by total bytes. Requests that do not
+// fit wait in FIFO order, so a large request is not starved by a stream of small
+// ones, up to maxQueued waiting at a time. A single request larger than the byte
+// budget is admitted only once nothing else is in progress.
+public class AdmissionGate {
+
+    public enum Result { ADMITTED, QUEUE_FULL, TIMED_OUT }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Deque<Object> waiting = new ArrayDeque<>();
+    private final int maxActive;
+    private final long byteBudget;
+    private final int maxQueued;
+    private int active;
+    private long activeBytes;
+
+    public AdmissionGate(int maxActive, long byteBudget, int maxQueued) {
+        this.maxActive = Math.max(maxActive, 1);
+        this.byteBudget = byteBudget;
+        this.maxQueued = Math.max(maxQueued, 0);
+    }
+
+    public Result acquire(long bytes, long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            if (waiting.isEmpty() && fits(bytes)) {
+                take(bytes);
+                return Result.ADMITTED;
+            }
+            if (waiting.size() >= maxQueued) {
+                return Result.QUEUE_FULL;
+            }
+
+            Object ticket = new Object();
+            waiting.addLast(ticket);
+            try {
+                long remaining = unit.toNanos(timeout);
+                while (waiting.peekFirst() != ticket || !fits(bytes)) {
+                    if (remaining <= 0) {
+                        return Result.TIMED_OUT;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                take(bytes);
+                return Result.ADMITTED;
+            } finally {
+                // The next in line may fit now, or may have been blocked behind this ticket
+                waiting.remove(ticket);
+                released.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long bytes) {
+        lock.lock();
+        try {
+            active--;
+            activeBytes -= bytes;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActive() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getActiveBytes() {
+        lock.lock();
+        try {
+            return activeBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean fits(long bytes) {
+        return active < maxActive && (activeBytes + bytes <= byteBudget || active == 0);
+    }
+
+    private void take(long bytes) {
+        active++;
+        activeBytes += bytes;
+    }
+}
@@ -0,0 +1,154 @@
+package com.yourname.filededup.upload;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Admission control for uploads. Each upload is spooled to a temp file and hashed in
+// full, so a burst of them is bounded here before the body is read: at most
+// max-concurrent uploads and byte-budget request bytes are in progress, and up to
+// queue-size more wait their turn for at most queue-timeout. Beyond that, uploads are
+// turned away with 429 (queue full) or 503 (timed out, or temp disk nearly full).
+@Component
+public class UploadAdmission {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.upload.max-concurrent:4}")
+    private int maxConcurrent;
+
+    @Value("${app.upload.byte-budget:400MB}")
+    private String byteBudgetSetting;
+
+    @Value("${app.upload.queue-size:32}")
+    private int queueSize;
+
+    @Value("${app.upload.queue-timeout:30s}")
+    private String queueTimeoutSetting;
+
+    // Spool space that is never handed out to uploads
+    @Value("${app.upload.min-free-disk:1GB}")
+    private String minFreeDiskSetting;
+
+    @Value("${app.upload.retry-after:5s}")
+    private String retryAfterSetting;
+
+    // Charged for requests that do not declare a Content-Length
+    @Value("${spring.servlet.multipart.max-request-size:100MB}")
+    private String maxRequestSizeSetting;
+
+    private final Path spoolDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+
+    private AdmissionGate gate;
+    private Duration queueTimeout;
+    private long minFreeDisk;
+    private long retryAfterSeconds;
+    private long maxRequestSize;
+    private Timer waitTimer;
+
+    @PostConstruct
+    void init() {
+        gate = new AdmissionGate(maxConcurrent, DataSize.parse(byteBudgetSetting).toBytes(), queueSize);
+        queueTimeout = DurationStyle.detectAndParse(queueTimeoutSetting);
+        minFreeDisk = DataSize.parse(minFreeDiskSetting).toBytes();
+        retryAfterSeconds = Math.max(DurationStyle.detectAndParse(retryAfterSetting).toSeconds(), 1);
+        maxRequestSize = DataSize.parse(maxRequestSizeSetting).toBytes();
+
+        Gauge.builder("filededup.upload.active", gate, AdmissionGate::getActive)
+            .description("Uploads being received or processed")
+            .register(meterRegistry);
+        Gauge.builder("filededup.upload.active.bytes", gate, AdmissionGate::getActiveBytes)
+            .description("Request bytes of the uploads in progress")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("filededup.upload.queued", gate, AdmissionGate::getQueued)
+            .description("Uploads waiting for admission")
+            .register(meterRegistry);
+        waitTimer = Timer.builder("filededup.upload.admission.wait")
+            .description("Time admitted uploads waited in the queue")
+            .register(meterRegistry);
+    }
+
+    // Blocks while the upload is queued; the returned permit must be closed once the
+    // upload has been handled
+    public Permit admit(long contentLength) {
+        long bytes = contentLength >= 0 ? contentLength : maxRequestSize;
+        if (!hasSpoolSpace(bytes)) {
+            throw reject(HttpStatus.SERVICE_UNAVAILABLE, "disk_space", "Not enough temporary disk space for the upload");
+        }
+
+        long start = System.nanoTime();
+        AdmissionGate.Result result;
+        try {
+            result = gate.acquire(bytes, queueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject(HttpStatus.SERVICE_UNAVAILABLE, "interrupted", "Upload was interrupted while queued");
+        }
+        if (result == AdmissionGate.Result.QUEUE_FULL) {
+            throw reject(HttpStatus.TOO_MANY_REQUESTS, "queue_full", "Too many uploads in progress");
+        }
+        if (result == AdmissionGate.Result.TIMED_OUT) {
+            throw reject(HttpStatus.SERVICE_UNAVAILABLE, "timeout", "Upload waited too long for its turn");
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new Permit(bytes);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    // Uploads already admitted may not have written their bytes yet, so they are
+    // counted against the free space too
+    private boolean hasSpoolSpace(long bytes) {
+        try {
+            long usable = Files.getFileStore(spoolDirectory).getUsableSpace();
+            return usable - gate.getActiveBytes() - bytes >= minFreeDisk;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private UploadRejectedException reject(HttpStatus status, String reason, String message) {
+        Counter.builder("filededup.upload.rejected")
+            .description("Uploads turned away by admission control")
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+        return new UploadRejectedException(status, reason, message);
+    }
+
+    public class Permit implements AutoCloseable {
+
+        private final long bytes;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                gate.release(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.yourname.filededup.upload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Runs before the multipart request is parsed, so a rejected upload is never
+// spooled to disk. The permit is held until the controller has hashed and stored
+// the file.
+@Component
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    private static final String UPLOAD_PATH = "/api/files/upload";
+
+    @Autowired
+    private UploadAdmission uploadAdmission;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !UPLOAD_PATH.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        UploadAdmission.Permit permit;
+        try {
+            permit = uploadAdmission.admit(request.getContentLengthLong());
+        } catch (UploadRejectedException e) {
+            writeRejection(response, e);
+            return;
+        }
+        try (permit) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private void writeRejection(HttpServletResponse response, UploadRejectedException rejection) throws IOException {
+        long retryAfter = uploadAdmission.getRetryAfterSeconds();
+        response.setStatus(rejection.getStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        // Sent before CORS handling runs, so browsers need these to read the rejection
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.RETRY_AFTER);
+        // The unread body is not worth draining
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", false);
+        body.put("error", rejection.getMessage());
+        body.put("retryAfterSeconds", retryAfter);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
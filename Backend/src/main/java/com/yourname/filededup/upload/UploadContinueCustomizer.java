@@ -0,0 +1,17 @@
+package com.yourname.filededup.upload;
+
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.stereotype.Component;
+
+// Tomcat answers "Expect: 100-continue" as soon as the headers arrive by default.
+// Deferring it until the body is read means clients that wait for it do not send
+// the body of an upload that admission control turns away.
+@Component
+public class UploadContinueCustomizer implements WebServerFactoryCustomizer<TomcatServletWebServerFactory> {
+
+    @Override
+    public void customize(TomcatServletWebServerFactory factory) {
+        factory.addConnectorCustomizers(connector -> connector.setProperty("continueResponseTiming", "onRead"));
+    }
+}
@@ -0,0 +1,26 @@
+package com.yourname.filededup.upload;
+
+import org.springframework.http.HttpStatus;
+
+// An upload turned away before its body was read. The reason is the metric tag.
+public class UploadRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HttpStatus status;
+    private final String reason;
+
+    public UploadRejectedException(HttpStatus status, String reason, String message) {
+        super(message);
+        this.status = status;
+        this.reason = reason;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
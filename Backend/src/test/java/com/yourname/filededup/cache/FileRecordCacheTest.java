@@ -0,0 +1,62 @@
+package com.yourname.filededup.cache;
+
+import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.repository.FileRepository;
+import com.yourname.filededup.repository.HashRegistryRepository;
+import com.yourname.filededup.service.FileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "app.storage.local.path=")
+@ActiveProfiles("local")
+class FileRecordCacheTest {
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private HashRegistryRepository hashRegistryRepository;
+
+    @Autowired
+    private FileService fileService;
+
+    @Autowired
+    private FileRecordCache fileRecordCache;
+
+    @BeforeEach
+    void clear() {
+        fileRepository.deleteAll();
+        hashRegistryRepository.deleteAll();
+        fileRecordCache.invalidateAll();
+    }
+
+    @Test
+    void cachedViewsFollowCategoryChangesAndDeletes() throws Exception {
+        FileRecord record = new FileRecord("a.jpg", "/data/a.jpg", "hash-1", 10);
+        record.setCategory("Images");
+        fileRepository.save(record);
+
+        assertEquals(1, fileService.getFilesByCategory("Images").size());
+        assertEquals(Map.of("Images", 1L), fileService.getFileCountByCategory());
+        assertEquals("a.jpg", fileService.getFileById(record.getId()).getFileName());
+
+        fileService.updateFileCategory(record.getId(), "Documents");
+        assertTrue(fileService.getFilesByCategory("Images").isEmpty());
+        assertEquals(1, fileService.getFilesByCategory("Documents").size());
+        assertEquals(Map.of("Documents", 1L), fileService.getFileCountByCategory());
+        assertEquals("Documents", fileService.getFileById(record.getId()).getCategory());
+
+        fileService.deleteFile(record.getId());
+        assertEquals(null, fileService.getFileById(record.getId()));
+        assertTrue(fileService.getFilesByCategory("Documents").isEmpty());
+        assertTrue(fileService.getFileCountByCategory().isEmpty());
+    }
+}
@@ -0,0 +1,47 @@
+package com.yourname.filededup.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LiveEventHubTest {
+
+    private final LiveEventHub hub = new LiveEventHub();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(hub, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(hub, "clientBufferSize", 16);
+        ReflectionTestUtils.setField(hub, "heartbeatSeconds", 3600L);
+        ReflectionTestUtils.setField(hub, "replaySize", 2);
+        hub.registerMeters();
+    }
+
+    @Test
+    void reconnectingClientsReceiveTheRetainedEventsTheyMissed() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            hub.publishScanProgress(Map.of("processed", i));
+        }
+
+        CompletableFuture<List<String>> ids = hub.subscribe(Set.of(), 0L)
+            .map(ServerSentEvent::id)
+            .take(3)
+            .collectList()
+            .timeout(Duration.ofSeconds(5))
+            .toFuture();
+        hub.publishScanProgress(Map.of("processed", 4));
+
+        // Only the last two of the earlier events are retained
+        assertEquals(List.of("2", "3", "4"), ids.get());
+    }
+}
@@ -0,0 +1,49 @@
+package com.yourname.filededup.hash;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FileHasherTest {
+
+    private final FileHasherRegistry registry = new FileHasherRegistry(
+        List.of(new Sha256FileHasher(), new Xxh3FileHasher(), new Blake3FileHasher()));
+
+    @Test
+    void knownEmptyInputVectors() throws IOException {
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", hash("SHA-256", new byte[0]));
+        assertEquals("99aa06d3014798d86001c324468d497f", hash("XXH3-128", new byte[0]));
+        assertEquals("af1349b9f5f9a1a6a0404dea36dcc9499bcb25c9adc112b7cc9a93cae41f3262", hash("BLAKE3", new byte[0]));
+    }
+
+    @Test
+    void streamingMatchesAcrossBufferBoundaries() throws IOException {
+        byte[] data = new byte[FileHasher.BUFFER_SIZE * 3 + 17];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+
+        for (String algorithm : registry.getAvailableAlgorithms()) {
+            FileHasher.Digest digest = registry.get(algorithm).newDigest();
+            digest.update(data, 0, 5);
+            digest.update(data, 5, data.length - 5);
+            assertEquals(hash(algorithm, data), digest.finish(), algorithm);
+        }
+    }
+
+    @Test
+    void resolvesAliasesAndRejectsUnknown() {
+        assertEquals("SHA-256", registry.get("sha256").getAlgorithm());
+        assertEquals("XXH3-128", registry.get("xxh3_128").getAlgorithm());
+        assertThrows(IllegalArgumentException.class, () -> registry.get("MD5"));
+    }
+
+    private String hash(String algorithm, byte[] data) throws IOException {
+        return registry.get(algorithm).hash(new ByteArrayInputStream(data));
+    }
+}
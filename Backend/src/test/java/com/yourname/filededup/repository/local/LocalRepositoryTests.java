@@ -0,0 +1,106 @@
+package com.yourname.filededup.repository.local;
+
+import com.yourname.filededup.model.FileQuery;
+import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.model.FileView;
+import com.yourname.filededup.repository.FileRepository;
+import com.yourname.filededup.repository.HashRegistryRepository;
+import com.yourname.filededup.service.FileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "app.storage.local.path=")
+@ActiveProfiles("local")
+class LocalRepositoryTests {
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private HashRegistryRepository hashRegistryRepository;
+
+    @Autowired
+    private FileService fileService;
+
+    @BeforeEach
+    void clear() {
+        fileRepository.deleteAll();
+        hashRegistryRepository.deleteAll();
+    }
+
+    @Test
+    void secondaryIndexesFollowUpdates() {
+        FileRecord record = new FileRecord("a.jpg", "/data/a.jpg", "hash-1", 10);
+        record.setCategory("Images");
+        fileRepository.save(record);
+
+        assertTrue(fileRepository.existsByFilePath("/data/a.jpg"));
+        assertEquals(1, fileRepository.findByFileHash("hash-1").size());
+        assertEquals(1, fileRepository.countByCategory("Images"));
+
+        record.setCategory("Other");
+        record.setFileHash("hash-2");
+        fileRepository.save(record);
+
+        assertEquals(0, fileRepository.countByCategory("Images"));
+        assertTrue(fileRepository.findByFileHash("hash-1").isEmpty());
+        assertEquals("a.jpg", fileRepository.findByFileHash("hash-2").get(0).getFileName());
+
+        fileRepository.deleteById(record.getId());
+        assertFalse(fileRepository.existsByFilePath("/data/a.jpg"));
+    }
+
+    @Test
+    void aPathIsStoredOnlyOnce() {
+        fileRepository.save(new FileRecord("a.jpg", "/data/a.jpg", "hash-1", 10));
+        assertThrows(DuplicateKeyException.class,
+            () -> fileRepository.save(new FileRecord("a.jpg", "/data/a.jpg", "hash-2", 10)));
+
+        // The losing save gives its hash reference back
+        Map<String, Object> file = Map.of("path", "/data/b.jpg", "name", "b.jpg", "size", 10, "hash", "hash-3");
+        assertEquals(1, fileService.saveFiles(List.of(file)));
+        assertEquals(0, fileService.saveFiles(List.of(file)));
+        assertEquals(1, hashRegistryRepository.findAll().stream()
+            .filter(entry -> "hash-3".equals(entry.getFileHash())).findFirst().orElseThrow().getRefCount());
+    }
+
+    @Test
+    void fileViewsCarryOnlyTheRequestedFields() {
+        FileRecord small = new FileRecord("Report.pdf", "/data/Report.pdf", "hash-1", 10);
+        small.setCategory("Documents");
+        FileRecord large = new FileRecord("report-copy.pdf", "/data/report-copy.pdf", "hash-1", 5000);
+        large.setCategory("Documents");
+        large.setDuplicate(true);
+        fileRepository.saveAll(List.of(small, large));
+
+        List<FileView> views = fileService.findFileViews(new FileQuery("REPORT", null, null, 100L, null),
+            FileView.parseFields("fileName,duplicate"));
+        assertEquals(1, views.size());
+        assertEquals("Report.pdf", views.get(0).getFileName());
+        assertEquals(false, views.get(0).getDuplicate());
+        assertNull(views.get(0).getId());
+        assertNull(views.get(0).getScannedDate());
+
+        List<FileView> duplicates = fileService.findFileViews(new FileQuery(null, null, null, null, true),
+            FileView.parseFields("summary"));
+        assertEquals(List.of(large.getId()), duplicates.stream().map(FileView::getId).toList());
+        assertEquals("hash-1", duplicates.get(0).getFileHash());
+        assertNull(duplicates.get(0).getFilePath());
+
+        assertNull(FileView.parseFields(" "));
+        assertThrows(IllegalArgumentException.class, () -> FileView.parseFields("fileName,owner"));
+    }
+}
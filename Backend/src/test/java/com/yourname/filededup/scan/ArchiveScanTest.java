@@ -0,0 +1,123 @@
+package com.yourname.filededup.scan;
+
+import com.yourname.filededup.cache.FileRecordCache;
+import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.repository.FileRepository;
+import com.yourname.filededup.repository.HashRegistryRepository;
+import com.yourname.filededup.service.FileService;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "app.storage.local.path=")
+@ActiveProfiles("local")
+class ArchiveScanTest {
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private HashRegistryRepository hashRegistryRepository;
+
+    @Autowired
+    private FileService fileService;
+
+    @Autowired
+    private FileRecordCache fileRecordCache;
+
+    @BeforeEach
+    void clear() {
+        fileRepository.deleteAll();
+        hashRegistryRepository.deleteAll();
+        fileRecordCache.invalidateAll();
+    }
+
+    @Test
+    void archiveEntriesAreScannedWithoutExtracting(@TempDir Path directory) throws Exception {
+        byte[] content = "backed up content".getBytes(StandardCharsets.UTF_8);
+        Files.write(directory.resolve("loose.txt"), content);
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(directory.resolve("backup.zip")))) {
+            zip.putNextEntry(new ZipEntry("docs/copy.txt"));
+            zip.write(content);
+            zip.putNextEntry(new ZipEntry("docs/other.txt"));
+            zip.write("other".getBytes(StandardCharsets.UTF_8));
+        }
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(directory.resolve("backup.tar.gz"))))) {
+            TarArchiveEntry entry = new TarArchiveEntry("copy.txt");
+            entry.setSize(content.length);
+            tar.putArchiveEntry(entry);
+            tar.write(content);
+            tar.closeArchiveEntry();
+        }
+        try (OutputStream gzip = new GZIPOutputStream(Files.newOutputStream(directory.resolve("notes.txt.gz")))) {
+            gzip.write(content);
+        }
+
+        Map<String, Object> result = fileService.scanDirectory(directory.toString(), true);
+
+        assertEquals(4, result.get("archiveEntries"));
+        String zipEntry = directory.toAbsolutePath().resolve("backup.zip") + "!/docs/copy.txt";
+        FileRecord copy = fileRepository.findByFilePath(zipEntry).get(0);
+        assertEquals(content.length, copy.getFileSize());
+        assertEquals("txt", copy.getFileExtension());
+        assertEquals(3, fileRepository.findByFileHash(copy.getFileHash()).stream().filter(FileRecord::isDuplicate).count());
+
+        // A second scan finds every entry already stored
+        assertEquals(0, fileService.scanDirectory(directory.toString(), true).get("archiveEntries"));
+    }
+
+    @Test
+    void unchangedArchivesAreNotDecompressedAgain(@TempDir Path directory) throws Exception {
+        Path archive = directory.resolve("backup.zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive))) {
+            zip.putNextEntry(new ZipEntry("a.txt"));
+            zip.write("a".getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("b.txt"));
+            zip.write("b".getBytes(StandardCharsets.UTF_8));
+        }
+        fileService.scanDirectory(directory.toString(), true);
+        String entryPath = directory.toAbsolutePath().resolve("backup.zip") + "!/a.txt";
+        fileRepository.delete(fileRepository.findByFilePath(entryPath).get(0));
+
+        fileService.scanDirectory(directory.toString(), true);
+        assertFalse(fileRepository.existsByFilePath(entryPath));
+
+        Files.setLastModifiedTime(archive, FileTime.from(Instant.now().plusSeconds(60)));
+        assertEquals(1, fileService.scanDirectory(directory.toString(), true).get("archiveEntries"));
+        assertTrue(fileRepository.existsByFilePath(entryPath));
+    }
+
+    @Test
+    void entriesThatInflateBeyondTheRatioAreNotStored(@TempDir Path directory) throws Exception {
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(directory.resolve("bomb.zip")))) {
+            zip.putNextEntry(new ZipEntry("zeros.bin"));
+            zip.write(new byte[4 * 1024 * 1024]);
+            zip.putNextEntry(new ZipEntry("small.txt"));
+            zip.write("small".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals(1, fileService.scanDirectory(directory.toString(), true).get("archiveEntries"));
+        assertFalse(fileRepository.existsByFilePath(directory.toAbsolutePath().resolve("bomb.zip") + "!/zeros.bin"));
+    }
+}
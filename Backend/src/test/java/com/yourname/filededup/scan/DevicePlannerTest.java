@@ -0,0 +1,91 @@
+package com.yourname.filededup.scan;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class DevicePlannerTest {
+
+    @Test
+    void solidStateDevicesKeepWalkOrder(@TempDir Path root) throws IOException {
+        List<ScannedFile> files = createFiles(root);
+
+        List<DeviceQueue> queues = new DevicePlanner(Map.of(root, DeviceType.SOLID_STATE)).plan(files);
+
+        assertEquals(1, queues.size());
+        assertEquals(DeviceType.SOLID_STATE, queues.get(0).getType());
+        assertEquals(files, queues.get(0).getFiles());
+    }
+
+    @Test
+    void rotationalDevicesAreReadInInodeOrder(@TempDir Path root) throws IOException {
+        List<ScannedFile> files = createFiles(root);
+        assumeTrue(DevicePlanner.inode(files.get(0)) != null, "file system exposes no inodes");
+
+        List<DeviceQueue> queues = new DevicePlanner(Map.of(root, DeviceType.ROTATIONAL)).plan(files);
+
+        assertEquals(1, queues.size());
+        List<ScannedFile> ordered = queues.get(0).getFiles();
+        assertEquals(files.size(), ordered.size());
+        assertTrue(ordered.containsAll(files));
+        for (int i = 1; i < ordered.size(); i++) {
+            assertTrue(DevicePlanner.inode(ordered.get(i - 1)) <= DevicePlanner.inode(ordered.get(i)));
+        }
+    }
+
+    @Test
+    void overridesApplyToTheirSubtreeWhateverIsSeenFirst(@TempDir Path root) throws IOException {
+        List<ScannedFile> files = createFiles(root);
+        Path overridden = root.resolve("z");
+
+        for (List<ScannedFile> order : List.of(files, reversed(files))) {
+            List<DeviceQueue> queues = new DevicePlanner(Map.of(overridden, DeviceType.ROTATIONAL)).plan(order);
+
+            assertEquals(2, queues.size());
+            for (DeviceQueue queue : queues) {
+                boolean inSubtree = queue.getFiles().get(0).getPath().startsWith(overridden);
+                assertEquals(inSubtree ? 2 : 3, queue.getFiles().size());
+                assertTrue(queue.getFiles().stream().allMatch(file -> file.getPath().startsWith(overridden) == inSubtree));
+                if (inSubtree) {
+                    assertEquals(DeviceType.ROTATIONAL, queue.getType());
+                }
+            }
+        }
+    }
+
+    private static List<ScannedFile> reversed(List<ScannedFile> files) {
+        List<ScannedFile> reversed = new ArrayList<>(files);
+        Collections.reverse(reversed);
+        return reversed;
+    }
+
+    // Created depth-first but listed breadth-first, so walk order and creation order differ
+    private static List<ScannedFile> createFiles(Path root) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        for (String file : List.of("z/deep/one.txt", "z/two.txt", "a/three.txt", "four.txt", "a/b/five.txt")) {
+            Path path = root.resolve(file);
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, file);
+            paths.add(path);
+        }
+        paths.sort((left, right) -> Integer.compare(left.getNameCount(), right.getNameCount()));
+
+        List<ScannedFile> files = new ArrayList<>();
+        for (Path path : paths) {
+            files.add(new ScannedFile(path, Files.readAttributes(path, BasicFileAttributes.class)));
+        }
+        return files;
+    }
+}
@@ -0,0 +1,43 @@
+package com.yourname.filededup.scan;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScanExclusionsTest {
+
+    private final ScanExclusions exclusions = new ScanExclusions(FileSystems.getDefault(),
+        List.of(".git", "node_modules", "build-*"),
+        List.of("tmp", ".LOCK"),
+        List.of(".*", "~*", "#*#"));
+
+    @Test
+    void prunesConfiguredDirectories() {
+        assertTrue(exclusions.isExcludedDirectory(path("/repo/.git")));
+        assertTrue(exclusions.isExcludedDirectory(path("/repo/web/node_modules")));
+        assertTrue(exclusions.isExcludedDirectory(path("/repo/build-2024")));
+        assertTrue(exclusions.isExcludedDirectory(path("/repo/.cache")));
+        assertFalse(exclusions.isExcludedDirectory(path("/repo/src")));
+    }
+
+    @Test
+    void rejectsFilesByExtensionAndPattern() {
+        assertTrue(exclusions.isExcludedFile(path("/repo/a.TMP")));
+        assertTrue(exclusions.isExcludedFile(path("/repo/yarn.lock")));
+        assertTrue(exclusions.isExcludedFile(path("/repo/.DS_Store")));
+        assertTrue(exclusions.isExcludedFile(path("/repo/~draft.docx")));
+        assertTrue(exclusions.isExcludedFile(path("/repo/#notes#")));
+        assertFalse(exclusions.isExcludedFile(path("/repo/photo.jpg")));
+        assertFalse(exclusions.isExcludedFile(path("/repo/tmp")));
+    }
+
+    private static Path path(String value) {
+        return Paths.get(value);
+    }
+}
@@ -0,0 +1,70 @@
+package com.yourname.filededup.scan;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class SortedFileSpillTest {
+
+    private final StorageDevice device = new StorageDevice("test", DeviceType.ROTATIONAL);
+
+    @Test
+    void mergesManyRunsBackInInodeOrder(@TempDir Path root) throws IOException {
+        List<ScannedFile> files = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Path file = root.resolve("dir" + (i % 7)).resolve("file-" + i + ".txt");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, "content " + i);
+            files.add(new ScannedFile(file, Files.readAttributes(file, BasicFileAttributes.class)));
+        }
+        assumeTrue(DevicePlanner.inode(files.get(0)) != null, "file system exposes no inodes");
+
+        Path spillDirectory = root.resolve("spill");
+        // Runs of two files make 150 runs, more than one merge pass takes
+        try (SortedFileSpill spill = new SortedFileSpill(device, spillDirectory, 2)) {
+            for (ScannedFile file : files) {
+                spill.add(file);
+            }
+            assertEquals(300, spill.size());
+
+            List<ScannedFile> read = new ArrayList<>();
+            Iterator<ScannedFile> iterator = spill.iterator();
+            while (iterator.hasNext()) {
+                read.add(iterator.next());
+            }
+
+            assertEquals(paths(files), paths(read));
+            for (int i = 1; i < read.size(); i++) {
+                assertTrue(DevicePlanner.inode(read.get(i - 1)) < DevicePlanner.inode(read.get(i)));
+            }
+            ScannedFile first = read.get(0);
+            BasicFileAttributes actual = Files.readAttributes(first.getPath(), BasicFileAttributes.class);
+            assertEquals(actual.size(), first.getAttributes().size());
+            assertEquals(actual.lastModifiedTime().toMillis(), first.getAttributes().lastModifiedTime().toMillis());
+            assertEquals(actual.fileKey().toString(), first.getFileKey());
+        }
+
+        try (var remaining = Files.list(spillDirectory)) {
+            assertEquals(0, remaining.count());
+        }
+    }
+
+    private static Set<String> paths(List<ScannedFile> files) {
+        Set<String> paths = new TreeSet<>();
+        files.forEach(file -> paths.add(file.getPath().toString()));
+        return paths;
+    }
+}
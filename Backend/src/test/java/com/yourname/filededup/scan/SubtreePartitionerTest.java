@@ -0,0 +1,57 @@
+package com.yourname.filededup.scan;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SubtreePartitionerTest {
+
+    private final ScanExclusions exclusions = new ScanExclusions(FileSystems.getDefault(),
+        List.of("node_modules"), List.of(), List.of());
+
+    @Test
+    void subtreesCoverTheSameFilesAsOneWalk(@TempDir Path root) throws IOException {
+        for (String file : List.of("top.txt", "a/one.txt", "a/b/two.txt", "a/b/c/three.txt", "d/four.txt",
+                "d/node_modules/skipped.js", "e/f/g/h/too-deep.txt")) {
+            Path path = root.resolve(file);
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, file);
+        }
+
+        List<ScanSubtree> subtrees = new SubtreePartitioner(exclusions, 2, 4).partition(root);
+
+        assertEquals(List.of(root + " (depth 1)", root.resolve("a") + " (depth 1)", root.resolve("a/b") + " (depth 2)",
+                root.resolve("d") + " (depth 1)", root.resolve("e") + " (depth 1)", root.resolve("e/f") + " (depth 2)"),
+            subtrees.stream().map(ScanSubtree::toString).toList());
+
+        Set<Path> covered = new TreeSet<>();
+        for (ScanSubtree subtree : subtrees) {
+            covered.addAll(regularFiles(subtree.getDirectory(), subtree.getDepth()));
+        }
+        Set<Path> expected = new TreeSet<>(regularFiles(root, 4));
+        expected.remove(root.resolve("d/node_modules/skipped.js"));
+        assertEquals(expected, covered);
+    }
+
+    @Test
+    void shallowLimitsKeepOneUnit(@TempDir Path root) {
+        assertEquals(List.of(root + " (depth 1)"),
+            new SubtreePartitioner(exclusions, 3, 1).partition(root).stream().map(ScanSubtree::toString).toList());
+    }
+
+    private static List<Path> regularFiles(Path directory, int depth) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory, depth)) {
+            return paths.filter(Files::isRegularFile).toList();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.yourname.filededup.scan;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void allowsOneSecondOfBurstThenPacesAtTheRate() {
+        TokenBucket bucket = new TokenBucket(100, now::get);
+
+        assertEquals(0, bucket.reserve(100));
+        assertEquals(500_000_000L, bucket.reserve(50));
+        assertEquals(1_000_000_000L, bucket.reserve(50));
+
+        now.addAndGet(1_000_000_000L);
+        assertEquals(500_000_000L, bucket.reserve(50));
+    }
+
+    @Test
+    void refillIsCappedAtOneSecond() {
+        TokenBucket bucket = new TokenBucket(10, now::get);
+        bucket.reserve(10);
+
+        now.addAndGet(60_000_000_000L);
+        assertEquals(0, bucket.reserve(10));
+        assertEquals(100_000_000L, bucket.reserve(1));
+    }
+
+    @Test
+    void zeroRateIsUnlimited() {
+        TokenBucket bucket = new TokenBucket(0, now::get);
+        assertEquals(0, bucket.reserve(Long.MAX_VALUE / 2));
+
+        bucket.setRate(10);
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(100_000_000L, bucket.reserve(1));
+    }
+}
@@ -0,0 +1,90 @@
+package com.yourname.filededup.service;
+
+import com.yourname.filededup.cache.FileRecordCache;
+import com.yourname.filededup.metrics.ScanMetrics;
+import com.yourname.filededup.repository.FileRepository;
+import com.yourname.filededup.repository.HashRegistryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest(properties = "app.storage.local.path=")
+@ActiveProfiles("local")
+class DirectoryScanTest {
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private HashRegistryRepository hashRegistryRepository;
+
+    @Autowired
+    private FileService fileService;
+
+    @Autowired
+    private FileRecordCache fileRecordCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void clear() {
+        fileRepository.deleteAll();
+        hashRegistryRepository.deleteAll();
+        fileRecordCache.invalidateAll();
+    }
+
+    @Test
+    void scanRunsAgainstLocalStore(@TempDir Path directory) throws Exception {
+        Files.writeString(directory.resolve("one.txt"), "same content");
+        Files.writeString(directory.resolve("two.txt"), "same content");
+        Files.writeString(directory.resolve("three.txt"), "different");
+
+        Map<String, Object> result = fileService.scanDirectory(directory.toString());
+
+        assertEquals(3, result.get("scannedFiles"));
+        assertEquals(1, result.get("duplicateCount"));
+        assertEquals(1, fileRepository.countByIsDuplicate(true));
+    }
+
+    @Test
+    void metersOnReaderThreadsCarryTheScanJob(@TempDir Path directory) throws Exception {
+        Files.writeString(directory.resolve("one.txt"), "one");
+        Files.writeString(directory.resolve("two.txt"), "two");
+
+        Map<String, Object> result = fileService.scanDirectory(directory.toString());
+
+        Timer hashes = meterRegistry.find("filededup.hash").tag(ScanMetrics.SCAN_JOB_TAG, (String) result.get("scanJobId")).timer();
+        assertEquals(2, hashes != null ? hashes.count() : 0);
+    }
+
+    @Test
+    void memoryBoundedScanStoresFilesWithoutReturningThem(@TempDir Path directory) throws Exception {
+        Files.writeString(directory.resolve("a.txt"), "same");
+        Files.createDirectories(directory.resolve("sub"));
+        Files.writeString(directory.resolve("sub/b.txt"), "same");
+        Files.writeString(directory.resolve("sub/c.txt"), "different");
+        Files.createLink(directory.resolve("sub/link.txt"), directory.resolve("sub/c.txt"));
+
+        Map<String, Object> result = fileService.scanDirectory(directory.toString(), false, true);
+
+        assertEquals(4, result.get("totalFiles"));
+        assertEquals(4, result.get("scannedFiles"));
+        assertEquals(2, result.get("duplicateCount"));
+        assertEquals(1, result.get("hardlinksReused"));
+        assertFalse(result.containsKey("files"));
+        assertEquals(4, fileRepository.count());
+    }
+}
@@ -0,0 +1,43 @@
+package com.yourname.filededup.service;
+
+import com.yourname.filededup.metrics.ScanMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Every device is read as solid state here, so links to one inode are read at the same time
+@SpringBootTest(properties = { "app.storage.local.path=", "app.scan.devices.overrides=/=solid-state",
+    "app.scan.devices.solid-state-concurrency=8" })
+@ActiveProfiles("local")
+class HardLinkScanTest {
+
+    @Autowired
+    private FileService fileService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void linksReadConcurrentlyAreHashedOnce(@TempDir Path directory) throws Exception {
+        Files.write(directory.resolve("original.bin"), new byte[8 << 20]);
+        for (int i = 0; i < 8; i++) {
+            Files.createLink(directory.resolve("link" + i + ".bin"), directory.resolve("original.bin"));
+        }
+
+        Map<String, Object> result = fileService.scanDirectory(directory.toString());
+
+        assertEquals(8, result.get("hardlinksReused"));
+        Timer hashes = meterRegistry.find("filededup.hash").tag(ScanMetrics.SCAN_JOB_TAG, (String) result.get("scanJobId")).timer();
+        assertEquals(1, hashes != null ? hashes.count() : 0);
+    }
+}
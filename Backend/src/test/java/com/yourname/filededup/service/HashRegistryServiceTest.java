@@ -0,0 +1,114 @@
+package com.yourname.filededup.service;
+
+import com.yourname.filededup.cache.FileRecordCache;
+import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.repository.FileRepository;
+import com.yourname.filededup.repository.HashRegistryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "app.storage.local.path=")
+@ActiveProfiles("local")
+class HashRegistryServiceTest {
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private HashRegistryRepository hashRegistryRepository;
+
+    @Autowired
+    private FileService fileService;
+
+    @Autowired
+    private HashRegistryService hashRegistryService;
+
+    @Autowired
+    private FileRecordCache fileRecordCache;
+
+    @BeforeEach
+    void clear() {
+        fileRepository.deleteAll();
+        hashRegistryRepository.deleteAll();
+        fileRecordCache.invalidateAll();
+    }
+
+    @Test
+    void concurrentSavesOfOneHashKeepASingleOriginal() throws Exception {
+        List<Map<String, Object>> files = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            files.add(Map.of("path", "/data/copy" + i + ".bin", "name", "copy" + i + ".bin", "size", 10, "hash", "same"));
+        }
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            List<Map<String, Object>> slice = files.subList(t * 5, t * 5 + 5);
+            threads.add(new Thread(() -> fileService.saveFiles(slice)));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(20, fileRepository.count());
+        assertEquals(1, fileRepository.countByIsDuplicate(false));
+        assertEquals(20, hashRegistryRepository.findById(HashRegistryService.keyOf("same", "SHA-256")).get().getRefCount());
+    }
+
+    @Test
+    void deletingTheOriginalPromotesACopy() throws Exception {
+        fileService.saveFiles(List.of(
+            Map.of("path", "/data/a.bin", "name", "a.bin", "size", 10, "hash", "h"),
+            Map.of("path", "/data/b.bin", "name", "b.bin", "size", 10, "hash", "h")));
+        FileRecord original = fileRepository.findByIsDuplicate(false).get(0);
+        FileRecord copy = fileRepository.findByIsDuplicate(true).get(0);
+
+        fileService.deleteFile(original.getId());
+        assertFalse(fileRepository.findById(copy.getId()).get().isDuplicate());
+        assertEquals(copy.getId(), hashRegistryRepository.findById(HashRegistryService.keyOf("h", "SHA-256")).get().getKeeperId());
+
+        fileService.deleteFile(copy.getId());
+        assertEquals(0, hashRegistryRepository.count());
+    }
+
+    @Test
+    void rebuildRegistersExistingRecords() {
+        for (String name : List.of("a.bin", "b.bin", "c.bin")) {
+            FileRecord record = new FileRecord(name, "/data/" + name, name.equals("c.bin") ? "other" : "h", 10);
+            record.setDuplicate(true);
+            fileRepository.save(record);
+        }
+
+        Map<String, Object> result = hashRegistryService.rebuild();
+
+        assertEquals(2, result.get("hashes"));
+        assertEquals(2L, result.get("flagsCorrected"));
+        assertEquals(1, fileRepository.countByIsDuplicate(true));
+    }
+
+    @Test
+    void rebuildWaitsForTheLeaseOfAnotherInstance() {
+        assertTrue(hashRegistryRepository.acquireRebuildLease("other-instance", Duration.ofMinutes(1)));
+        try {
+            assertThrows(IllegalStateException.class, () -> hashRegistryService.rebuild());
+            assertNull(hashRegistryService.rebuildIfEmpty());
+        } finally {
+            hashRegistryRepository.releaseRebuildLease("other-instance");
+        }
+        assertNotNull(hashRegistryService.rebuild());
+    }
+}
@@ -0,0 +1,145 @@
+package com.yourname.filededup.service;
+
+import com.yourname.filededup.model.LogEntry;
+import com.yourname.filededup.model.LogQuery;
+import com.yourname.filededup.repository.FileRepository;
+import com.yourname.filededup.repository.HashRegistryRepository;
+import com.yourname.filededup.repository.LogRepository;
+import com.yourname.filededup.repository.local.LocalLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = { "app.storage.local.path=", "app.logs.retention.delete-batch-size=2",
+    "app.logs.operation-levels=SAVE=INFO" })
+@ActiveProfiles("local")
+class LoggingServiceTest {
+
+    @Autowired
+    private LogRepository logRepository;
+
+    @Autowired
+    private LoggingService loggingService;
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private HashRegistryRepository hashRegistryRepository;
+
+    @Autowired
+    private FileService fileService;
+
+    @BeforeEach
+    void clear() {
+        logRepository.deleteAll();
+        fileRepository.deleteAll();
+        hashRegistryRepository.deleteAll();
+    }
+
+    @Test
+    void logsAreReturnedNewestFirstAndExpireByTimestamp() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            LogEntry entry = new LogEntry(LogEntry.Level.INFO, "message " + i, "TEST");
+            entry.setTimestamp(now.minusDays(i));
+            logRepository.save(entry);
+        }
+
+        List<LogEntry> recent = logRepository.findAllOrderByTimestampDesc(PageRequest.of(0, 2));
+        assertEquals(List.of("message 0", "message 1"), recent.stream().map(LogEntry::getMessage).toList());
+
+        logRepository.deleteByTimestampBefore(now.minusDays(2));
+        assertEquals(3, logRepository.count());
+        assertEquals(3, logRepository.countByLevel(LogEntry.Level.INFO));
+    }
+
+    @Test
+    void retentionIsAppliedPerLevel() {
+        loggingService.logDebug("debug", "TEST", null);
+        loggingService.logError("error", "TEST", null);
+
+        LogEntry debug = logRepository.findByLevel(LogEntry.Level.DEBUG).get(0);
+        LogEntry error = logRepository.findByLevel(LogEntry.Level.ERROR).get(0);
+        assertEquals(debug.getTimestamp().plusDays(1), debug.getExpireAt());
+        assertEquals(error.getTimestamp().plusDays(90), error.getExpireAt());
+
+        debug.setExpireAt(LocalDateTime.now().minusSeconds(1));
+        logRepository.save(debug);
+        ((LocalLogRepository) logRepository).deleteExpired();
+        assertEquals(List.of("error"), logRepository.findAll().stream().map(LogEntry::getMessage).toList());
+    }
+
+    @Test
+    void oldLogsAreClearedInBatches() {
+        for (int i = 0; i < 5; i++) {
+            LogEntry entry = new LogEntry(LogEntry.Level.INFO, "old " + i, "TEST");
+            entry.setTimestamp(LocalDateTime.now().minusDays(10 + i));
+            logRepository.save(entry);
+        }
+
+        assertEquals(2, logRepository.findIdsByTimestampBefore(LocalDateTime.now(), PageRequest.of(0, 2)).size());
+        assertEquals(5, loggingService.clearOldLogs(7));
+        assertEquals(List.of("Old logs cleared"), logRepository.findAll().stream().map(LogEntry::getMessage).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void logPagesFollowTheCursorAndFilter() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            LogEntry entry = new LogEntry(i % 2 == 0 ? LogEntry.Level.INFO : LogEntry.Level.WARN,
+                "entry " + i, "TEST", i == 3 ? "disk quota exceeded" : null);
+            // Two entries share each timestamp, so the id has to break ties
+            entry.setTimestamp(now.minusMinutes(i / 2));
+            logRepository.save(entry);
+        }
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            Map<String, Object> page = loggingService.getLogPage(new LogQuery(), cursor, 2);
+            ((List<LogEntry>) page.get("logs")).forEach(entry -> seen.add(entry.getMessage()));
+            cursor = (String) page.get("nextCursor");
+        } while (cursor != null);
+        assertEquals(5, seen.size());
+        assertEquals(5, seen.stream().distinct().count());
+
+        Map<String, Object> warnings = loggingService.getLogPage(
+            new LogQuery("QUOTA", LogEntry.Level.WARN, null, null, null), null, 10);
+        assertEquals(List.of("entry 3"),
+            ((List<LogEntry>) warnings.get("logs")).stream().map(LogEntry::getMessage).toList());
+    }
+
+    @Test
+    void perFileLogsAreCollapsedPerScan(@TempDir Path directory) throws Exception {
+        for (int i = 0; i < 4; i++) {
+            Files.writeString(directory.resolve("file" + i + ".txt"), "content " + i);
+        }
+
+        fileService.scanDirectory(directory.toString());
+
+        List<LogEntry> categorized = logRepository.findByOperation("CATEGORIZE");
+        assertEquals(1, categorized.size());
+        assertEquals(4, categorized.get(0).getOccurrences());
+        assertTrue(categorized.get(0).getDetails().contains("Occurrences: 4"));
+        // Threshold is applied before aggregation: DEBUG for SAVE is configured off
+        assertFalse(loggingService.isEnabled(LogEntry.Level.DEBUG, "SAVE"));
+        assertTrue(loggingService.isEnabled(LogEntry.Level.INFO, "SAVE"));
+    }
+}
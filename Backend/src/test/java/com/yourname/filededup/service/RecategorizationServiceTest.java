@@ -0,0 +1,72 @@
+package com.yourname.filededup.service;
+
+import com.yourname.filededup.cache.FileRecordCache;
+import com.yourname.filededup.model.FileRecord;
+import com.yourname.filededup.repository.FileRepository;
+import com.yourname.filededup.repository.HashRegistryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "app.storage.local.path=")
+@ActiveProfiles("local")
+class RecategorizationServiceTest {
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private HashRegistryRepository hashRegistryRepository;
+
+    @Autowired
+    private RuleEngineService ruleEngineService;
+
+    @Autowired
+    private RecategorizationService recategorizationService;
+
+    @Autowired
+    private FileRecordCache fileRecordCache;
+
+    @BeforeEach
+    void clear() {
+        fileRepository.deleteAll();
+        hashRegistryRepository.deleteAll();
+        fileRecordCache.invalidateAll();
+    }
+
+    @Test
+    void ruleChangeRecategorizesStoredRecords() throws Exception {
+        for (String name : List.of("a.log", "b.log", "c.jpg")) {
+            FileRecord record = new FileRecord(name, "/data/" + name, "hash-" + name, 10);
+            record.setCategory("Other");
+            fileRepository.save(record);
+        }
+
+        // The rules are shared by every test of the cached context
+        String previous = ruleEngineService.getAllCategoryRules().get("log");
+        ruleEngineService.updateCategoryRule("LOG", "Logs");
+        Map<String, Object> job;
+        try {
+            String jobId = (String) recategorizationService.start(List.of("log")).get("jobId");
+            job = recategorizationService.getJob(jobId);
+            for (int i = 0; i < 100 && !"completed".equals(job.get("state")); i++) {
+                Thread.sleep(50);
+                job = recategorizationService.getJob(jobId);
+            }
+        } finally {
+            ruleEngineService.updateCategoryRule("log", previous);
+        }
+
+        assertEquals("completed", job.get("state"));
+        assertEquals(2L, job.get("updatedRecords"));
+        assertEquals(2, fileRepository.countByCategory("Logs"));
+        assertEquals("Other", fileRepository.findByFilePath("/data/c.jpg").get(0).getCategory());
+    }
+}
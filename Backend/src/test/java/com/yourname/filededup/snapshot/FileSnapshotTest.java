@@ -0,0 +1,100 @@
+package com.yourname.filededup.snapshot;
+
+import com.yourname.filededup.model.FileRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void roundTripsRecords() throws IOException {
+        FileRecord photo = record("/data/photos/a.jpg", "ab12cd34", 2048, "Images");
+        photo.setCreatedDate(LocalDateTime.of(2024, 5, 1, 12, 30));
+        FileRecord legacy = record("C:\\docs\\notes.txt", "NOT-HEX", 10, null);
+        legacy.setHashAlgorithm(null);
+
+        Path file = write(photo, legacy);
+        try (FileSnapshot snapshot = FileSnapshot.open(file)) {
+            assertEquals(2, snapshot.size());
+
+            FileRecord restored = snapshot.toRecord(0);
+            assertEquals(photo.getId(), restored.getId());
+            assertEquals("/data/photos/a.jpg", restored.getFilePath());
+            assertEquals("a.jpg", restored.getFileName());
+            assertEquals("ab12cd34", restored.getFileHash());
+            assertEquals("SHA-256", restored.getHashAlgorithm());
+            assertEquals(2048, restored.getFileSize());
+            assertEquals("Images", restored.getCategory());
+            assertEquals(photo.getCreatedDate(), restored.getCreatedDate());
+            assertNull(restored.getModifiedDate());
+
+            FileRecord restoredLegacy = snapshot.toRecord(1);
+            assertEquals("C:\\docs\\notes.txt", restoredLegacy.getFilePath());
+            assertEquals("NOT-HEX", restoredLegacy.getFileHash());
+            assertNull(restoredLegacy.getHashAlgorithm());
+            assertNull(restoredLegacy.getCategory());
+        }
+    }
+
+    @Test
+    void queriesRunAgainstMappedColumns() throws IOException {
+        FileRecord first = record("/a/x.bin", "ff00", 5000, "Archives");
+        FileRecord second = record("/b/x.bin", "ff00", 5000, "Archives");
+        second.setDuplicate(true);
+        FileRecord other = record("/c/y.bin", "ff01", 100, null);
+
+        try (FileSnapshot snapshot = FileSnapshot.open(write(first, second, other))) {
+            Map<String, Object> stats = snapshot.statistics();
+            assertEquals(3, stats.get("totalFiles"));
+            assertEquals(1L, stats.get("duplicateFiles"));
+            assertEquals(10100L, stats.get("totalSize"));
+            assertEquals(Map.of("Archives", 2L, "Other", 1L), stats.get("categoryBreakdown"));
+
+            List<Map<String, Object>> groups = snapshot.duplicateGroups(10);
+            assertEquals(1, groups.size());
+            assertEquals("ff00", groups.get(0).get("hash"));
+            assertEquals(5000L, groups.get(0).get("wastedBytes"));
+            assertEquals(List.of("/a/x.bin", "/b/x.bin"), groups.get(0).get("paths"));
+            assertEquals(1, snapshot.duplicateGroupCount());
+            assertTrue(snapshot.duplicateGroups(-1).isEmpty());
+            assertFalse(snapshot.isDuplicate(0));
+            assertTrue(snapshot.isDuplicate(1));
+        }
+    }
+
+    private Path write(FileRecord... records) throws IOException {
+        Path file = tempDir.resolve("index.snap");
+        try (SnapshotWriter writer = new SnapshotWriter(file)) {
+            for (FileRecord record : records) {
+                writer.write(record);
+            }
+            writer.finish();
+        }
+        return file;
+    }
+
+    private static FileRecord record(String path, String hash, long size, String category) {
+        FileRecord record = new FileRecord();
+        record.setId(Integer.toHexString(path.hashCode()));
+        record.setFilePath(path);
+        record.setFileHash(hash);
+        record.setHashAlgorithm("SHA-256");
+        record.setFileSize(size);
+        record.setCategory(category);
+        return record;
+    }
+}
@@ -0,0 +1,55 @@
+package com.yourname.filededup.upload;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class AdmissionGateTest {
+
+    @Test
+    void boundsCountAndBytesAndRejectsBeyondTheQueue() throws Exception {
+        AdmissionGate gate = new AdmissionGate(2, 100, 0);
+
+        assertEquals(AdmissionGate.Result.ADMITTED, gate.acquire(60, 0, TimeUnit.SECONDS));
+        assertEquals(AdmissionGate.Result.QUEUE_FULL, gate.acquire(60, 0, TimeUnit.SECONDS));
+        assertEquals(AdmissionGate.Result.ADMITTED, gate.acquire(40, 0, TimeUnit.SECONDS));
+        assertEquals(AdmissionGate.Result.QUEUE_FULL, gate.acquire(0, 0, TimeUnit.SECONDS));
+
+        gate.release(60);
+        gate.release(40);
+        assertEquals(0, gate.getActive());
+        assertEquals(0, gate.getActiveBytes());
+        // Larger than the whole budget, but nothing else is in progress
+        assertEquals(AdmissionGate.Result.ADMITTED, gate.acquire(500, 0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void queuedRequestsAreAdmittedInOrderOrTimeOut() throws Exception {
+        AdmissionGate gate = new AdmissionGate(1, 100, 1);
+        gate.acquire(10, 0, TimeUnit.SECONDS);
+
+        CompletableFuture<AdmissionGate.Result> queued = CompletableFuture.supplyAsync(() -> acquire(gate, 10, 10));
+        while (gate.getQueued() == 0) {
+            Thread.sleep(1);
+        }
+        assertEquals(AdmissionGate.Result.QUEUE_FULL, gate.acquire(10, 0, TimeUnit.SECONDS));
+        assertFalse(queued.isDone());
+
+        gate.release(10);
+        assertEquals(AdmissionGate.Result.ADMITTED, queued.get(5, TimeUnit.SECONDS));
+        assertEquals(AdmissionGate.Result.TIMED_OUT, gate.acquire(10, 20, TimeUnit.MILLISECONDS));
+        assertEquals(0, gate.getQueued());
+    }
+
+    private static AdmissionGate.Result acquire(AdmissionGate gate, long bytes, long timeoutSeconds) {
+        try {
+            return gate.acquire(bytes, timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}